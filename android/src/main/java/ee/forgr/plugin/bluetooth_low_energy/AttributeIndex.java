@@ -0,0 +1,68 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The lookup tables behind GattIndex, for one kind of attribute.
+ *
+ * Attributes are keyed by a path of normalized UUID strings and, when they have one, by their
+ * instance ID, which is unique within the GATT database. When a path appears more than once,
+ * the first attribute added wins, like BluetoothGatt.getService and getCharacteristic, and the
+ * others are only reachable by instance ID. Found attributes are also remembered under an alias,
+ * the path exactly as it was passed from JS, so repeated lookups skip normalization.
+ */
+class AttributeIndex<T> {
+
+    private static class Instance<T> {
+
+        final String path;
+        final T attribute;
+
+        Instance(String path, T attribute) {
+            this.path = path;
+            this.attribute = attribute;
+        }
+    }
+
+    private final Map<String, T> paths = new HashMap<>();
+    private final Map<Integer, Instance<T>> instances = new HashMap<>();
+    private final Map<String, T> aliases = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an attribute while the index is built. instanceId may be null.
+     */
+    void add(String path, Integer instanceId, T attribute) {
+        paths.putIfAbsent(path, attribute);
+        if (instanceId != null) {
+            instances.putIfAbsent(instanceId, new Instance<>(path, attribute));
+        }
+    }
+
+    /**
+     * Returns the attribute at the normalized path, or the instance with the given ID when
+     * instanceId is not null. Returns null when that instance is not at the path.
+     */
+    T get(String path, Integer instanceId) {
+        if (instanceId == null) {
+            return paths.get(path);
+        }
+        Instance<T> instance = instances.get(instanceId);
+        return instance != null && instance.path.equals(path) ? instance.attribute : null;
+    }
+
+    /**
+     * Returns the attribute remembered under the alias, or null.
+     */
+    T recall(String alias) {
+        return aliases.get(alias);
+    }
+
+    void remember(String alias, T attribute) {
+        // Misses are not remembered so invalid input cannot grow the alias map.
+        if (attribute != null) {
+            aliases.put(alias, attribute);
+        }
+    }
+}
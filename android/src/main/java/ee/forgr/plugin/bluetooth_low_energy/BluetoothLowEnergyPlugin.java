@@ -12,6 +12,7 @@ import android.bluetooth.BluetoothGattServerCallback;
 import android.bluetooth.BluetoothGattService;
 import android.bluetooth.BluetoothManager;
 import android.bluetooth.BluetoothProfile;
+import android.bluetooth.BluetoothStatusCodes;
 import android.bluetooth.le.AdvertiseCallback;
 import android.bluetooth.le.AdvertiseData;
 import android.bluetooth.le.AdvertiseSettings;
@@ -27,10 +28,14 @@ import android.content.pm.PackageManager;
 import android.location.LocationManager;
 import android.os.Build;
 import android.os.Handler;
+import android.os.HandlerThread;
 import android.os.Looper;
 import android.os.ParcelUuid;
+import android.os.SystemClock;
 import android.provider.Settings;
+import android.util.Base64;
 import android.util.SparseArray;
+import androidx.annotation.RequiresApi;
 import androidx.annotation.RequiresPermission;
 import androidx.core.app.ActivityCompat;
 import com.getcapacitor.JSArray;
@@ -43,10 +48,21 @@ import com.getcapacitor.annotation.Permission;
 import com.getcapacitor.annotation.PermissionCallback;
 import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 
 @CapacitorPlugin(
     name = "BluetoothLowEnergy",
@@ -83,34 +99,64 @@ public class BluetoothLowEnergyPlugin extends Plugin {
     private BluetoothLeScanner bluetoothLeScanner;
     private BluetoothLeAdvertiser bluetoothLeAdvertiser;
     private BluetoothGattServer gattServer;
-    private final Map<String, BluetoothGattCharacteristic> localGattCharacteristics = new HashMap<>();
-    private final Map<String, BluetoothGattService> localGattServices = new HashMap<>();
-    private final Map<String, BluetoothDevice> connectedCentrals = new HashMap<>();
-
-    private final Map<String, BluetoothDevice> discoveredDevices = new HashMap<>();
-    private final Map<String, BluetoothGatt> connectedGatts = new HashMap<>();
-    private final Map<String, List<BluetoothGattService>> deviceServices = new HashMap<>();
+    private final Map<String, BluetoothGattCharacteristic> localGattCharacteristics = new ConcurrentHashMap<>();
+    private final Map<String, BluetoothGattService> localGattServices = new ConcurrentHashMap<>();
+    private final Map<String, BluetoothDevice> connectedCentrals = new ConcurrentHashMap<>();
+    private final Map<String, Integer> centralMtus = new ConcurrentHashMap<>();
+    // Prepare Write chunks of each central, only touched on the BLE thread.
+    private final Map<String, PreparedWrites> preparedWrites = new HashMap<>();
+    private final Map<String, LocalCharacteristic.PendingRead> pendingReads = new ConcurrentHashMap<>();
+    // Notification queue of each central, only touched on the BLE thread.
+    private final Map<String, NotificationOutbox> notificationOutboxes = new HashMap<>();
+    // Server callbacks hand back the instances registered in addGattService, so lookups by identity.
+    private final Map<BluetoothGattCharacteristic, LocalCharacteristic> localCharacteristicIndex = Collections.synchronizedMap(
+        new IdentityHashMap<>()
+    );
+
+    private final DeviceRegistry discoveredDevices = new DeviceRegistry();
+    private final Map<String, BluetoothGatt> connectedGatts = new ConcurrentHashMap<>();
+    private final Map<String, GattIndex> deviceServices = new ConcurrentHashMap<>();
+    // Lookups waiting for the pending service discovery of each device.
+    private final Map<String, List<Runnable>> discoveryWaiters = new HashMap<>();
+    private GattLayoutCache gattLayoutCache;
+    private final Map<String, GattOperationQueue> operationQueues = new ConcurrentHashMap<>();
+    private final Map<String, NotificationSubscription> notificationSubscriptions = new ConcurrentHashMap<>();
+    private final Map<String, CharacteristicPoller> pollers = new ConcurrentHashMap<>();
+    private final Map<String, Integer> deviceMtus = new ConcurrentHashMap<>();
+    private final Map<String, JSObject> connectionParameters = new ConcurrentHashMap<>();
+    // When the pending setPreferredPhy of each device was issued, in elapsedRealtimeNanos.
+    private final Map<String, Long> phyRequestedAt = new HashMap<>();
+    private final Map<String, ReconnectState> reconnectStates = new ConcurrentHashMap<>();
+    private final ScanResultCache scanResultCache = new ScanResultCache();
 
     private ScanCallback scanCallback;
     private AdvertiseCallback advertiseCallback;
-    private Handler scanHandler;
+    // Scan and GATT client state is only touched on this thread: plugin methods using it post
+    // their work here, and scan and GATT client callbacks hand their data over. GATT server
+    // callbacks run on binder threads, so the server state above uses concurrent maps, except
+    // the prepared writes and notification outboxes which are only used on this thread.
+    private HandlerThread bleThread;
+    private Handler bleHandler;
+    private final Runnable scanTimeoutTask = this::stopScanInternal;
     private boolean isScanning = false;
+    private boolean scanAllowDuplicates = false;
+    private long scanThrottleInterval = 0;
+    private boolean scanReportChangesOnly = false;
+    private int scanRssiThreshold = ScanResultCache.DEFAULT_RSSI_THRESHOLD;
     private String mode = "central";
 
     private String originalBluetoothAdapterName;
     private String advertisingBluetoothAdapterName;
 
-    private PluginCall pendingConnectCall;
-    private PluginCall pendingDiscoverCall;
-    private PluginCall pendingReadCall;
-    private PluginCall pendingWriteCall;
-    private PluginCall pendingNotifyCall;
-    private PluginCall pendingReadDescriptorCall;
-    private PluginCall pendingWriteDescriptorCall;
-    private PluginCall pendingRssiCall;
-    private PluginCall pendingMtuCall;
+    private final ConnectScheduler connectScheduler = new ConnectScheduler();
+    private long operationTimeout = GattOperationQueue.DEFAULT_TIMEOUT;
 
+    private static final int DEFAULT_MTU = 23;
+    // A connection parameter update takes a few connection events once the peripheral agreed.
+    private static final long CONNECTION_UPDATE_TIMEOUT = 5000;
+    private static final int MAX_ATTRIBUTE_LENGTH = 512;
     private static final UUID CLIENT_CHARACTERISTIC_CONFIG = UUID.fromString("00002902-0000-1000-8000-00805f9b34fb");
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
 
     @Override
     public void load() {
@@ -118,7 +164,48 @@ public class BluetoothLowEnergyPlugin extends Plugin {
         if (bluetoothManager != null) {
             bluetoothAdapter = bluetoothManager.getAdapter();
         }
-        scanHandler = new Handler(Looper.getMainLooper());
+        bleThread = new HandlerThread("BluetoothLowEnergy");
+        bleThread.start();
+        bleHandler = new Handler(bleThread.getLooper());
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        runOnBleThread(() -> {
+            stopScanInternal();
+            cancelPendingConnects();
+        });
+        bleThread.quitSafely();
+    }
+
+    /**
+     * Rejects every queued or in-flight connect, closing the GATT of an attempt in progress, so
+     * connect and connectDevices calls still settle when the plugin is torn down.
+     */
+    private void cancelPendingConnects() {
+        for (ConnectScheduler.Request request : connectScheduler.cancelAll()) {
+            bleHandler.removeCallbacks(request.timeoutTask);
+            bleHandler.removeCallbacks(request.retryTask);
+            reconnectStates.remove(request.deviceId);
+            if (request.gatt != null && connectedGatts.remove(request.deviceId, request.gatt)) {
+                closeGatt(request.gatt);
+                deviceServices.remove(request.deviceId);
+                closeOperationQueue(request.deviceId);
+            }
+            request.gatt = null;
+            request.listener.onResult("Connection cancelled", GattOperationQueue.CANCELLED);
+        }
+    }
+
+    /**
+     * Runs the task on the BLE thread, inline when already on it.
+     */
+    private void runOnBleThread(Runnable task) {
+        if (Looper.myLooper() == bleHandler.getLooper()) {
+            task.run();
+        } else {
+            bleHandler.post(task);
+        }
     }
 
     @PluginMethod
@@ -130,6 +217,18 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             return;
         }
 
+        GattLayoutCache layoutCache = call.getBoolean("gattCache", false) ? new GattLayoutCache(getContext()) : null;
+        int deviceCacheSize = call.getInt("deviceCacheSize", DeviceRegistry.DEFAULT_CAPACITY);
+        long deviceCacheTtl = call.getInt("deviceCacheTtl", (int) DeviceRegistry.DEFAULT_TTL);
+        long timeout = Math.max(call.getLong("operationTimeout", GattOperationQueue.DEFAULT_TIMEOUT), 0);
+        int maxConnections = call.getInt("maxConnections", ConnectScheduler.DEFAULT_MAX_SLOTS);
+        runOnBleThread(() -> {
+            gattLayoutCache = layoutCache;
+            notifyDevicesEvicted(discoveredDevices.configure(deviceCacheSize, deviceCacheTtl, SystemClock.elapsedRealtime()));
+            operationTimeout = timeout;
+            connectScheduler.setMaxSlots(maxConnections);
+        });
+
         if (mode.equals("central")) {
             bluetoothLeScanner = bluetoothAdapter.getBluetoothLeScanner();
         } else {
@@ -246,75 +345,308 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             return;
         }
 
-        JSArray servicesArray = call.getArray("services");
+        List<ScanFilter> filters;
+        try {
+            filters = buildScanFilters(call.getArray("services"), call.getArray("filters"));
+        } catch (JSONException | IllegalArgumentException e) {
+            call.reject("Invalid scan filter: " + e.getMessage());
+            return;
+        }
+
         double timeout = call.getDouble("timeout", 0.0);
         boolean allowDuplicates = call.getBoolean("allowDuplicates", false);
+        long throttleInterval = Math.max(call.getInt("throttleInterval", 0), 0);
+        boolean reportChangesOnly = call.getBoolean("reportChangesOnly", false);
+        int rssiThreshold = Math.max(call.getInt("rssiThreshold", ScanResultCache.DEFAULT_RSSI_THRESHOLD), 0);
+
+        ScanSettings settings;
+        try {
+            settings = buildScanSettings(call, !allowDuplicates && !filters.isEmpty());
+        } catch (IllegalArgumentException e) {
+            call.reject(e.getMessage());
+            return;
+        }
+
+        runOnBleThread(() -> {
+            // Restarting replaces the previous scan and its pending timeout.
+            stopScanInternal();
+            bleHandler.removeCallbacks(scanTimeoutTask);
+
+            scanAllowDuplicates = allowDuplicates;
+            scanThrottleInterval = throttleInterval;
+            scanReportChangesOnly = reportChangesOnly;
+            scanRssiThreshold = rssiThreshold;
+            scanResultCache.clear();
+
+            // Scan results are delivered on the main thread, hand them over to the BLE thread.
+            scanCallback = new ScanCallback() {
+                @Override
+                public void onScanResult(int callbackType, ScanResult result) {
+                    bleHandler.post(() -> handleScanResult(result));
+                }
+
+                @Override
+                public void onBatchScanResults(List<ScanResult> results) {
+                    bleHandler.post(() -> {
+                        for (ScanResult result : results) {
+                            handleScanResult(result);
+                        }
+                    });
+                }
+
+                @Override
+                public void onScanFailed(int errorCode) {
+                    bleHandler.post(() -> handleScanFailed(this, errorCode));
+                }
+            };
 
-        List<ScanFilter> filters = new ArrayList<>();
-        if (servicesArray != null) {
             try {
-                for (int i = 0; i < servicesArray.length(); i++) {
-                    String serviceUuid = servicesArray.getString(i);
-                    ScanFilter filter = new ScanFilter.Builder()
-                        .setServiceUuid(ParcelUuid.fromString(normalizeUuid(serviceUuid)))
-                        .build();
-                    filters.add(filter);
+                // Always use the settings overload, the callback-only one silently applies defaults.
+                bluetoothLeScanner.startScan(filters, settings, scanCallback);
+                isScanning = true;
+
+                if (timeout > 0) {
+                    bleHandler.postDelayed(scanTimeoutTask, (long) timeout);
                 }
-            } catch (Exception e) {
-                // Ignore filter errors
+
+                call.resolve();
+            } catch (SecurityException e) {
+                call.reject("Permission denied: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * The stack reports a failed scan after startScan already resolved, so the failure is
+     * emitted as a scanFailed event. Failures of a scan that was replaced since are ignored.
+     */
+    private void handleScanFailed(ScanCallback callback, int errorCode) {
+        if (scanCallback != callback) {
+            return;
+        }
+        isScanning = false;
+        bleHandler.removeCallbacks(scanTimeoutTask);
+        JSObject event = new JSObject();
+        event.put("errorCode", errorCode);
+        event.put("message", scanFailureMessage(errorCode));
+        notifyListeners("scanFailed", event);
+    }
+
+    private static String scanFailureMessage(int errorCode) {
+        switch (errorCode) {
+            case ScanCallback.SCAN_FAILED_ALREADY_STARTED:
+                return "Scan already started";
+            case ScanCallback.SCAN_FAILED_APPLICATION_REGISTRATION_FAILED:
+                return "Scanner registration failed";
+            case ScanCallback.SCAN_FAILED_FEATURE_UNSUPPORTED:
+                return "Scan settings not supported";
+            case ScanCallback.SCAN_FAILED_OUT_OF_HARDWARE_RESOURCES:
+                return "Out of hardware resources";
+            case ScanCallback.SCAN_FAILED_SCANNING_TOO_FREQUENTLY:
+                return "Scanning too frequently";
+            default:
+                return "Internal error";
+        }
+    }
+
+    /**
+     * Builds the hardware scan filters. Each service UUID and each filter object becomes its
+     * own ScanFilter, and an advertisement is reported when it matches any of them.
+     */
+    private List<ScanFilter> buildScanFilters(JSArray servicesArray, JSArray filtersArray) throws JSONException {
+        List<ScanFilter> filters = new ArrayList<>();
+        if (servicesArray != null) {
+            for (int i = 0; i < servicesArray.length(); i++) {
+                String serviceUuid = servicesArray.getString(i);
+                filters.add(new ScanFilter.Builder().setServiceUuid(ParcelUuid.fromString(normalizeUuid(serviceUuid))).build());
             }
         }
+        if (filtersArray != null) {
+            for (int i = 0; i < filtersArray.length(); i++) {
+                filters.add(buildScanFilter(filtersArray.getJSONObject(i)));
+            }
+        }
+        return filters;
+    }
 
-        ScanSettings.Builder settingsBuilder = new ScanSettings.Builder()
-            .setScanMode(ScanSettings.SCAN_MODE_LOW_LATENCY);
+    private ScanFilter buildScanFilter(JSONObject filterObj) throws JSONException {
+        ScanFilter.Builder builder = new ScanFilter.Builder();
 
-        if (!allowDuplicates) {
-            settingsBuilder.setCallbackType(ScanSettings.CALLBACK_TYPE_FIRST_MATCH);
+        if (filterObj.has("name")) {
+            builder.setDeviceName(filterObj.getString("name"));
+        }
+        if (filterObj.has("deviceId")) {
+            builder.setDeviceAddress(filterObj.getString("deviceId").toUpperCase(Locale.ROOT));
+        }
+        if (filterObj.has("service")) {
+            builder.setServiceUuid(ParcelUuid.fromString(normalizeUuid(filterObj.getString("service"))));
         }
 
-        scanCallback = new ScanCallback() {
-            @Override
-            public void onScanResult(int callbackType, ScanResult result) {
-                handleScanResult(result);
+        if (filterObj.has("manufacturerId")) {
+            int manufacturerId = filterObj.getInt("manufacturerId");
+            byte[] data = filterObj.has("manufacturerData") ? hexToBytes(filterObj.getString("manufacturerData")) : new byte[0];
+            if (filterObj.has("manufacturerDataMask")) {
+                builder.setManufacturerData(manufacturerId, data, hexToBytes(filterObj.getString("manufacturerDataMask")));
+            } else {
+                builder.setManufacturerData(manufacturerId, data);
             }
+        } else if (filterObj.has("manufacturerData")) {
+            throw new IllegalArgumentException("manufacturerData requires manufacturerId");
+        }
 
-            @Override
-            public void onBatchScanResults(List<ScanResult> results) {
-                for (ScanResult result : results) {
-                    handleScanResult(result);
-                }
+        if (filterObj.has("serviceDataUuid")) {
+            ParcelUuid serviceDataUuid = ParcelUuid.fromString(normalizeUuid(filterObj.getString("serviceDataUuid")));
+            byte[] data = filterObj.has("serviceData") ? hexToBytes(filterObj.getString("serviceData")) : new byte[0];
+            if (filterObj.has("serviceDataMask")) {
+                builder.setServiceData(serviceDataUuid, data, hexToBytes(filterObj.getString("serviceDataMask")));
+            } else {
+                builder.setServiceData(serviceDataUuid, data);
             }
+        } else if (filterObj.has("serviceData")) {
+            throw new IllegalArgumentException("serviceData requires serviceDataUuid");
+        }
 
-            @Override
-            public void onScanFailed(int errorCode) {
-                // Scan failed
+        return builder.build();
+    }
+
+    /**
+     * Builds ScanSettings from the startScan options.
+     *
+     * FIRST_MATCH is only requested when hardware filters can track it; otherwise duplicates
+     * are dropped by the scan result cache instead.
+     */
+    private ScanSettings buildScanSettings(PluginCall call, boolean firstMatch) {
+        ScanSettings.Builder builder = new ScanSettings.Builder();
+
+        String scanMode = call.getString("scanMode", "lowLatency");
+        switch (scanMode) {
+            case "lowPower":
+                builder.setScanMode(ScanSettings.SCAN_MODE_LOW_POWER);
+                break;
+            case "balanced":
+                builder.setScanMode(ScanSettings.SCAN_MODE_BALANCED);
+                break;
+            case "lowLatency":
+                builder.setScanMode(ScanSettings.SCAN_MODE_LOW_LATENCY);
+                break;
+            case "opportunistic":
+                builder.setScanMode(ScanSettings.SCAN_MODE_OPPORTUNISTIC);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid scanMode: " + scanMode);
+        }
+
+        long reportDelay = Math.max(call.getInt("reportDelay", 0), 0);
+        if (reportDelay > 0) {
+            if (!bluetoothAdapter.isOffloadedScanBatchingSupported()) {
+                throw new IllegalArgumentException("Batch scanning is not supported on this device");
             }
-        };
+            builder.setReportDelay(reportDelay);
+        } else if (firstMatch && bluetoothAdapter.isOffloadedFilteringSupported()) {
+            // Batched results must use ALL_MATCHES, so FIRST_MATCH only applies to immediate reports.
+            builder.setCallbackType(ScanSettings.CALLBACK_TYPE_FIRST_MATCH);
+        }
 
-        try {
-            if (filters.isEmpty()) {
-                bluetoothLeScanner.startScan(scanCallback);
-            } else {
-                bluetoothLeScanner.startScan(filters, settingsBuilder.build(), scanCallback);
+        String matchMode = call.getString("matchMode");
+        if (matchMode != null) {
+            switch (matchMode) {
+                case "aggressive":
+                    builder.setMatchMode(ScanSettings.MATCH_MODE_AGGRESSIVE);
+                    break;
+                case "sticky":
+                    builder.setMatchMode(ScanSettings.MATCH_MODE_STICKY);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid matchMode: " + matchMode);
             }
-            isScanning = true;
+        }
 
-            if (timeout > 0) {
-                scanHandler.postDelayed(() -> {
-                    stopScanInternal();
-                }, (long) timeout);
+        String numOfMatches = call.getString("numOfMatches");
+        if (numOfMatches != null) {
+            switch (numOfMatches) {
+                case "one":
+                    builder.setNumOfMatches(ScanSettings.MATCH_NUM_ONE_ADVERTISEMENT);
+                    break;
+                case "few":
+                    builder.setNumOfMatches(ScanSettings.MATCH_NUM_FEW_ADVERTISEMENT);
+                    break;
+                case "max":
+                    builder.setNumOfMatches(ScanSettings.MATCH_NUM_MAX_ADVERTISEMENT);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid numOfMatches: " + numOfMatches);
             }
+        }
 
-            call.resolve();
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            boolean legacy = call.getBoolean("legacy", true);
+            builder.setLegacy(legacy);
+
+            String phy = call.getString("phy");
+            if (phy != null) {
+                if (legacy) {
+                    throw new IllegalArgumentException("phy requires legacy to be false");
+                }
+                switch (phy) {
+                    case "1m":
+                        builder.setPhy(BluetoothDevice.PHY_LE_1M);
+                        break;
+                    case "coded":
+                        if (!bluetoothAdapter.isLeCodedPhySupported()) {
+                            throw new IllegalArgumentException("LE Coded PHY is not supported on this device");
+                        }
+                        builder.setPhy(BluetoothDevice.PHY_LE_CODED);
+                        break;
+                    case "all":
+                        builder.setPhy(ScanSettings.PHY_LE_ALL_SUPPORTED);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Invalid phy: " + phy);
+                }
+            }
         }
+
+        return builder.build();
     }
 
     private void handleScanResult(ScanResult result) {
         BluetoothDevice device = result.getDevice();
         String deviceId = device.getAddress();
-        discoveredDevices.put(deviceId, device);
+        long now = SystemClock.elapsedRealtime();
+        notifyDevicesEvicted(discoveredDevices.put(deviceId, device, now));
+
+        long throttleInterval = scanAllowDuplicates ? scanThrottleInterval : Long.MAX_VALUE;
+        if (!scanResultCache.update(deviceId, result, now, throttleInterval, scanReportChangesOnly, scanRssiThreshold)) {
+            return;
+        }
+
+        JSObject event = new JSObject();
+        event.put("device", scanResultToJson(result));
+        notifyListeners("deviceScanned", event);
+    }
+
+    /**
+     * Looks up a device seen while scanning. Expired devices are evicted first, so they leave
+     * the scan result cache and are reported like any other eviction.
+     */
+    private BluetoothDevice discoveredDevice(String deviceId) {
+        long now = SystemClock.elapsedRealtime();
+        notifyDevicesEvicted(discoveredDevices.evictExpired(now));
+        return discoveredDevices.get(deviceId, now);
+    }
+
+    private void notifyDevicesEvicted(List<String> deviceIds) {
+        for (String deviceId : deviceIds) {
+            scanResultCache.remove(deviceId);
+            JSObject event = new JSObject();
+            event.put("deviceId", deviceId);
+            notifyListeners("deviceEvicted", event);
+        }
+    }
+
+    private JSObject scanResultToJson(ScanResult result) {
+        BluetoothDevice device = result.getDevice();
+        String deviceId = device.getAddress();
 
         JSObject deviceObj = new JSObject();
         deviceObj.put("deviceId", deviceId);
@@ -362,15 +694,38 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             }
         }
 
-        JSObject event = new JSObject();
-        event.put("device", deviceObj);
-        notifyListeners("deviceScanned", event);
+        return deviceObj;
     }
 
     @PluginMethod
     public void stopScan(PluginCall call) {
-        stopScanInternal();
-        call.resolve();
+        runOnBleThread(() -> {
+            bleHandler.removeCallbacks(scanTimeoutTask);
+            stopScanInternal();
+            call.resolve();
+        });
+    }
+
+    @PluginMethod
+    public void getScanResults(PluginCall call) {
+        runOnBleThread(() -> {
+            long now = SystemClock.elapsedRealtime();
+            notifyDevicesEvicted(discoveredDevices.evictExpired(now));
+
+            // The cache uses the monotonic clock, JS expects lastSeen in milliseconds since epoch.
+            long epochOffset = System.currentTimeMillis() - now;
+            JSArray devicesArray = new JSArray();
+            for (ScanResultCache.Entry entry : scanResultCache.snapshot()) {
+                JSObject entryObj = new JSObject();
+                entryObj.put("device", scanResultToJson(entry.result));
+                entryObj.put("lastSeen", entry.lastSeen + epochOffset);
+                devicesArray.put(entryObj);
+            }
+
+            JSObject result = new JSObject();
+            result.put("devices", devicesArray);
+            call.resolve(result);
+        });
     }
 
     private void stopScanInternal() {
@@ -386,161 +741,502 @@ public class BluetoothLowEnergyPlugin extends Plugin {
 
     @PluginMethod
     public void connect(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        if (deviceId == null) {
-            call.reject("deviceId is required");
-            return;
-        }
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
 
-        BluetoothDevice device = discoveredDevices.get(deviceId);
-        if (device == null) {
-            // Try to get device by address
-            if (bluetoothAdapter != null) {
+            ConnectScheduler.Request request;
+            try {
+                request = buildConnectRequest(call, deviceId, (error, code) -> {
+                    if (error == null) {
+                        call.resolve();
+                    } else {
+                        call.reject(error, code);
+                    }
+                });
+            } catch (IllegalArgumentException e) {
+                call.reject(e.getMessage());
+                return;
+            }
+            if (request == null) {
+                call.reject("Device not found");
+                return;
+            }
+            scheduleConnect(request);
+        });
+    }
+
+    @PluginMethod
+    public void connectDevices(PluginCall call) {
+        runOnBleThread(() -> {
+            JSArray deviceIds = call.getArray("deviceIds");
+            if (deviceIds == null) {
+                call.reject("deviceIds is required");
+                return;
+            }
+
+            List<String> ids;
+            try {
+                ids = deviceIds.toList();
+            } catch (JSONException e) {
+                call.reject("Invalid deviceIds: " + e.getMessage());
+                return;
+            }
+            JSObject[] results = new JSObject[ids.size()];
+            int[] remaining = { ids.size() };
+            if (ids.isEmpty()) {
+                resolveConnectResults(call, results);
+                return;
+            }
+
+            List<ConnectScheduler.Request> requests = new ArrayList<>();
+            List<ConnectScheduler.Listener> notFound = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                int index = i;
+                String deviceId = ids.get(i);
+                ConnectScheduler.Listener listener = (error, code) -> {
+                    JSObject result = new JSObject();
+                    result.put("deviceId", deviceId);
+                    result.put("connected", error == null);
+                    if (error != null) {
+                        result.put("error", error);
+                    }
+                    if (code != null) {
+                        result.put("code", code);
+                    }
+                    results[index] = result;
+                    if (--remaining[0] == 0) {
+                        resolveConnectResults(call, results);
+                    }
+                };
+                ConnectScheduler.Request request;
                 try {
-                    device = bluetoothAdapter.getRemoteDevice(deviceId);
-                } catch (Exception e) {
-                    call.reject("Device not found");
+                    request = buildConnectRequest(call, deviceId, listener);
+                } catch (IllegalArgumentException e) {
+                    call.reject(e.getMessage());
                     return;
                 }
-            } else {
-                call.reject("Device not found");
-                return;
+                if (request == null) {
+                    // Reported with the other results, so a bad id does not fail the batch.
+                    notFound.add(listener);
+                } else {
+                    requests.add(request);
+                }
+            }
+            for (ConnectScheduler.Listener listener : notFound) {
+                listener.onResult("Device not found", null);
             }
+            for (ConnectScheduler.Request request : requests) {
+                scheduleConnect(request);
+            }
+        });
+    }
+
+    private void resolveConnectResults(PluginCall call, JSObject[] results) {
+        JSArray array = new JSArray();
+        for (JSObject result : results) {
+            array.put(result);
         }
+        JSObject ret = new JSObject();
+        ret.put("results", array);
+        call.resolve(ret);
+    }
 
+    /**
+     * Reads the connection options shared by connect and connectDevices. Returns null when the
+     * device cannot be resolved, and throws IllegalArgumentException for invalid options.
+     */
+    private ConnectScheduler.Request buildConnectRequest(PluginCall call, String deviceId, ConnectScheduler.Listener listener) {
+        ReconnectState.Policy reconnectPolicy = ReconnectState.parsePolicy(call.getString("reconnect", "none"));
+        BluetoothDevice device = findDevice(deviceId);
+        if (device == null) {
+            return null;
+        }
         boolean autoConnect = call.getBoolean("autoConnect", false);
-        pendingConnectCall = call;
+        return new ConnectScheduler.Request(
+            deviceId,
+            device,
+            autoConnect,
+            Math.max(call.getLong("timeout", autoConnect ? 0L : ConnectScheduler.DEFAULT_TIMEOUT), 0),
+            Math.max(call.getInt("retries", ConnectScheduler.DEFAULT_RETRIES), 0),
+            Math.max(call.getLong("retryDelay", ConnectScheduler.DEFAULT_RETRY_DELAY), 0),
+            reconnectPolicy,
+            call.getInt("maxReconnectAttempts", ReconnectState.DEFAULT_MAX_ATTEMPTS),
+            call.getLong("reconnectDelay", ReconnectState.DEFAULT_DELAY),
+            call.getLong("reconnectTimeout", ReconnectState.DEFAULT_ATTEMPT_TIMEOUT),
+            listener
+        );
+    }
 
-        try {
-            BluetoothGatt gatt = device.connectGatt(getContext(), autoConnect, gattCallback);
-            connectedGatts.put(deviceId, gatt);
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
+    private BluetoothDevice findDevice(String deviceId) {
+        BluetoothDevice device = discoveredDevice(deviceId);
+        if (device == null && bluetoothAdapter != null) {
+            // Try to get device by address
+            try {
+                device = bluetoothAdapter.getRemoteDevice(deviceId);
+            } catch (Exception e) {
+                return null;
+            }
         }
+        return device;
     }
 
-    @PluginMethod
-    public void disconnect(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        if (deviceId == null) {
-            call.reject("deviceId is required");
+    private void scheduleConnect(ConnectScheduler.Request request) {
+        if (connectScheduler.contains(request.deviceId)) {
+            request.listener.onResult("Connection already in progress", null);
             return;
         }
+        cancelReconnect(request.deviceId);
+        connectScheduler.enqueue(request);
+        dispatchConnects();
+    }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt != null) {
-            try {
-                gatt.disconnect();
-                gatt.close();
-            } catch (SecurityException e) {
-                // Ignore
+    /**
+     * Starts queued connections while connection slots are free. Every GATT in connectedGatts,
+     * connected or still connecting, holds a slot, and so does a request waiting to retry. A
+     * device being reconnected keeps its slot, so finishReconnect never exceeds the limit.
+     */
+    private void dispatchConnects() {
+        Set<String> slotHolders = new HashSet<>(connectedGatts.keySet());
+        for (ReconnectState reconnect : reconnectStates.values()) {
+            if (reconnect.reconnecting) {
+                slotHolders.add(reconnect.deviceId);
             }
-            connectedGatts.remove(deviceId);
-            deviceServices.remove(deviceId);
         }
-
-        JSObject event = new JSObject();
-        event.put("deviceId", deviceId);
-        notifyListeners("deviceDisconnected", event);
-
-        call.resolve();
+        ConnectScheduler.Request request;
+        while ((request = connectScheduler.poll(slotHolders)) != null) {
+            startConnect(request);
+        }
     }
 
-    @PluginMethod
-    public void createBond(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        if (deviceId == null) {
-            call.reject("deviceId is required");
+    private void startConnect(ConnectScheduler.Request request) {
+        String deviceId = request.deviceId;
+        BluetoothGatt gatt;
+        try {
+            // Callbacks stay on binder threads so values can be copied before they are reused,
+            // see gattCallback.
+            gatt = request.device.connectGatt(getContext(), request.autoConnect, gattCallback, BluetoothDevice.TRANSPORT_LE);
+        } catch (SecurityException e) {
+            connectScheduler.complete(deviceId);
+            request.listener.onResult("Permission denied: " + e.getMessage(), null);
+            dispatchConnects();
             return;
         }
-
-        BluetoothDevice device = discoveredDevices.get(deviceId);
-        if (device == null) {
-            call.reject("Device not found");
+        if (gatt == null) {
+            connectScheduler.complete(deviceId);
+            request.listener.onResult("Connection failed", null);
+            dispatchConnects();
             return;
         }
 
-        try {
-            device.createBond();
-            call.resolve();
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
+        request.gatt = gatt;
+        BluetoothGatt previous = connectedGatts.put(deviceId, gatt);
+        if (previous != null) {
+            closeGatt(previous);
+        }
+        operationQueues.put(deviceId, newOperationQueue(deviceId));
+        if (request.reconnectPolicy != null) {
+            reconnectStates.put(
+                deviceId,
+                new ReconnectState(
+                    deviceId,
+                    gatt,
+                    request.reconnectPolicy,
+                    request.maxReconnectAttempts,
+                    request.reconnectDelay,
+                    request.reconnectTimeout
+                )
+            );
+        }
+        if (request.timeout > 0) {
+            request.timeoutTask = () -> failConnectAttempt(request, -1, "Connection timed out", GattOperationQueue.TIMEOUT);
+            bleHandler.postDelayed(request.timeoutTask, request.timeout);
         }
     }
 
-    @PluginMethod
-    public void isBonded(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        if (deviceId == null) {
-            call.reject("deviceId is required");
+    /**
+     * Handles a failed or timed out connection attempt, where status is -1 for a timeout. The
+     * GATT of the attempt is always closed, refreshing the stack's cache after GATT_ERROR, so
+     * failures do not leak client interfaces. Transient failures are retried with a fresh
+     * GATT after retryDelay while the request allows; otherwise the request fails and frees
+     * its slot.
+     */
+    private void failConnectAttempt(ConnectScheduler.Request request, int status, String error, String code) {
+        if (connectScheduler.connecting(request.deviceId) != request || request.gatt == null) {
             return;
         }
-
-        BluetoothDevice device = discoveredDevices.get(deviceId);
-        if (device == null) {
-            JSObject ret = new JSObject();
-            ret.put("bonded", false);
-            call.resolve(ret);
+        bleHandler.removeCallbacks(request.timeoutTask);
+        reconnectStates.remove(request.deviceId);
+        if (connectedGatts.remove(request.deviceId, request.gatt)) {
+            if (status == GattStatus.GATT_ERROR) {
+                GattStatus.refresh(request.gatt);
+            }
+            closeGatt(request.gatt);
+            deviceServices.remove(request.deviceId);
+            closeOperationQueue(request.deviceId);
+        }
+        request.gatt = null;
+
+        boolean retryable = status == -1 || GattStatus.isTransient(status);
+        if (retryable && request.canRetry()) {
+            request.attempt++;
+            request.retryTask = () -> {
+                if (connectScheduler.connecting(request.deviceId) == request) {
+                    startConnect(request);
+                }
+            };
+            bleHandler.postDelayed(request.retryTask, request.retryDelay);
             return;
         }
 
-        try {
-            boolean bonded = device.getBondState() == BluetoothDevice.BOND_BONDED;
-            JSObject ret = new JSObject();
-            ret.put("bonded", bonded);
-            call.resolve(ret);
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
+        connectScheduler.complete(request.deviceId);
+        request.listener.onResult(error, code);
+        if (status != -1) {
+            // The device never connected, so this is not reported as a disconnection.
+            JSObject event = new JSObject();
+            event.put("deviceId", request.deviceId);
+            event.put("status", status);
+            event.put("reason", GattStatus.reason(status));
+            notifyListeners("connectFailed", event);
         }
+        dispatchConnects();
     }
 
-    @PluginMethod
-    public void discoverServices(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        if (deviceId == null) {
-            call.reject("deviceId is required");
-            return;
-        }
-
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
+    /**
+     * Emits deviceDisconnected. A null status is a disconnection requested through disconnect,
+     * which carries no stack status.
+     */
+    private void notifyDeviceDisconnected(String deviceId, Integer status) {
+        JSObject event = new JSObject();
+        event.put("deviceId", deviceId);
+        if (status != null) {
+            event.put("status", status);
         }
+        event.put("reason", status != null ? GattStatus.reason(status) : "requested");
+        notifyListeners("deviceDisconnected", event);
+    }
 
-        pendingDiscoverCall = call;
+    private void closeGatt(BluetoothGatt gatt) {
         try {
-            gatt.discoverServices();
+            gatt.disconnect();
+            gatt.close();
         } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
+            // Ignore
         }
     }
 
     @PluginMethod
-    public void getServices(PluginCall call) {
+    public void disconnect(PluginCall call) {
         String deviceId = call.getString("deviceId");
         if (deviceId == null) {
             call.reject("deviceId is required");
             return;
         }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+        runOnBleThread(() -> {
+            cancelReconnect(deviceId);
+            ConnectScheduler.Request request = connectScheduler.cancel(deviceId);
+            if (request != null) {
+                bleHandler.removeCallbacks(request.timeoutTask);
+                bleHandler.removeCallbacks(request.retryTask);
+                request.listener.onResult("Connection cancelled", GattOperationQueue.CANCELLED);
+            }
+            BluetoothGatt gatt = connectedGatts.remove(deviceId);
+            if (gatt != null) {
+                closeGatt(gatt);
+                deviceServices.remove(deviceId);
+                closeOperationQueue(deviceId);
+                // A device that was not connected, or already dropped, was reported before.
+                notifyDeviceDisconnected(deviceId, null);
+            }
+            dispatchConnects();
 
-        List<BluetoothGattService> services = gatt.getServices();
-        JSArray servicesArray = new JSArray();
+            call.resolve();
+        });
+    }
 
-        for (BluetoothGattService service : services) {
-            JSObject serviceObj = new JSObject();
+    @PluginMethod
+    public void createBond(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            BluetoothDevice device = discoveredDevice(deviceId);
+            if (device == null) {
+                call.reject("Device not found");
+                return;
+            }
+
+            try {
+                device.createBond();
+                call.resolve();
+            } catch (SecurityException e) {
+                call.reject("Permission denied: " + e.getMessage());
+            }
+        });
+    }
+
+    @PluginMethod
+    public void isBonded(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            BluetoothDevice device = discoveredDevice(deviceId);
+            if (device == null) {
+                JSObject ret = new JSObject();
+                ret.put("bonded", false);
+                call.resolve(ret);
+                return;
+            }
+
+            try {
+                boolean bonded = device.getBondState() == BluetoothDevice.BOND_BONDED;
+                JSObject ret = new JSObject();
+                ret.put("bonded", bonded);
+                call.resolve(ret);
+            } catch (SecurityException e) {
+                call.reject("Permission denied: " + e.getMessage());
+            }
+        });
+    }
+
+    @PluginMethod
+    public void discoverServices(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            enqueueOperation(deviceId, discoveryOperation(deviceId, gatt, call));
+        });
+    }
+
+    /**
+     * Builds a service discovery, and marks discovery as pending for the device so lookups made
+     * meanwhile wait for it. A null call is an internal discovery, after connecting with a
+     * persisted layout or after Service Changed.
+     */
+    private GattOperationQueue.Operation discoveryOperation(String deviceId, BluetoothGatt gatt, PluginCall call) {
+        discoveryWaiters.computeIfAbsent(deviceId, (id) -> new ArrayList<>());
+        return new GattOperationQueue.Operation(
+            GattOperationQueue.Type.DISCOVER_SERVICES,
+            call,
+            null,
+            gatt::discoverServices,
+            "Service discovery failed"
+        ) {
+            @Override
+            void fail(String message, String code) {
+                finishDiscovery(deviceId);
+                if (call != null) {
+                    call.reject(message, code);
+                }
+            }
+        };
+    }
+
+    /**
+     * Discovers services in the background when a layout is persisted for the device. getServices
+     * answers from that layout meanwhile, attribute lookups wait for the discovery, and the device
+     * hash read after it confirms or replaces the layout.
+     */
+    private void revalidateLayout(String deviceId, BluetoothGatt gatt) {
+        if (gattLayoutCache != null && gattLayoutCache.contains(deviceId)) {
+            enqueueOperation(deviceId, discoveryOperation(deviceId, gatt, null));
+        }
+    }
+
+    /**
+     * Returns true when a discovery is pending for the device, in which case the retry runs
+     * once it finished. Used when an attribute lookup fails because the layout is not known yet.
+     */
+    private boolean deferUntilDiscovered(String deviceId, Runnable retry) {
+        List<Runnable> waiters = discoveryWaiters.get(deviceId);
+        if (waiters == null) {
+            return false;
+        }
+        waiters.add(retry);
+        return true;
+    }
+
+    private void finishDiscovery(String deviceId) {
+        List<Runnable> waiters = discoveryWaiters.remove(deviceId);
+        if (waiters != null) {
+            for (Runnable waiter : waiters) {
+                waiter.run();
+            }
+        }
+    }
+
+    @PluginMethod
+    public void getServices(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            // Served from the index, so repeated calls don't rebuild the tree. Before the first
+            // discovery of the connection, a persisted layout answers without waiting for it.
+            GattIndex index = deviceServices.get(deviceId);
+            if (index == null) {
+                JSArray layout = gattLayoutCache != null ? gattLayoutCache.get(deviceId) : null;
+                if (layout != null) {
+                    JSObject ret = new JSObject();
+                    ret.put("services", layout);
+                    ret.put("cached", true);
+                    call.resolve(ret);
+                    return;
+                }
+                if (deferUntilDiscovered(deviceId, () -> getServices(call))) {
+                    return;
+                }
+            }
+
+            JSObject ret = new JSObject();
+            ret.put("services", index != null ? index.servicesJson : servicesToJson(gatt.getServices()));
+            ret.put("cached", index != null && index.cached);
+            call.resolve(ret);
+        });
+    }
+
+    private JSArray servicesToJson(List<BluetoothGattService> services) {
+        JSArray servicesArray = new JSArray();
+
+        for (BluetoothGattService service : services) {
+            JSObject serviceObj = new JSObject();
             serviceObj.put("uuid", service.getUuid().toString());
 
             JSArray characteristicsArray = new JSArray();
             for (BluetoothGattCharacteristic characteristic : service.getCharacteristics()) {
                 JSObject charObj = new JSObject();
                 charObj.put("uuid", characteristic.getUuid().toString());
+                charObj.put("instanceId", characteristic.getInstanceId());
 
                 JSObject properties = new JSObject();
                 int props = characteristic.getProperties();
@@ -569,334 +1265,1086 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             servicesArray.put(serviceObj);
         }
 
-        JSObject ret = new JSObject();
-        ret.put("services", servicesArray);
-        call.resolve(ret);
+        return servicesArray;
     }
 
     @PluginMethod
     public void getConnectedDevices(PluginCall call) {
-        JSArray devicesArray = new JSArray();
-        for (Map.Entry<String, BluetoothGatt> entry : connectedGatts.entrySet()) {
-            JSObject deviceObj = new JSObject();
-            deviceObj.put("deviceId", entry.getKey());
-            try {
-                BluetoothDevice device = entry.getValue().getDevice();
-                deviceObj.put("name", device.getName());
-            } catch (SecurityException e) {
-                deviceObj.put("name", null);
+        runOnBleThread(() -> {
+            JSArray devicesArray = new JSArray();
+            for (Map.Entry<String, BluetoothGatt> entry : connectedGatts.entrySet()) {
+                JSObject deviceObj = new JSObject();
+                deviceObj.put("deviceId", entry.getKey());
+                try {
+                    BluetoothDevice device = entry.getValue().getDevice();
+                    deviceObj.put("name", device.getName());
+                } catch (SecurityException e) {
+                    deviceObj.put("name", null);
+                }
+                devicesArray.put(deviceObj);
             }
-            devicesArray.put(deviceObj);
-        }
 
-        JSObject ret = new JSObject();
-        ret.put("devices", devicesArray);
-        call.resolve(ret);
+            JSObject ret = new JSObject();
+            ret.put("devices", devicesArray);
+            call.resolve(ret);
+        });
     }
 
     @PluginMethod
     public void readCharacteristic(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        String serviceUuid = call.getString("service");
-        String characteristicUuid = call.getString("characteristic");
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
 
-        if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
-            call.reject("deviceId, service, and characteristic are required");
-            return;
-        }
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
+                call.reject("deviceId, service, and characteristic are required");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        BluetoothGattCharacteristic characteristic = findCharacteristic(gatt, serviceUuid, characteristicUuid);
-        if (characteristic == null) {
-            call.reject("Characteristic not found");
-            return;
-        }
+            BluetoothGattCharacteristic characteristic = findCharacteristic(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId")
+            );
+            if (characteristic == null) {
+                if (deferUntilDiscovered(deviceId, () -> readCharacteristic(call))) {
+                    return;
+                }
+                call.reject("Characteristic not found");
+                return;
+            }
 
-        pendingReadCall = call;
-        try {
-            gatt.readCharacteristic(characteristic);
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
-        }
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.READ_CHARACTERISTIC,
+                    call,
+                    characteristic,
+                    () -> gatt.readCharacteristic(characteristic),
+                    "Read failed"
+                )
+            );
+        });
     }
 
     @PluginMethod
     public void writeCharacteristic(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        String serviceUuid = call.getString("service");
-        String characteristicUuid = call.getString("characteristic");
-        JSArray valueArray = call.getArray("value");
-        String writeType = call.getString("type", "withResponse");
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
+            Object rawValue = call.getData().opt("value");
+            String encoding = call.getString("encoding", "array");
+            String writeType = call.getString("type", "withResponse");
+
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null || rawValue == null) {
+                call.reject("deviceId, service, characteristic, and value are required");
+                return;
+            }
 
-        if (deviceId == null || serviceUuid == null || characteristicUuid == null || valueArray == null) {
-            call.reject("deviceId, service, characteristic, and value are required");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGattCharacteristic characteristic = findCharacteristic(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId")
+            );
+            if (characteristic == null) {
+                if (deferUntilDiscovered(deviceId, () -> writeCharacteristic(call))) {
+                    return;
+                }
+                call.reject("Characteristic not found");
+                return;
+            }
 
-        BluetoothGattCharacteristic characteristic = findCharacteristic(gatt, serviceUuid, characteristicUuid);
-        if (characteristic == null) {
-            call.reject("Characteristic not found");
-            return;
-        }
+            byte[] value;
+            try {
+                value = decodeValue(rawValue, encoding);
+            } catch (Exception e) {
+                call.reject("Failed to write: " + e.getMessage());
+                return;
+            }
+            int writeTypeValue = writeType.equals("withoutResponse")
+                ? BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE
+                : BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT;
+
+            // The value is applied when the operation starts so queued writes don't overwrite each other.
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.WRITE_CHARACTERISTIC,
+                    call,
+                    characteristic,
+                    () -> ChunkedWrite.writeCharacteristic(gatt, characteristic, value, writeTypeValue) == BluetoothStatusCodes.SUCCESS,
+                    "Write failed"
+                )
+            );
+        });
+    }
 
-        try {
-            byte[] value = jsArrayToBytes(valueArray);
-            characteristic.setValue(value);
+    @PluginMethod
+    public void writeLarge(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
+            Object rawValue = call.getData().opt("value");
+            String encoding = call.getString("encoding", "array");
+            String writeType = call.getString("type", "withResponse");
+            boolean reliable = call.getBoolean("reliable", false);
+
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null || rawValue == null) {
+                call.reject("deviceId, service, characteristic, and value are required");
+                return;
+            }
 
-            if (writeType.equals("withoutResponse")) {
-                characteristic.setWriteType(BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE);
-            } else {
-                characteristic.setWriteType(BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT);
+            if (reliable && writeType.equals("withoutResponse")) {
+                call.reject("Reliable writes require type withResponse");
+                return;
             }
 
-            pendingWriteCall = call;
-            gatt.writeCharacteristic(characteristic);
-        } catch (Exception e) {
-            call.reject("Failed to write: " + e.getMessage());
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            BluetoothGattCharacteristic characteristic = findCharacteristic(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId")
+            );
+            if (characteristic == null) {
+                if (deferUntilDiscovered(deviceId, () -> writeLarge(call))) {
+                    return;
+                }
+                call.reject("Characteristic not found");
+                return;
+            }
+
+            byte[] value;
+            try {
+                value = decodeValue(rawValue, encoding);
+            } catch (Exception e) {
+                call.reject("Failed to write: " + e.getMessage());
+                return;
+            }
+
+            // ATT write requests carry MTU - 3 bytes, prepared writes MTU - 5.
+            int mtu = deviceMtus.getOrDefault(deviceId, DEFAULT_MTU);
+            int maxChunkSize = Math.min(reliable ? mtu - 5 : mtu - 3, MAX_ATTRIBUTE_LENGTH);
+            int chunkSize = Math.min(call.getInt("chunkSize", maxChunkSize), maxChunkSize);
+            String sizeError = ChunkedWrite.checkSize(value.length, chunkSize, reliable);
+            if (sizeError != null) {
+                call.reject(sizeError);
+                return;
+            }
+
+            int writeTypeValue = writeType.equals("withoutResponse")
+                ? BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE
+                : BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT;
+
+            ChunkedWrite write = new ChunkedWrite(
+                call,
+                deviceId,
+                serviceUuid,
+                characteristicUuid,
+                gatt,
+                characteristic,
+                value,
+                chunkSize,
+                writeTypeValue,
+                reliable,
+                call.getInt("maxInFlight", ChunkedWrite.DEFAULT_MAX_IN_FLIGHT),
+                Math.max(call.getInt("progressInterval", 100), 0),
+                bleHandler
+            );
+            write.retryTask = () -> pumpChunkedWrite(write);
+            enqueueOperation(deviceId, write);
+        });
     }
 
     @PluginMethod
     public void startCharacteristicNotifications(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        String serviceUuid = call.getString("service");
-        String characteristicUuid = call.getString("characteristic");
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
 
-        if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
-            call.reject("deviceId, service, and characteristic are required");
-            return;
-        }
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
+                call.reject("deviceId, service, and characteristic are required");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        BluetoothGattCharacteristic characteristic = findCharacteristic(gatt, serviceUuid, characteristicUuid);
-        if (characteristic == null) {
-            call.reject("Characteristic not found");
-            return;
-        }
+            BluetoothGattCharacteristic characteristic = findCharacteristic(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId")
+            );
+            if (characteristic == null) {
+                if (deferUntilDiscovered(deviceId, () -> startCharacteristicNotifications(call))) {
+                    return;
+                }
+                call.reject("Characteristic not found");
+                return;
+            }
 
-        try {
-            gatt.setCharacteristicNotification(characteristic, true);
+            boolean buffered = call.getBoolean("buffered", false);
+            boolean batched = !buffered && (call.hasOption("batchInterval") || call.hasOption("batchSize"));
+            NotificationSubscription subscription = new NotificationSubscription(
+                deviceId,
+                characteristic.getService().getUuid().toString(),
+                characteristic.getUuid().toString(),
+                characteristic.getInstanceId(),
+                call.getString("encoding", "array"),
+                batched ? call.getLong("batchInterval", NotificationSubscription.DEFAULT_BATCH_INTERVAL) : 0,
+                batched ? Math.max(1, call.getInt("batchSize", NotificationSubscription.DEFAULT_BATCH_SIZE)) : 0,
+                buffered ? Math.max(1, call.getInt("bufferSize", NotificationBuffer.DEFAULT_CAPACITY)) : 0
+            );
+            subscription.flushTask = () -> flushNotificationBatch(subscription);
+            // Registered before the CCCD write, so values sent as soon as it lands are not missed.
+            String key = notificationKey(deviceId, characteristic);
+            NotificationSubscription previous = notificationSubscriptions.put(key, subscription);
+            if (previous != null) {
+                flushNotificationBatch(previous);
+            }
+
+            try {
+                if (!gatt.setCharacteristicNotification(characteristic, true)) {
+                    dropFailedSubscription(key, subscription);
+                    call.reject("Failed to enable notifications");
+                    return;
+                }
 
-            BluetoothGattDescriptor descriptor = characteristic.getDescriptor(CLIENT_CHARACTERISTIC_CONFIG);
-            if (descriptor != null) {
-                int properties = characteristic.getProperties();
-                if ((properties & BluetoothGattCharacteristic.PROPERTY_INDICATE) != 0) {
-                    descriptor.setValue(BluetoothGattDescriptor.ENABLE_INDICATION_VALUE);
+                BluetoothGattDescriptor descriptor = characteristic.getDescriptor(CLIENT_CHARACTERISTIC_CONFIG);
+                if (descriptor != null) {
+                    int properties = characteristic.getProperties();
+                    byte[] enableValue = (properties & BluetoothGattCharacteristic.PROPERTY_INDICATE) != 0
+                        ? BluetoothGattDescriptor.ENABLE_INDICATION_VALUE
+                        : BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE;
+                    enqueueOperation(
+                        deviceId,
+                        new GattOperationQueue.Operation(
+                            GattOperationQueue.Type.WRITE_DESCRIPTOR,
+                            call,
+                            descriptor,
+                            () -> {
+                                descriptor.setValue(enableValue);
+                                return gatt.writeDescriptor(descriptor);
+                            },
+                            "Failed to enable notifications"
+                        ) {
+                            @Override
+                            void fail(String message, String code) {
+                                dropFailedSubscription(key, subscription);
+                                super.fail(message, code);
+                            }
+                        }
+                    );
                 } else {
-                    descriptor.setValue(BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE);
+                    call.resolve();
                 }
-                pendingNotifyCall = call;
-                gatt.writeDescriptor(descriptor);
-            } else {
-                call.resolve();
+            } catch (SecurityException e) {
+                dropFailedSubscription(key, subscription);
+                call.reject("Permission denied: " + e.getMessage());
             }
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
-        }
+        });
     }
 
     @PluginMethod
     public void stopCharacteristicNotifications(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        String serviceUuid = call.getString("service");
-        String characteristicUuid = call.getString("characteristic");
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
 
-        if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
-            call.reject("deviceId, service, and characteristic are required");
-            return;
-        }
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
+                call.reject("deviceId, service, and characteristic are required");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        BluetoothGattCharacteristic characteristic = findCharacteristic(gatt, serviceUuid, characteristicUuid);
-        if (characteristic == null) {
-            call.reject("Characteristic not found");
-            return;
-        }
+            BluetoothGattCharacteristic characteristic = findCharacteristic(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId")
+            );
+            if (characteristic == null) {
+                if (deferUntilDiscovered(deviceId, () -> stopCharacteristicNotifications(call))) {
+                    return;
+                }
+                call.reject("Characteristic not found");
+                return;
+            }
 
-        try {
-            gatt.setCharacteristicNotification(characteristic, false);
+            NotificationSubscription subscription = notificationSubscriptions.remove(notificationKey(deviceId, characteristic));
+            if (subscription != null) {
+                flushNotificationBatch(subscription);
+            }
 
-            BluetoothGattDescriptor descriptor = characteristic.getDescriptor(CLIENT_CHARACTERISTIC_CONFIG);
-            if (descriptor != null) {
-                descriptor.setValue(BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE);
-                pendingNotifyCall = call;
-                gatt.writeDescriptor(descriptor);
-            } else {
-                call.resolve();
+            try {
+                gatt.setCharacteristicNotification(characteristic, false);
+
+                BluetoothGattDescriptor descriptor = characteristic.getDescriptor(CLIENT_CHARACTERISTIC_CONFIG);
+                if (descriptor != null) {
+                    enqueueOperation(
+                        deviceId,
+                        new GattOperationQueue.Operation(
+                            GattOperationQueue.Type.WRITE_DESCRIPTOR,
+                            call,
+                            descriptor,
+                            () -> {
+                                descriptor.setValue(BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE);
+                                return gatt.writeDescriptor(descriptor);
+                            },
+                            "Failed to disable notifications"
+                        )
+                    );
+                } else {
+                    call.resolve();
+                }
+            } catch (SecurityException e) {
+                call.reject("Permission denied: " + e.getMessage());
             }
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
-        }
+        });
     }
 
     @PluginMethod
-    public void readDescriptor(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        String serviceUuid = call.getString("service");
-        String characteristicUuid = call.getString("characteristic");
-        String descriptorUuid = call.getString("descriptor");
+    public void startPolling(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
+            Long interval = call.getLong("interval");
+
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null || interval == null) {
+                call.reject("deviceId, service, characteristic, and interval are required");
+                return;
+            }
+            if (interval <= 0) {
+                call.reject("interval must be positive");
+                return;
+            }
 
-        if (deviceId == null || serviceUuid == null || characteristicUuid == null || descriptorUuid == null) {
-            call.reject("deviceId, service, characteristic, and descriptor are required");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGattCharacteristic characteristic = findCharacteristic(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId")
+            );
+            if (characteristic == null) {
+                if (deferUntilDiscovered(deviceId, () -> startPolling(call))) {
+                    return;
+                }
+                call.reject("Characteristic not found");
+                return;
+            }
 
-        BluetoothGattDescriptor descriptor = findDescriptor(gatt, serviceUuid, characteristicUuid, descriptorUuid);
-        if (descriptor == null) {
-            call.reject("Descriptor not found");
-            return;
-        }
+            CharacteristicPoller poller = new CharacteristicPoller(
+                deviceId,
+                characteristic.getService().getUuid().toString(),
+                characteristic.getUuid().toString(),
+                gatt,
+                characteristic,
+                interval,
+                call.getBoolean("changesOnly", false),
+                call.getString("encoding", "array"),
+                Math.max(call.getLong("timeout", operationTimeout), 0)
+            );
+            poller.tickTask = () -> pollCharacteristic(poller);
+            poller.failureTask = () -> retryPoll(poller);
+            CharacteristicPoller previous = pollers.put(notificationKey(deviceId, characteristic), poller);
+            if (previous != null) {
+                bleHandler.removeCallbacks(previous.tickTask);
+            }
+            bleHandler.post(poller.tickTask);
+            call.resolve();
+        });
+    }
 
-        pendingReadDescriptorCall = call;
-        try {
-            gatt.readDescriptor(descriptor);
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
-        }
+    @PluginMethod
+    public void stopPolling(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
+
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
+                call.reject("deviceId, service, and characteristic are required");
+                return;
+            }
+
+            // Pollers stop with their device, so nothing polls a characteristic that cannot be found.
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            BluetoothGattCharacteristic characteristic = gatt != null
+                ? findCharacteristic(gatt, serviceUuid, characteristicUuid, call.getInt("instanceId"))
+                : null;
+            CharacteristicPoller poller = characteristic != null ? pollers.remove(notificationKey(deviceId, characteristic)) : null;
+            if (poller != null) {
+                bleHandler.removeCallbacks(poller.tickTask);
+            }
+            call.resolve();
+        });
+    }
+
+    @PluginMethod
+    public void drainNotifications(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
+
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null) {
+                call.reject("deviceId, service, and characteristic are required");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            BluetoothGattCharacteristic characteristic = gatt != null
+                ? findCharacteristic(gatt, serviceUuid, characteristicUuid, call.getInt("instanceId"))
+                : null;
+            NotificationSubscription subscription = characteristic != null
+                ? notificationSubscriptions.get(notificationKey(deviceId, characteristic))
+                : null;
+            if (subscription == null || !subscription.isBuffered()) {
+                call.reject("Notifications are not buffered for this characteristic");
+                return;
+            }
+
+            NotificationBuffer.Drained drained = subscription.buffer.drain(Math.max(call.getInt("maxBytes", Integer.MAX_VALUE), 1));
+            JSArray values = new JSArray();
+            JSArray timestamps = new JSArray();
+            for (int i = 0; i < drained.values.size(); i++) {
+                values.put(encodeValue(drained.values.get(i), subscription.encoding));
+                timestamps.put(drained.timestamps[i]);
+            }
+
+            JSObject ret = new JSObject();
+            ret.put("values", values);
+            ret.put("timestamps", timestamps);
+            ret.put("dropped", drained.dropped);
+            ret.put("remaining", drained.remaining);
+            call.resolve(ret);
+        });
+    }
+
+    @PluginMethod
+    public void readDescriptor(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
+            String descriptorUuid = call.getString("descriptor");
+
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null || descriptorUuid == null) {
+                call.reject("deviceId, service, characteristic, and descriptor are required");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            BluetoothGattDescriptor descriptor = findDescriptor(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId"),
+                descriptorUuid
+            );
+            if (descriptor == null) {
+                if (deferUntilDiscovered(deviceId, () -> readDescriptor(call))) {
+                    return;
+                }
+                call.reject("Descriptor not found");
+                return;
+            }
+
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.READ_DESCRIPTOR,
+                    call,
+                    descriptor,
+                    () -> gatt.readDescriptor(descriptor),
+                    "Read failed"
+                )
+            );
+        });
     }
 
     @PluginMethod
     public void writeDescriptor(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        String serviceUuid = call.getString("service");
-        String characteristicUuid = call.getString("characteristic");
-        String descriptorUuid = call.getString("descriptor");
-        JSArray valueArray = call.getArray("value");
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String serviceUuid = call.getString("service");
+            String characteristicUuid = call.getString("characteristic");
+            String descriptorUuid = call.getString("descriptor");
+            Object rawValue = call.getData().opt("value");
+
+            if (deviceId == null || serviceUuid == null || characteristicUuid == null || descriptorUuid == null || rawValue == null) {
+                call.reject("deviceId, service, characteristic, descriptor, and value are required");
+                return;
+            }
 
-        if (deviceId == null || serviceUuid == null || characteristicUuid == null || descriptorUuid == null || valueArray == null) {
-            call.reject("deviceId, service, characteristic, descriptor, and value are required");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGattDescriptor descriptor = findDescriptor(
+                gatt,
+                serviceUuid,
+                characteristicUuid,
+                call.getInt("instanceId"),
+                descriptorUuid
+            );
+            if (descriptor == null) {
+                if (deferUntilDiscovered(deviceId, () -> writeDescriptor(call))) {
+                    return;
+                }
+                call.reject("Descriptor not found");
+                return;
+            }
 
-        BluetoothGattDescriptor descriptor = findDescriptor(gatt, serviceUuid, characteristicUuid, descriptorUuid);
-        if (descriptor == null) {
-            call.reject("Descriptor not found");
-            return;
-        }
+            byte[] value;
+            try {
+                value = decodeValue(rawValue, call.getString("encoding", "array"));
+            } catch (Exception e) {
+                call.reject("Failed to write: " + e.getMessage());
+                return;
+            }
 
-        try {
-            byte[] value = jsArrayToBytes(valueArray);
-            descriptor.setValue(value);
-            pendingWriteDescriptorCall = call;
-            gatt.writeDescriptor(descriptor);
-        } catch (Exception e) {
-            call.reject("Failed to write: " + e.getMessage());
-        }
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.WRITE_DESCRIPTOR,
+                    call,
+                    descriptor,
+                    () -> {
+                        descriptor.setValue(value);
+                        return gatt.writeDescriptor(descriptor);
+                    },
+                    "Write failed"
+                )
+            );
+        });
     }
 
     @PluginMethod
     public void readRssi(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        if (deviceId == null) {
-            call.reject("deviceId is required");
-            return;
-        }
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        pendingRssiCall = call;
-        try {
-            gatt.readRemoteRssi();
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
-        }
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.READ_RSSI,
+                    call,
+                    null,
+                    gatt::readRemoteRssi,
+                    "Failed to read RSSI"
+                )
+            );
+        });
     }
 
     @PluginMethod
     public void requestMtu(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        Integer mtu = call.getInt("mtu");
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            Integer mtu = call.getInt("mtu");
 
-        if (deviceId == null || mtu == null) {
-            call.reject("deviceId and mtu are required");
-            return;
-        }
+            if (deviceId == null || mtu == null) {
+                call.reject("deviceId and mtu are required");
+                return;
+            }
 
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
-            return;
-        }
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
 
-        pendingMtuCall = call;
-        try {
-            gatt.requestMtu(mtu);
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
-        }
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.REQUEST_MTU,
+                    call,
+                    null,
+                    () -> gatt.requestMtu(mtu),
+                    "Failed to change MTU"
+                )
+            );
+        });
+    }
+
+    @PluginMethod
+    public void cancelOperations(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            String service = call.getString("service");
+            String characteristic = call.getString("characteristic");
+            String serviceKey = service != null ? normalizeUuid(service) : null;
+            String characteristicKey = characteristic != null ? normalizeUuid(characteristic) : null;
+            GattOperationQueue queue = operationQueues.get(deviceId);
+            int cancelled = 0;
+            if (queue != null) {
+                // Operations the plugin issues on its own, such as poll reads, have no call.
+                cancelled = queue.cancel(
+                    (operation) ->
+                        operation.call != null &&
+                        matchesUuid(operation.call.getString("service"), serviceKey) &&
+                        matchesUuid(operation.call.getString("characteristic"), characteristicKey)
+                );
+            }
+
+            JSObject ret = new JSObject();
+            ret.put("cancelled", cancelled);
+            call.resolve(ret);
+        });
+    }
+
+    private static boolean matchesUuid(String uuid, String expected) {
+        return expected == null || (uuid != null && normalizeUuid(uuid).equals(expected));
     }
 
     @PluginMethod
     public void requestConnectionPriority(PluginCall call) {
-        String deviceId = call.getString("deviceId");
-        String priority = call.getString("priority", "balanced");
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            String priority = call.getString("priority", "balanced");
 
-        if (deviceId == null) {
-            call.reject("deviceId is required");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            int priorityValue;
+            switch (priority) {
+                case "high":
+                    priorityValue = BluetoothGatt.CONNECTION_PRIORITY_HIGH;
+                    break;
+                case "low":
+                    priorityValue = BluetoothGatt.CONNECTION_PRIORITY_LOW_POWER;
+                    break;
+                default:
+                    priorityValue = BluetoothGatt.CONNECTION_PRIORITY_BALANCED;
+                    break;
+            }
+
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+                // No onConnectionUpdated to wait for.
+                try {
+                    gatt.requestConnectionPriority(priorityValue);
+                    call.resolve();
+                } catch (SecurityException e) {
+                    call.reject("Permission denied: " + e.getMessage());
+                }
+                return;
+            }
+
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.REQUEST_CONNECTION_PRIORITY,
+                    call,
+                    null,
+                    () -> gatt.requestConnectionPriority(priorityValue),
+                    "Connection priority request failed"
+                ) {
+                    @Override
+                    boolean expire() {
+                        // Some devices never report the update, the new priority is then assumed.
+                        call.resolve();
+                        return true;
+                    }
+                },
+                connectionUpdateTimeout(call.getLong("timeout", CONNECTION_UPDATE_TIMEOUT))
+            );
+        });
+    }
+
+    /**
+     * Bounds the wait for onConnectionUpdated. The callback is hidden API that many stacks never
+     * deliver, so the wait always has a deadline, at most CONNECTION_UPDATE_TIMEOUT.
+     */
+    private static long connectionUpdateTimeout(long timeout) {
+        return timeout > 0 ? Math.min(timeout, CONNECTION_UPDATE_TIMEOUT) : CONNECTION_UPDATE_TIMEOUT;
+    }
+
+    @PluginMethod
+    public void optimizeLink(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            LinkOptimization.Profile profile;
+            try {
+                profile = LinkOptimization.parseProfile(call.getString("profile", "throughput"));
+            } catch (IllegalArgumentException e) {
+                call.reject(e.getMessage());
+                return;
+            }
+
+            Integer currentMtu = deviceMtus.get(deviceId);
+            LinkOptimization optimization = new LinkOptimization(
+                deviceId,
+                gatt,
+                call,
+                profile,
+                currentMtu != null ? currentMtu : DEFAULT_MTU
+            );
+
+            JSObject probe = call.getObject("probe");
+            if (probe != null) {
+                optimization.probeService = probe.getString("service");
+                optimization.probeCharacteristic = probe.getString("characteristic");
+                optimization.probeBytes = probe.getInteger("bytes", LinkOptimization.DEFAULT_PROBE_BYTES);
+                if (optimization.probeService == null || optimization.probeCharacteristic == null) {
+                    call.reject("probe service and characteristic are required");
+                    return;
+                }
+                if (optimization.probeBytes <= 0) {
+                    call.reject("probe bytes must be greater than 0");
+                    return;
+                }
+            }
+
+            optimization.stepDoneTask = () -> {
+                if (optimization.completeStep()) {
+                    finishLinkOptimization(optimization);
+                }
+            };
+            optimization.probeDoneTask = () -> finishLinkOptimization(optimization);
+
+            // A short interval first makes the following exchanges faster. From Android 8.0 the
+            // update is reported, so the next steps wait until the new interval is in use.
+            LinkOptimization.Step priorityStep = null;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                priorityStep = optimization.addStep(
+                    GattOperationQueue.Type.REQUEST_CONNECTION_PRIORITY,
+                    () -> gatt.requestConnectionPriority(profile.priority)
+                );
+            }
+            LinkOptimization.Step mtuStep = optimization.addStep(GattOperationQueue.Type.REQUEST_MTU, () -> {
+                if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+                    gatt.requestConnectionPriority(profile.priority);
+                }
+                optimization.onMtuRequested();
+                return gatt.requestMtu(LinkOptimization.MAX_MTU);
+            });
+            LinkOptimization.Step phyStep = null;
+            if (profile.prefer2M && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && bluetoothAdapter.isLe2MPhySupported()) {
+                phyStep = optimization.addStep(GattOperationQueue.Type.SET_PREFERRED_PHY, () -> {
+                    requestPhy(
+                        deviceId,
+                        gatt,
+                        BluetoothDevice.PHY_LE_2M_MASK,
+                        BluetoothDevice.PHY_LE_2M_MASK,
+                        BluetoothDevice.PHY_OPTION_NO_PREFERRED
+                    );
+                    return true;
+                });
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                // Still report the PHY in use.
+                phyStep = optimization.addStep(GattOperationQueue.Type.READ_PHY, () -> {
+                    gatt.readPhy();
+                    return true;
+                });
+            }
+            if (deviceServices.get(deviceId) == null && !discoveryWaiters.containsKey(deviceId)) {
+                // Parameter updates right after connecting collide with discovery on some peripherals.
+                enqueueOperation(deviceId, discoveryOperation(deviceId, gatt, null));
+            }
+            if (priorityStep != null) {
+                // Some devices never report the update, the step then ends at this deadline.
+                enqueueOperation(deviceId, priorityStep, connectionUpdateTimeout(call.getLong("timeout", operationTimeout)));
+            }
+            enqueueOperation(deviceId, mtuStep);
+            if (phyStep != null) {
+                enqueueOperation(deviceId, phyStep);
+            }
+        });
+    }
+
+    private void finishLinkOptimization(LinkOptimization optimization) {
+        if (connectedGatts.get(optimization.deviceId) != optimization.gatt) {
+            optimization.call.reject("Device not connected");
             return;
         }
-
-        BluetoothGatt gatt = connectedGatts.get(deviceId);
-        if (gatt == null) {
-            call.reject("Device not connected");
+        if (optimization.probeCharacteristic != null && !optimization.probed) {
+            BluetoothGattCharacteristic characteristic = findCharacteristic(
+                optimization.gatt,
+                optimization.probeService,
+                optimization.probeCharacteristic,
+                null
+            );
+            if (characteristic == null) {
+                if (deferUntilDiscovered(optimization.deviceId, () -> finishLinkOptimization(optimization))) {
+                    return;
+                }
+                optimization.call.reject("Probe characteristic not found");
+                return;
+            }
+            // The probe runs on the tuned link, with chunks filling the negotiated MTU.
+            optimization.probed = true;
+            int chunkSize = Math.min(optimization.mtu - 3, MAX_ATTRIBUTE_LENGTH);
+            LinkOptimization.Probe probe = new LinkOptimization.Probe(optimization, characteristic, chunkSize, bleHandler);
+            probe.retryTask = () -> pumpChunkedWrite(probe);
+            enqueueOperation(optimization.deviceId, probe);
             return;
         }
+        JSObject ret = new JSObject();
+        ret.put("mtu", optimization.mtu);
+        ret.put("txPhy", phyToString(optimization.txPhy));
+        ret.put("rxPhy", phyToString(optimization.rxPhy));
+        ret.put("roundTripTime", optimization.roundTripTime);
+        if (optimization.throughput >= 0) {
+            ret.put("throughput", optimization.throughput);
+        }
+        JSObject parameters = connectionParameters.get(optimization.deviceId);
+        if (parameters != null) {
+            ret.put("connectionParameters", parameters);
+        }
+        optimization.call.resolve(ret);
+    }
 
-        int priorityValue;
-        switch (priority) {
-            case "high":
-                priorityValue = BluetoothGatt.CONNECTION_PRIORITY_HIGH;
-                break;
-            case "low":
-                priorityValue = BluetoothGatt.CONNECTION_PRIORITY_LOW_POWER;
-                break;
+    @PluginMethod
+    public void getConnectionParameters(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            if (!connectedGatts.containsKey(deviceId)) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            JSObject parameters = connectionParameters.get(deviceId);
+            if (parameters == null) {
+                call.reject("Connection parameters not reported yet");
+                return;
+            }
+            call.resolve(parameters);
+        });
+    }
+
+    @PluginMethod
+    public void setPreferredPhy(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            JSArray txPhy = call.getArray("txPhy");
+            if (deviceId == null || txPhy == null) {
+                call.reject("deviceId and txPhy are required");
+                return;
+            }
+
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+                call.reject("PHY selection requires Android 8.0 or later");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            int txMask;
+            int rxMask;
+            int phyOptions;
+            try {
+                txMask = phyMask(txPhy);
+                rxMask = phyMask(call.getArray("rxPhy", txPhy));
+                phyOptions = parsePhyOptions(call.getString("phyOptions", "noPreferred"));
+            } catch (JSONException | IllegalArgumentException e) {
+                call.reject(e.getMessage());
+                return;
+            }
+
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.SET_PREFERRED_PHY,
+                    call,
+                    null,
+                    () -> {
+                        requestPhy(deviceId, gatt, txMask, rxMask, phyOptions);
+                        return true;
+                    },
+                    "PHY update failed"
+                )
+            );
+        });
+    }
+
+    /**
+     * Issues a setPreferredPhy, remembering when so handlePhyUpdate can tell its answer from
+     * updates the peripheral initiated before it.
+     */
+    @RequiresApi(Build.VERSION_CODES.O)
+    private void requestPhy(String deviceId, BluetoothGatt gatt, int txMask, int rxMask, int phyOptions) throws SecurityException {
+        phyRequestedAt.put(deviceId, SystemClock.elapsedRealtimeNanos());
+        gatt.setPreferredPhy(txMask, rxMask, phyOptions);
+    }
+
+    @PluginMethod
+    public void readPhy(PluginCall call) {
+        runOnBleThread(() -> {
+            String deviceId = call.getString("deviceId");
+            if (deviceId == null) {
+                call.reject("deviceId is required");
+                return;
+            }
+
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+                call.reject("PHY selection requires Android 8.0 or later");
+                return;
+            }
+
+            BluetoothGatt gatt = connectedGatts.get(deviceId);
+            if (gatt == null) {
+                call.reject("Device not connected");
+                return;
+            }
+
+            enqueueOperation(
+                deviceId,
+                new GattOperationQueue.Operation(
+                    GattOperationQueue.Type.READ_PHY,
+                    call,
+                    null,
+                    () -> {
+                        gatt.readPhy();
+                        return true;
+                    },
+                    "PHY read failed"
+                )
+            );
+        });
+    }
+
+    private int phyMask(JSArray phys) throws JSONException {
+        int mask = 0;
+        for (int i = 0; i < phys.length(); i++) {
+            String phy = phys.getString(i);
+            switch (phy) {
+                case "1m":
+                    mask |= BluetoothDevice.PHY_LE_1M_MASK;
+                    break;
+                case "2m":
+                    if (!bluetoothAdapter.isLe2MPhySupported()) {
+                        throw new IllegalArgumentException("LE 2M PHY is not supported on this device");
+                    }
+                    mask |= BluetoothDevice.PHY_LE_2M_MASK;
+                    break;
+                case "coded":
+                    if (!bluetoothAdapter.isLeCodedPhySupported()) {
+                        throw new IllegalArgumentException("LE Coded PHY is not supported on this device");
+                    }
+                    mask |= BluetoothDevice.PHY_LE_CODED_MASK;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid phy: " + phy);
+            }
+        }
+        if (mask == 0) {
+            throw new IllegalArgumentException("At least one phy is required");
+        }
+        return mask;
+    }
+
+    private static int parsePhyOptions(String phyOptions) {
+        switch (phyOptions) {
+            case "noPreferred":
+                return BluetoothDevice.PHY_OPTION_NO_PREFERRED;
+            case "s2":
+                return BluetoothDevice.PHY_OPTION_S2;
+            case "s8":
+                return BluetoothDevice.PHY_OPTION_S8;
             default:
-                priorityValue = BluetoothGatt.CONNECTION_PRIORITY_BALANCED;
-                break;
+                throw new IllegalArgumentException("Invalid phyOptions: " + phyOptions);
         }
+    }
 
-        try {
-            gatt.requestConnectionPriority(priorityValue);
-            call.resolve();
-        } catch (SecurityException e) {
-            call.reject("Permission denied: " + e.getMessage());
+    private static String phyToString(int phy) {
+        switch (phy) {
+            case BluetoothDevice.PHY_LE_2M:
+                return "2m";
+            case BluetoothDevice.PHY_LE_CODED:
+                return "coded";
+            default:
+                return "1m";
         }
     }
 
@@ -1015,6 +2463,9 @@ public class BluetoothLowEnergyPlugin extends Plugin {
                 UUID.fromString(normalizedServiceUuid),
                 BluetoothGattService.SERVICE_TYPE_PRIMARY
             );
+            // Registered once the whole service is built, so a rejected definition leaves nothing
+            // behind in the lookup maps.
+            Map<BluetoothGattCharacteristic, LocalCharacteristic> locals = new LinkedHashMap<>();
 
             for (int i = 0; i < characteristicsArray.length(); i++) {
                 JSObject characteristicObj = JSObject.fromJSONObject(characteristicsArray.getJSONObject(i));
@@ -1038,9 +2489,9 @@ public class BluetoothLowEnergyPlugin extends Plugin {
                     permissions
                 );
 
-                JSArray valueArray = characteristicObj.has("value") ? JSArray.from(characteristicObj.getJSONArray("value")) : null;
-                if (valueArray != null) {
-                    characteristic.setValue(jsArrayToBytes(valueArray));
+                String encoding = characteristicObj.getString("encoding", "array");
+                if (characteristicObj.has("value")) {
+                    characteristic.setValue(decodeValue(characteristicObj.get("value"), encoding));
                 }
 
                 if (propertiesObj != null && (propertiesObj.getBoolean("notify", false) || propertiesObj.getBoolean("indicate", false))) {
@@ -1066,20 +2517,35 @@ public class BluetoothLowEnergyPlugin extends Plugin {
                             UUID.fromString(normalizeUuid(descriptorUuid)),
                             BluetoothGattDescriptor.PERMISSION_READ | BluetoothGattDescriptor.PERMISSION_WRITE
                         );
-                        JSArray descriptorValue = descriptorObj.has("value") ? JSArray.from(descriptorObj.getJSONArray("value")) : null;
-                        if (descriptorValue != null) {
-                            descriptor.setValue(jsArrayToBytes(descriptorValue));
+                        if (descriptorObj.has("value")) {
+                            descriptor.setValue(decodeValue(descriptorObj.get("value"), descriptorObj.getString("encoding", "array")));
                         }
                         characteristic.addDescriptor(descriptor);
                     }
                 }
 
                 service.addCharacteristic(characteristic);
-                localGattCharacteristics.put(normalizedServiceUuid + "/" + normalizeUuid(characteristicUuid), characteristic);
+                locals.put(
+                    characteristic,
+                    new LocalCharacteristic(
+                        normalizedServiceUuid,
+                        normalizeUuid(characteristicUuid),
+                        encoding,
+                        characteristicObj.getBoolean("dynamicValue", false),
+                        Math.max(characteristicObj.optLong("readTimeout", LocalCharacteristic.DEFAULT_READ_TIMEOUT), 0),
+                        Math.max(characteristicObj.optLong("cacheTtl", 0), 0)
+                    )
+                );
             }
 
+            for (Map.Entry<BluetoothGattCharacteristic, LocalCharacteristic> entry : locals.entrySet()) {
+                LocalCharacteristic local = entry.getValue();
+                localGattCharacteristics.put(LocalCharacteristic.key(local.serviceUuid, local.characteristicUuid), entry.getKey());
+                localCharacteristicIndex.put(entry.getKey(), local);
+            }
             boolean added = gattServer.addService(service);
             if (!added) {
+                forgetLocalCharacteristics(normalizedServiceUuid, service);
                 call.reject("Failed to add GATT service");
                 return;
             }
@@ -1111,7 +2577,7 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             return;
         }
 
-        localGattCharacteristics.entrySet().removeIf(entry -> entry.getKey().startsWith(normalizedServiceUuid + "/"));
+        forgetLocalCharacteristics(normalizedServiceUuid, service);
         gattServer.removeService(service);
         call.resolve();
     }
@@ -1120,37 +2586,76 @@ public class BluetoothLowEnergyPlugin extends Plugin {
     public void setGattCharacteristicValue(PluginCall call) {
         String serviceUuid = call.getString("service");
         String characteristicUuid = call.getString("characteristic");
-        JSArray valueArray = call.getArray("value");
+        Object rawValue = call.getData().opt("value");
 
-        if (serviceUuid == null || characteristicUuid == null || valueArray == null) {
+        if (serviceUuid == null || characteristicUuid == null || rawValue == null) {
             call.reject("Service, characteristic, and value are required");
             return;
         }
 
-        BluetoothGattCharacteristic characteristic = localGattCharacteristics.get(
-            normalizeUuid(serviceUuid) + "/" + normalizeUuid(characteristicUuid)
-        );
+        BluetoothGattCharacteristic characteristic = localGattCharacteristics.get(LocalCharacteristic.key(serviceUuid, characteristicUuid));
         if (characteristic == null) {
             call.reject("Characteristic not found");
             return;
         }
 
         try {
-            characteristic.setValue(jsArrayToBytes(valueArray));
+            LocalCharacteristic.setValue(characteristic, decodeValue(rawValue, call.getString("encoding", "array")));
             call.resolve();
         } catch (Exception e) {
             call.reject("Failed to set characteristic value: " + e.getMessage());
         }
     }
 
+    @PluginMethod
+    public void respondToReadRequest(PluginCall call) {
+        String deviceId = call.getString("deviceId");
+        Integer requestId = call.getInt("requestId");
+        Object rawValue = call.getData().opt("value");
+
+        if (deviceId == null || requestId == null || rawValue == null) {
+            call.reject("deviceId, requestId, and value are required");
+            return;
+        }
+
+        // Decoded first, so an invalid value leaves the request pending for another answer.
+        byte[] value;
+        try {
+            value = decodeValue(rawValue, call.getString("encoding", "array"));
+        } catch (Exception e) {
+            call.reject("Failed to respond to read request: " + e.getMessage());
+            return;
+        }
+
+        LocalCharacteristic.PendingRead read = pendingReads.remove(LocalCharacteristic.pendingReadKey(deviceId, requestId));
+        if (read == null) {
+            call.reject("Read request not found or already answered");
+            return;
+        }
+        bleHandler.removeCallbacks(read.timeoutTask);
+
+        try {
+            LocalCharacteristic.setValue(read.characteristic, value);
+            LocalCharacteristic local = localCharacteristicIndex.get(read.characteristic);
+            if (local != null) {
+                local.onAnswered(SystemClock.elapsedRealtime());
+            }
+            sendReadResponse(read.device, read.requestId, read.offset, value);
+            call.resolve();
+        } catch (Exception e) {
+            sendReadResponse(read.device, read.requestId, read.offset, LocalCharacteristic.getValue(read.characteristic));
+            call.reject("Failed to respond to read request: " + e.getMessage());
+        }
+    }
+
     @PluginMethod
     public void notifyGattCharacteristicChanged(PluginCall call) {
         String serviceUuid = call.getString("service");
         String characteristicUuid = call.getString("characteristic");
         String deviceId = call.getString("deviceId");
-        JSArray valueArray = call.getArray("value");
+        Object rawValue = call.getData().opt("value");
 
-        if (serviceUuid == null || characteristicUuid == null || valueArray == null) {
+        if (serviceUuid == null || characteristicUuid == null || rawValue == null) {
             call.reject("Service, characteristic, and value are required");
             return;
         }
@@ -1160,35 +2665,71 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             return;
         }
 
-        BluetoothGattCharacteristic characteristic = localGattCharacteristics.get(
-            normalizeUuid(serviceUuid) + "/" + normalizeUuid(characteristicUuid)
-        );
+        BluetoothGattCharacteristic characteristic = localGattCharacteristics.get(LocalCharacteristic.key(serviceUuid, characteristicUuid));
         if (characteristic == null) {
             call.reject("Characteristic not found");
             return;
         }
 
         try {
-            characteristic.setValue(jsArrayToBytes(valueArray));
-            boolean indicate = (characteristic.getProperties() & BluetoothGattCharacteristic.PROPERTY_INDICATE) != 0;
+            byte[] value = decodeValue(rawValue, call.getString("encoding", "array"));
+            LocalCharacteristic.setValue(characteristic, value);
+            LocalCharacteristic local = localCharacteristicIndex.get(characteristic);
+            // Each subscriber gets the mode it enabled, notification or indication.
+            Map<BluetoothDevice, Boolean> subscribers = new HashMap<>();
             if (deviceId != null) {
                 BluetoothDevice device = connectedCentrals.get(deviceId);
                 if (device == null) {
                     call.reject("Central not connected");
                     return;
                 }
-                gattServer.notifyCharacteristicChanged(device, characteristic, indicate);
-            } else {
-                for (BluetoothDevice device : connectedCentrals.values()) {
-                    gattServer.notifyCharacteristicChanged(device, characteristic, indicate);
+                Boolean indicate = local != null ? local.subscribers.get(deviceId) : null;
+                if (indicate == null) {
+                    call.reject("Central is not subscribed to this characteristic");
+                    return;
+                }
+                subscribers.put(device, indicate);
+            } else if (local != null) {
+                for (Map.Entry<String, Boolean> entry : local.subscribers.entrySet()) {
+                    BluetoothDevice device = connectedCentrals.get(entry.getKey());
+                    if (device != null) {
+                        subscribers.put(device, entry.getValue());
+                    }
                 }
             }
-            call.resolve();
+            runOnBleThread(() -> {
+                for (Map.Entry<BluetoothDevice, Boolean> entry : subscribers.entrySet()) {
+                    queueNotification(entry.getKey(), characteristic, value, entry.getValue());
+                }
+                call.resolve();
+            });
         } catch (Exception e) {
             call.reject("Failed to notify characteristic change: " + e.getMessage());
         }
     }
 
+    @PluginMethod
+    public void getNotificationStats(PluginCall call) {
+        runOnBleThread(() -> {
+            JSArray centrals = new JSArray();
+            for (Map.Entry<String, NotificationOutbox> entry : notificationOutboxes.entrySet()) {
+                NotificationOutbox outbox = entry.getValue();
+                JSObject stats = new JSObject();
+                stats.put("deviceId", entry.getKey());
+                stats.put("sent", outbox.sent);
+                stats.put("coalesced", outbox.coalesced);
+                stats.put("dropped", outbox.dropped);
+                stats.put("queued", outbox.size());
+                stats.put("averageLatency", outbox.averageLatency());
+                stats.put("maxLatency", outbox.maxLatency);
+                centrals.put(stats);
+            }
+            JSObject ret = new JSObject();
+            ret.put("centrals", centrals);
+            call.resolve(ret);
+        });
+    }
+
     @PluginMethod
     public void startForegroundService(PluginCall call) {
         // Foreground service implementation would go here
@@ -1210,143 +2751,749 @@ public class BluetoothLowEnergyPlugin extends Plugin {
 
     // MARK: - GATT Callback
 
+    private void handleConnectionStateChange(BluetoothGatt gatt, int status, int newState) {
+        String deviceId = gatt.getDevice().getAddress();
+        ReconnectState reconnect = reconnectStates.get(deviceId);
+        if (reconnect != null && reconnect.gatt != gatt) {
+            reconnect = null;
+        }
+
+        if (newState == BluetoothProfile.STATE_CONNECTED) {
+            if (reconnect != null && reconnect.reconnecting) {
+                finishReconnect(reconnect);
+                revalidateLayout(deviceId, gatt);
+                return;
+            }
+            ConnectScheduler.Request request = connectScheduler.complete(deviceId);
+            if (request != null) {
+                bleHandler.removeCallbacks(request.timeoutTask);
+                request.listener.onResult(null, null);
+            }
+            revalidateLayout(deviceId, gatt);
+
+            JSObject event = new JSObject();
+            event.put("deviceId", deviceId);
+            notifyListeners("deviceConnected", event);
+        } else if (newState == BluetoothProfile.STATE_DISCONNECTED) {
+            if (reconnect != null && reconnect.reconnecting) {
+                // Only a pending attempt can fail; the disconnect issued by an attempt timeout
+                // already scheduled the next one.
+                if (reconnect.connecting) {
+                    reconnect.connecting = false;
+                    bleHandler.removeCallbacks(reconnect.timeoutTask);
+                    scheduleReconnect(reconnect);
+                }
+                return;
+            }
+            ConnectScheduler.Request request = connectScheduler.connecting(deviceId);
+            if (request != null && request.gatt == gatt) {
+                failConnectAttempt(request, status, "Connection failed: " + GattStatus.reason(status), null);
+                return;
+            }
+            // Ignore late callbacks from a GATT that was already replaced by a new connection.
+            if (!connectedGatts.remove(deviceId, gatt)) {
+                return;
+            }
+            deviceServices.remove(deviceId);
+            closeOperationQueue(deviceId);
+            // A GATT kept for reconnection is reused by gatt.connect(); any other one is closed
+            // so remote disconnects do not leak client interfaces.
+            if (reconnect == null) {
+                try {
+                    gatt.close();
+                } catch (SecurityException e) {
+                    // Ignore
+                }
+            }
+
+            notifyDeviceDisconnected(deviceId, status);
+
+            // Attempts that never connected are handled above, so the device was connected.
+            if (reconnect != null) {
+                reconnect.reconnecting = true;
+                scheduleReconnect(reconnect);
+            }
+            dispatchConnects();
+        }
+    }
+
+    /**
+     * Schedules the next reconnection attempt, or gives up once the policy is exhausted.
+     */
+    private void scheduleReconnect(ReconnectState reconnect) {
+        if (!reconnect.canRetry()) {
+            reconnectStates.remove(reconnect.deviceId, reconnect);
+            try {
+                reconnect.gatt.close();
+            } catch (SecurityException e) {
+                // Ignore
+            }
+
+            JSObject event = new JSObject();
+            event.put("deviceId", reconnect.deviceId);
+            event.put("attempts", reconnect.attempt);
+            notifyListeners("reconnectFailed", event);
+            dispatchConnects();
+            return;
+        }
+        reconnect.attemptTask = () -> attemptReconnect(reconnect);
+        bleHandler.postDelayed(reconnect.attemptTask, reconnect.nextDelay());
+    }
+
+    private void attemptReconnect(ReconnectState reconnect) {
+        if (reconnectStates.get(reconnect.deviceId) != reconnect) {
+            return;
+        }
+        reconnect.attempt++;
+        reconnect.connecting = true;
+
+        JSObject event = new JSObject();
+        event.put("deviceId", reconnect.deviceId);
+        event.put("attempt", reconnect.attempt);
+        notifyListeners("reconnecting", event);
+
+        boolean started;
+        try {
+            started = reconnect.gatt.connect();
+        } catch (SecurityException e) {
+            started = false;
+        }
+        if (!started) {
+            reconnect.connecting = false;
+            scheduleReconnect(reconnect);
+            return;
+        }
+        if (reconnect.hasAttemptTimeout()) {
+            reconnect.timeoutTask = () -> {
+                if (!reconnect.connecting) {
+                    return;
+                }
+                reconnect.connecting = false;
+                try {
+                    // Cancels the pending background connection.
+                    reconnect.gatt.disconnect();
+                } catch (SecurityException e) {
+                    // Ignore
+                }
+                scheduleReconnect(reconnect);
+            };
+            bleHandler.postDelayed(reconnect.timeoutTask, reconnect.attemptTimeout);
+        }
+    }
+
+    private void finishReconnect(ReconnectState reconnect) {
+        bleHandler.removeCallbacks(reconnect.timeoutTask);
+        reconnect.connecting = false;
+        reconnect.reconnecting = false;
+        int attempts = reconnect.attempt;
+        reconnect.attempt = 0;
+        connectedGatts.put(reconnect.deviceId, reconnect.gatt);
+        operationQueues.put(reconnect.deviceId, newOperationQueue(reconnect.deviceId));
+
+        JSObject event = new JSObject();
+        event.put("deviceId", reconnect.deviceId);
+        notifyListeners("deviceConnected", event);
+
+        JSObject reconnected = new JSObject();
+        reconnected.put("deviceId", reconnect.deviceId);
+        reconnected.put("attempts", attempts);
+        notifyListeners("reconnected", reconnected);
+    }
+
+    /**
+     * Stops reconnecting a device. A GATT still waiting for its device is closed here, since it
+     * is no longer tracked in connectedGatts.
+     */
+    private void cancelReconnect(String deviceId) {
+        ReconnectState reconnect = reconnectStates.remove(deviceId);
+        if (reconnect == null) {
+            return;
+        }
+        bleHandler.removeCallbacks(reconnect.attemptTask);
+        bleHandler.removeCallbacks(reconnect.timeoutTask);
+        if (reconnect.reconnecting) {
+            try {
+                reconnect.gatt.disconnect();
+                reconnect.gatt.close();
+            } catch (SecurityException e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * GATT client callbacks arrive on binder threads and are handled on the BLE thread. Before
+     * API 33 the stack stores each value in the shared characteristic or descriptor right before
+     * calling back, so the value-carrying callbacks copy it on the binder thread, before the
+     * next notification or read can overwrite it. API 33 and later pass the value directly.
+     */
     private final BluetoothGattCallback gattCallback = new BluetoothGattCallback() {
         @Override
         public void onConnectionStateChange(BluetoothGatt gatt, int status, int newState) {
+            runOnBleThread(() -> handleConnectionStateChange(gatt, status, newState));
+        }
+
+        @Override
+        public void onServicesDiscovered(BluetoothGatt gatt, int status) {
+            runOnBleThread(() -> handleServicesDiscovered(gatt, status));
+        }
+
+        @Override
+        public void onCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
+            byte[] value = copyValue(characteristic.getValue());
+            runOnBleThread(() -> handleCharacteristicRead(gatt, characteristic, value, status));
+        }
+
+        @Override
+        public void onCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value, int status) {
+            runOnBleThread(() -> handleCharacteristicRead(gatt, characteristic, value, status));
+        }
+
+        @Override
+        public void onCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
+            // The value is the one written, echoed back for reliable writes.
+            byte[] value = copyValue(characteristic.getValue());
+            runOnBleThread(() -> handleCharacteristicWrite(gatt, characteristic, value, status));
+        }
+
+        @Override
+        public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic) {
+            byte[] value = copyValue(characteristic.getValue());
+            runOnBleThread(() -> handleCharacteristicChanged(gatt, characteristic, value));
+        }
+
+        @Override
+        public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value) {
+            runOnBleThread(() -> handleCharacteristicChanged(gatt, characteristic, value));
+        }
+
+        @Override
+        public void onDescriptorRead(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
+            byte[] value = copyValue(descriptor.getValue());
+            runOnBleThread(() -> handleDescriptorRead(gatt, descriptor, value, status));
+        }
+
+        @Override
+        public void onDescriptorRead(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status, byte[] value) {
+            runOnBleThread(() -> handleDescriptorRead(gatt, descriptor, value, status));
+        }
+
+        @Override
+        public void onDescriptorWrite(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
+            runOnBleThread(() -> handleDescriptorWrite(gatt, descriptor, status));
+        }
+
+        @Override
+        public void onReadRemoteRssi(BluetoothGatt gatt, int rssi, int status) {
+            runOnBleThread(() -> handleReadRemoteRssi(gatt, rssi, status));
+        }
+
+        @Override
+        public void onMtuChanged(BluetoothGatt gatt, int mtu, int status) {
+            runOnBleThread(() -> handleMtuChanged(gatt, mtu, status));
+        }
+
+        @Override
+        public void onPhyUpdate(BluetoothGatt gatt, int txPhy, int rxPhy, int status) {
+            long receivedAt = SystemClock.elapsedRealtimeNanos();
+            runOnBleThread(() -> handlePhyUpdate(gatt, txPhy, rxPhy, status, receivedAt));
+        }
+
+        @Override
+        public void onPhyRead(BluetoothGatt gatt, int txPhy, int rxPhy, int status) {
+            runOnBleThread(() -> handlePhyRead(gatt, txPhy, rxPhy, status));
+        }
+
+        /**
+         * Hidden BluetoothGattCallback method, called on Android 8.0 and later when the
+         * connection interval, latency or supervision timeout changed. It cannot be annotated
+         * with Override since it is not part of the public SDK.
+         */
+        public void onConnectionUpdated(BluetoothGatt gatt, int interval, int latency, int timeout, int status) {
+            runOnBleThread(() -> handleConnectionUpdated(gatt, interval, latency, timeout, status));
+        }
+
+        @Override
+        public void onServiceChanged(BluetoothGatt gatt) {
+            runOnBleThread(() -> handleServiceChanged(gatt));
+        }
+
+        @Override
+        public void onReliableWriteCompleted(BluetoothGatt gatt, int status) {
+            runOnBleThread(() -> handleReliableWriteCompleted(gatt, status));
+        }
+    };
+
+    private void handleServicesDiscovered(BluetoothGatt gatt, int status) {
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.DISCOVER_SERVICES, null);
+        // Late or unsolicited completions must not release the lookups waiting for a discovery
+        // queued since.
+        if (operation == null) {
+            return;
+        }
+        String deviceId = gatt.getDevice().getAddress();
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            List<BluetoothGattService> services = gatt.getServices();
+            BluetoothGattCharacteristic hashCharacteristic = gattLayoutCache != null
+                ? GattLayoutCache.findHashCharacteristic(services)
+                : null;
+            JSArray layout = hashCharacteristic != null ? gattLayoutCache.get(deviceId) : null;
+            // A persisted layout keeps being served until the hash read below contradicts it.
+            // Lookups only need the discovered services, so they do not wait for that read.
+            deviceServices.put(deviceId, new GattIndex(services, layout != null ? layout : servicesToJson(services), layout != null));
+            if (hashCharacteristic != null) {
+                enqueueOperation(
+                    deviceId,
+                    new GattLayoutCache.HashRead(gatt, hashCharacteristic, () ->
+                        handleLayoutHashRead(gatt, hashCharacteristic, null, BluetoothGatt.GATT_FAILURE)
+                    )
+                );
+            } else if (gattLayoutCache != null && gattLayoutCache.contains(deviceId)) {
+                // The device lost its hash, so the layout served since connecting is unconfirmed.
+                gattLayoutCache.remove(deviceId);
+                notifyServicesChanged(deviceId);
+            }
+        }
+        finishDiscovery(deviceId);
+        if (operation.call == null) {
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            operation.call.resolve();
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    /**
+     * Confirms or replaces the layout served since the discovery that queued the hash read. When
+     * a persisted layout was served and turns out to be stale or cannot be confirmed, the
+     * discovered one takes its place and servicesChanged tells JS to fetch it again.
+     */
+    private void handleLayoutHashRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value, int status) {
+        String deviceId = gatt.getDevice().getAddress();
+        GattIndex index = deviceServices.get(deviceId);
+        // A disconnect or Service Changed dropped the discovered services meanwhile.
+        if (index == null || gattLayoutCache == null) {
+            return;
+        }
+        String hash = status == BluetoothGatt.GATT_SUCCESS && value != null ? GattLayoutCache.hash(characteristic.getUuid(), value) : null;
+        if (hash != null && index.cached && gattLayoutCache.matches(deviceId, hash)) {
+            return;
+        }
+        if (hash == null && !index.cached) {
+            return;
+        }
+        List<BluetoothGattService> services = gatt.getServices();
+        JSArray layout = servicesToJson(services);
+        deviceServices.put(deviceId, new GattIndex(services, layout, false));
+        if (hash != null) {
+            gattLayoutCache.put(deviceId, hash, layout);
+        }
+        if (index.cached) {
+            notifyServicesChanged(deviceId);
+        }
+    }
+
+    private void handleCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value, int status) {
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.READ_CHARACTERISTIC, characteristic);
+        if (operation == null) {
+            return;
+        }
+        if (operation instanceof CharacteristicPoller.Read) {
+            handlePollRead(((CharacteristicPoller.Read) operation).poller, status, value);
+            return;
+        }
+        if (operation instanceof GattLayoutCache.HashRead) {
+            handleLayoutHashRead(gatt, characteristic, value, status);
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            JSObject ret = new JSObject();
+            ret.put("value", encodeValue(value, operation.call.getString("encoding", "array")));
+            operation.call.resolve(ret);
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handleCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value, int status) {
+        GattOperationQueue.Operation current = currentOperation(gatt, GattOperationQueue.Type.WRITE_CHARACTERISTIC, characteristic);
+        if (current instanceof ChunkedWrite) {
+            handleChunkWritten((ChunkedWrite) current, status, value);
+            return;
+        }
+
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.WRITE_CHARACTERISTIC, characteristic);
+        if (operation == null) {
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            operation.call.resolve();
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handleCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value) {
+        String deviceId = gatt.getDevice().getAddress();
+        String serviceUuid = characteristic.getService().getUuid().toString();
+        String characteristicUuid = characteristic.getUuid().toString();
+        NotificationSubscription subscription = notificationSubscriptions.get(notificationKey(deviceId, characteristic));
+
+        if (subscription != null && subscription.isBuffered()) {
+            subscription.buffer.write(value, System.currentTimeMillis());
+            return;
+        }
+
+        if (subscription != null && subscription.isBatched()) {
+            int buffered = subscription.add(value, System.currentTimeMillis());
+            if (buffered >= subscription.batchSize) {
+                bleHandler.removeCallbacks(subscription.flushTask);
+                flushNotificationBatch(subscription);
+            } else if (buffered == 1) {
+                bleHandler.postDelayed(subscription.flushTask, subscription.batchInterval);
+            }
+            return;
+        }
+
+        JSObject event = new JSObject();
+        event.put("deviceId", deviceId);
+        event.put("service", serviceUuid);
+        event.put("characteristic", characteristicUuid);
+        event.put("instanceId", characteristic.getInstanceId());
+        event.put("value", encodeValue(value, subscription != null ? subscription.encoding : null));
+        notifyListeners("characteristicChanged", event);
+    }
+
+    private void handleDescriptorRead(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, byte[] value, int status) {
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.READ_DESCRIPTOR, descriptor);
+        if (operation == null) {
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            JSObject ret = new JSObject();
+            ret.put("value", encodeValue(value, operation.call.getString("encoding", "array")));
+            operation.call.resolve(ret);
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handleDescriptorWrite(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.WRITE_DESCRIPTOR, descriptor);
+        if (operation == null) {
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            operation.call.resolve();
+        } else {
+            // Goes through fail so a CCCD write can undo its subscription.
+            operation.fail(operation.failureMessage, null);
+        }
+    }
+
+    private void handleReadRemoteRssi(BluetoothGatt gatt, int rssi, int status) {
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.READ_RSSI, null);
+        if (operation == null) {
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            JSObject ret = new JSObject();
+            ret.put("rssi", rssi);
+            operation.call.resolve(ret);
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handleMtuChanged(BluetoothGatt gatt, int mtu, int status) {
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            deviceMtus.put(gatt.getDevice().getAddress(), mtu);
+        }
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.REQUEST_MTU, null);
+        if (operation == null) {
+            return;
+        }
+        if (operation instanceof LinkOptimization.Step) {
+            LinkOptimization optimization = ((LinkOptimization.Step) operation).optimization;
+            if (status == BluetoothGatt.GATT_SUCCESS) {
+                optimization.onMtuChanged(mtu);
+            }
+            optimization.stepDoneTask.run();
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            JSObject ret = new JSObject();
+            ret.put("mtu", mtu);
+            operation.call.resolve(ret);
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handlePhyUpdate(BluetoothGatt gatt, int txPhy, int rxPhy, int status, long receivedAt) {
+        String deviceId = gatt.getDevice().getAddress();
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            // Also reports updates initiated by the peripheral.
+            JSObject event = new JSObject();
+            event.put("deviceId", deviceId);
+            event.put("txPhy", phyToString(txPhy));
+            event.put("rxPhy", phyToString(rxPhy));
+            notifyListeners("phyUpdated", event);
+        }
+        // Only an update received after our own request answers it. One received before was
+        // initiated by the peripheral, even when it is handled once the request is in flight.
+        Long requestedAt = phyRequestedAt.get(deviceId);
+        if (requestedAt == null || receivedAt < requestedAt) {
+            return;
+        }
+        phyRequestedAt.remove(deviceId);
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.SET_PREFERRED_PHY, null);
+        if (operation == null) {
+            return;
+        }
+        if (operation instanceof LinkOptimization.Step) {
+            LinkOptimization optimization = ((LinkOptimization.Step) operation).optimization;
+            if (status == BluetoothGatt.GATT_SUCCESS) {
+                optimization.txPhy = txPhy;
+                optimization.rxPhy = rxPhy;
+            }
+            optimization.stepDoneTask.run();
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            JSObject ret = new JSObject();
+            ret.put("txPhy", phyToString(txPhy));
+            ret.put("rxPhy", phyToString(rxPhy));
+            operation.call.resolve(ret);
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handlePhyRead(BluetoothGatt gatt, int txPhy, int rxPhy, int status) {
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.READ_PHY, null);
+        if (operation == null) {
+            return;
+        }
+        if (operation instanceof LinkOptimization.Step) {
+            LinkOptimization optimization = ((LinkOptimization.Step) operation).optimization;
+            if (status == BluetoothGatt.GATT_SUCCESS) {
+                optimization.txPhy = txPhy;
+                optimization.rxPhy = rxPhy;
+            }
+            optimization.stepDoneTask.run();
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            JSObject ret = new JSObject();
+            ret.put("txPhy", phyToString(txPhy));
+            ret.put("rxPhy", phyToString(rxPhy));
+            operation.call.resolve(ret);
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handleConnectionUpdated(BluetoothGatt gatt, int interval, int latency, int timeout, int status) {
+        if (status == BluetoothGatt.GATT_SUCCESS) {
             String deviceId = gatt.getDevice().getAddress();
+            JSObject parameters = new JSObject();
+            // Reported in 1.25 ms units for the interval and 10 ms units for the timeout.
+            parameters.put("interval", interval * 1.25);
+            parameters.put("latency", latency);
+            parameters.put("timeout", timeout * 10);
+            connectionParameters.put(deviceId, parameters);
 
-            if (newState == BluetoothProfile.STATE_CONNECTED) {
-                if (pendingConnectCall != null) {
-                    pendingConnectCall.resolve();
-                    pendingConnectCall = null;
-                }
+            JSObject event = new JSObject();
+            event.put("deviceId", deviceId);
+            event.put("interval", interval * 1.25);
+            event.put("latency", latency);
+            event.put("timeout", timeout * 10);
+            notifyListeners("connectionUpdated", event);
+        }
+
+        GattOperationQueue.Operation operation = completeOperation(gatt, GattOperationQueue.Type.REQUEST_CONNECTION_PRIORITY, null);
+        if (operation == null) {
+            return;
+        }
+        if (operation instanceof LinkOptimization.Step) {
+            ((LinkOptimization.Step) operation).optimization.stepDoneTask.run();
+            return;
+        }
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            operation.call.resolve();
+        } else {
+            operation.call.reject(operation.failureMessage);
+        }
+    }
+
+    private void handleServiceChanged(BluetoothGatt gatt) {
+        // Handles may have moved, so services are rediscovered and lookups made meanwhile wait
+        // for it instead of resolving against the stale database.
+        String deviceId = gatt.getDevice().getAddress();
+        deviceServices.remove(deviceId);
+        if (gattLayoutCache != null) {
+            gattLayoutCache.remove(deviceId);
+        }
+        if (!discoveryWaiters.containsKey(deviceId)) {
+            enqueueOperation(deviceId, discoveryOperation(deviceId, gatt, null));
+        }
+        notifyServicesChanged(deviceId);
+    }
+
+    private void handleReliableWriteCompleted(BluetoothGatt gatt, int status) {
+        GattOperationQueue.Operation current = currentOperation(gatt, GattOperationQueue.Type.WRITE_CHARACTERISTIC, null);
+        if (!(current instanceof ChunkedWrite)) {
+            return;
+        }
+        ChunkedWrite write = (ChunkedWrite) current;
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            continueChunkedWrite(write);
+        } else {
+            failChunkedWrite(write, write.failureMessage);
+        }
+    }
+
+    private void notifyServicesChanged(String deviceId) {
+        JSObject event = new JSObject();
+        event.put("deviceId", deviceId);
+        notifyListeners("servicesChanged", event);
+    }
+
+    private void handleChunkWritten(ChunkedWrite write, int status, byte[] echoed) {
+        if (status != BluetoothGatt.GATT_SUCCESS || !write.onChunkWritten(echoed)) {
+            failChunkedWrite(write, write.failureMessage);
+            return;
+        }
+        if (!write.reliable) {
+            continueChunkedWrite(write);
+            return;
+        }
+        try {
+            // The chunk is committed and the write continued by onReliableWriteCompleted.
+            if (!write.gatt.executeReliableWrite()) {
+                failChunkedWrite(write, write.failureMessage);
+            }
+        } catch (SecurityException e) {
+            failChunkedWrite(write, "Permission denied: " + e.getMessage());
+        }
+    }
 
-                JSObject event = new JSObject();
-                event.put("deviceId", deviceId);
-                notifyListeners("deviceConnected", event);
-            } else if (newState == BluetoothProfile.STATE_DISCONNECTED) {
-                connectedGatts.remove(deviceId);
-                deviceServices.remove(deviceId);
+    private void continueChunkedWrite(ChunkedWrite write) {
+        if (write.isComplete()) {
+            finishChunkedWrite(write);
+            return;
+        }
 
-                JSObject event = new JSObject();
-                event.put("deviceId", deviceId);
-                notifyListeners("deviceDisconnected", event);
-            }
+        // Each acknowledged chunk restarts the deadline, so timeouts apply per chunk.
+        GattOperationQueue queue = operationQueues.get(write.deviceId);
+        if (queue != null) {
+            queue.extendTimeout(write);
         }
 
-        @Override
-        public void onServicesDiscovered(BluetoothGatt gatt, int status) {
-            if (pendingDiscoverCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    pendingDiscoverCall.resolve();
-                } else {
-                    pendingDiscoverCall.reject("Service discovery failed");
-                }
-                pendingDiscoverCall = null;
-            }
+        long now = SystemClock.elapsedRealtime();
+        if (now - write.lastProgressAt >= write.progressInterval) {
+            write.lastProgressAt = now;
+            notifyWriteProgress(write);
         }
+        pumpChunkedWrite(write);
+    }
 
-        @Override
-        public void onCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
-            if (pendingReadCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    JSObject ret = new JSObject();
-                    ret.put("value", bytesToJsArray(characteristic.getValue()));
-                    pendingReadCall.resolve(ret);
-                } else {
-                    pendingReadCall.reject("Read failed");
-                }
-                pendingReadCall = null;
+    private void pumpChunkedWrite(ChunkedWrite write) {
+        // The write may have been rejected by a disconnect while a retry was pending.
+        if (currentOperation(write.gatt, GattOperationQueue.Type.WRITE_CHARACTERISTIC, write.characteristic) != write) {
+            return;
+        }
+        try {
+            if (!write.pump()) {
+                failChunkedWrite(write, write.failureMessage);
             }
+        } catch (SecurityException e) {
+            failChunkedWrite(write, "Permission denied: " + e.getMessage());
         }
+    }
 
-        @Override
-        public void onCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
-            if (pendingWriteCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    pendingWriteCall.resolve();
-                } else {
-                    pendingWriteCall.reject("Write failed");
-                }
-                pendingWriteCall = null;
-            }
+    private void finishChunkedWrite(ChunkedWrite write) {
+        bleHandler.removeCallbacks(write.retryTask);
+        completeOperation(write.gatt, GattOperationQueue.Type.WRITE_CHARACTERISTIC, write.characteristic);
+        if (write instanceof LinkOptimization.Probe) {
+            LinkOptimization optimization = ((LinkOptimization.Probe) write).optimization;
+            optimization.throughput = write.bytesPerSecond();
+            optimization.probeDoneTask.run();
+            return;
         }
+        notifyWriteProgress(write);
+        JSObject ret = new JSObject();
+        ret.put("bytesWritten", write.bytesWritten());
+        ret.put("bytesPerSecond", write.bytesPerSecond());
+        write.call.resolve(ret);
+    }
 
-        @Override
-        public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic) {
-            String deviceId = gatt.getDevice().getAddress();
-            String serviceUuid = characteristic.getService().getUuid().toString();
-            String characteristicUuid = characteristic.getUuid().toString();
+    private void failChunkedWrite(ChunkedWrite write, String message) {
+        write.abandon();
+        completeOperation(write.gatt, GattOperationQueue.Type.WRITE_CHARACTERISTIC, write.characteristic);
+        write.fail(message, null);
+    }
 
-            JSObject event = new JSObject();
-            event.put("deviceId", deviceId);
-            event.put("service", serviceUuid);
-            event.put("characteristic", characteristicUuid);
-            event.put("value", bytesToJsArray(characteristic.getValue()));
-            notifyListeners("characteristicChanged", event);
-        }
+    private void notifyWriteProgress(ChunkedWrite write) {
+        JSObject event = new JSObject();
+        event.put("deviceId", write.deviceId);
+        event.put("service", write.serviceUuid);
+        event.put("characteristic", write.characteristicUuid);
+        event.put("bytesWritten", write.bytesWritten());
+        event.put("totalBytes", write.totalBytes());
+        event.put("bytesPerSecond", write.bytesPerSecond());
+        notifyListeners("writeProgress", event);
+    }
 
-        @Override
-        public void onDescriptorRead(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
-            if (pendingReadDescriptorCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    JSObject ret = new JSObject();
-                    ret.put("value", bytesToJsArray(descriptor.getValue()));
-                    pendingReadDescriptorCall.resolve(ret);
-                } else {
-                    pendingReadDescriptorCall.reject("Read failed");
-                }
-                pendingReadDescriptorCall = null;
-            }
-        }
+    private boolean isPolling(CharacteristicPoller poller) {
+        return pollers.get(notificationKey(poller.deviceId, poller.characteristic)) == poller;
+    }
 
-        @Override
-        public void onDescriptorWrite(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
-            if (pendingNotifyCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    pendingNotifyCall.resolve();
-                } else {
-                    pendingNotifyCall.reject("Failed to enable notifications");
-                }
-                pendingNotifyCall = null;
-            } else if (pendingWriteDescriptorCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    pendingWriteDescriptorCall.resolve();
-                } else {
-                    pendingWriteDescriptorCall.reject("Write failed");
-                }
-                pendingWriteDescriptorCall = null;
-            }
+    private void pollCharacteristic(CharacteristicPoller poller) {
+        GattOperationQueue queue = operationQueues.get(poller.deviceId);
+        if (!isPolling(poller) || queue == null) {
+            return;
+        }
+        poller.lastTickAt = SystemClock.elapsedRealtime();
+        if (queue.size() > 0) {
+            // The link is busy with other requests: skip this tick and poll less often.
+            poller.backOff();
+            bleHandler.postDelayed(poller.tickTask, poller.nextDelay(poller.lastTickAt));
+            return;
         }
+        enqueueOperation(poller.deviceId, new CharacteristicPoller.Read(poller), poller.readTimeout);
+    }
 
-        @Override
-        public void onReadRemoteRssi(BluetoothGatt gatt, int rssi, int status) {
-            if (pendingRssiCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    JSObject ret = new JSObject();
-                    ret.put("rssi", rssi);
-                    pendingRssiCall.resolve(ret);
-                } else {
-                    pendingRssiCall.reject("Failed to read RSSI");
-                }
-                pendingRssiCall = null;
-            }
+    private void handlePollRead(CharacteristicPoller poller, int status, byte[] value) {
+        if (!isPolling(poller)) {
+            return;
+        }
+        if (status != BluetoothGatt.GATT_SUCCESS) {
+            retryPoll(poller);
+            return;
+        }
+        if (poller.onValue(value)) {
+            JSObject event = new JSObject();
+            event.put("deviceId", poller.deviceId);
+            event.put("service", poller.serviceUuid);
+            event.put("characteristic", poller.characteristicUuid);
+            event.put("instanceId", poller.characteristic.getInstanceId());
+            event.put("value", encodeValue(value, poller.encoding));
+            notifyListeners("characteristicChanged", event);
         }
+        bleHandler.postDelayed(poller.tickTask, poller.nextDelay(SystemClock.elapsedRealtime()));
+    }
 
-        @Override
-        public void onMtuChanged(BluetoothGatt gatt, int mtu, int status) {
-            if (pendingMtuCall != null) {
-                if (status == BluetoothGatt.GATT_SUCCESS) {
-                    JSObject ret = new JSObject();
-                    ret.put("mtu", mtu);
-                    pendingMtuCall.resolve(ret);
-                } else {
-                    pendingMtuCall.reject("Failed to change MTU");
-                }
-                pendingMtuCall = null;
-            }
+    private void retryPoll(CharacteristicPoller poller) {
+        if (!isPolling(poller)) {
+            return;
         }
-    };
+        poller.backOff();
+        bleHandler.postDelayed(poller.tickTask, poller.nextDelay(SystemClock.elapsedRealtime()));
+    }
 
     // MARK: - Helper Methods
 
@@ -1406,23 +3553,184 @@ public class BluetoothLowEnergyPlugin extends Plugin {
         }
     }
 
-    private BluetoothGattCharacteristic findCharacteristic(BluetoothGatt gatt, String serviceUuid, String characteristicUuid) {
-        BluetoothGattService service = gatt.getService(UUID.fromString(normalizeUuid(serviceUuid)));
+    private void enqueueOperation(String deviceId, GattOperationQueue.Operation operation) {
+        long timeout = operation.call != null ? operation.call.getLong("timeout", operationTimeout) : operationTimeout;
+        enqueueOperation(deviceId, operation, timeout);
+    }
+
+    private void enqueueOperation(String deviceId, GattOperationQueue.Operation operation, long timeout) {
+        operation.timeout = Math.max(timeout, 0);
+        GattOperationQueue queue = operationQueues.computeIfAbsent(deviceId, this::newOperationQueue);
+        queue.enqueue(operation);
+    }
+
+    private GattOperationQueue newOperationQueue(String deviceId) {
+        return new GattOperationQueue(bleHandler, () -> handleLinkStalled(deviceId));
+    }
+
+    /**
+     * Called when a timed out operation never got its callback. The stack still considers the
+     * request outstanding, so nothing more can be sent: the waiting operations are rejected and
+     * the link is dropped, which reports the disconnection and applies the reconnect policy.
+     */
+    private void handleLinkStalled(String deviceId) {
+        GattOperationQueue queue = operationQueues.get(deviceId);
+        if (queue != null) {
+            queue.close("Link stalled");
+        }
+        BluetoothGatt gatt = connectedGatts.get(deviceId);
+        if (gatt == null) {
+            return;
+        }
+        try {
+            gatt.disconnect();
+        } catch (SecurityException e) {
+            // Ignore
+        }
+    }
+
+    private GattOperationQueue.Operation currentOperation(BluetoothGatt gatt, GattOperationQueue.Type type, Object target) {
+        GattOperationQueue queue = operationQueues.get(gatt.getDevice().getAddress());
+        if (queue == null) {
+            return null;
+        }
+        return queue.current(type, target);
+    }
+
+    private GattOperationQueue.Operation completeOperation(BluetoothGatt gatt, GattOperationQueue.Type type, Object target) {
+        GattOperationQueue queue = operationQueues.get(gatt.getDevice().getAddress());
+        if (queue == null) {
+            return null;
+        }
+        return queue.complete(type, target);
+    }
+
+    private void closeOperationQueue(String deviceId) {
+        GattOperationQueue queue = operationQueues.remove(deviceId);
+        if (queue != null) {
+            queue.close("Device disconnected");
+        }
+        // Waiting lookups now fail as the device is gone.
+        finishDiscovery(deviceId);
+        deviceMtus.remove(deviceId);
+        connectionParameters.remove(deviceId);
+        phyRequestedAt.remove(deviceId);
+        notificationSubscriptions.entrySet().removeIf((entry) -> {
+            if (!entry.getKey().startsWith(deviceId + "/")) {
+                return false;
+            }
+            flushNotificationBatch(entry.getValue());
+            return true;
+        });
+        pollers.entrySet().removeIf((entry) -> {
+            if (!entry.getKey().startsWith(deviceId + "/")) {
+                return false;
+            }
+            bleHandler.removeCallbacks(entry.getValue().tickTask);
+            return true;
+        });
+    }
+
+    /**
+     * Removes a subscription whose CCCD write failed, unless a newer one replaced it already.
+     * Values batched meanwhile are still emitted.
+     */
+    private void dropFailedSubscription(String key, NotificationSubscription subscription) {
+        if (notificationSubscriptions.remove(key, subscription)) {
+            flushNotificationBatch(subscription);
+        }
+    }
+
+    private void flushNotificationBatch(NotificationSubscription subscription) {
+        bleHandler.removeCallbacks(subscription.flushTask);
+        NotificationSubscription.Batch batch = subscription.drain();
+        if (batch == null) {
+            return;
+        }
+
+        JSArray values = new JSArray();
+        JSArray timestamps = new JSArray();
+        for (int i = 0; i < batch.values.length; i++) {
+            values.put(encodeValue(batch.values[i], subscription.encoding));
+            timestamps.put(batch.timestamps[i]);
+        }
+
+        JSObject event = new JSObject();
+        event.put("deviceId", subscription.deviceId);
+        event.put("service", subscription.serviceUuid);
+        event.put("characteristic", subscription.characteristicUuid);
+        event.put("instanceId", subscription.instanceId);
+        event.put("values", values);
+        event.put("timestamps", timestamps);
+        notifyListeners("characteristicChangedBatch", event);
+    }
+
+    /**
+     * Keys subscriptions and pollers by the resolved characteristic, including its instance ID,
+     * so characteristics sharing a UUID are tracked separately.
+     */
+    private String notificationKey(String deviceId, BluetoothGattCharacteristic characteristic) {
+        return (
+            deviceId + "/" + characteristic.getService().getUuid() + "/" + characteristic.getUuid() + "#" + characteristic.getInstanceId()
+        );
+    }
+
+    /**
+     * Looks up a characteristic by UUID, or by instance ID to reach one of several
+     * characteristics sharing a UUID. instanceId may be null.
+     */
+    private BluetoothGattCharacteristic findCharacteristic(
+        BluetoothGatt gatt,
+        String serviceUuid,
+        String characteristicUuid,
+        Integer instanceId
+    ) {
+        GattIndex index = deviceServices.get(gatt.getDevice().getAddress());
+        if (index != null) {
+            return index.findCharacteristic(serviceUuid, characteristicUuid, instanceId);
+        }
+        UUID serviceId = UUID.fromString(normalizeUuid(serviceUuid));
+        UUID characteristicId = UUID.fromString(normalizeUuid(characteristicUuid));
+        if (instanceId != null) {
+            for (BluetoothGattService service : gatt.getServices()) {
+                for (BluetoothGattCharacteristic characteristic : service.getCharacteristics()) {
+                    if (
+                        characteristic.getInstanceId() == instanceId &&
+                        characteristic.getUuid().equals(characteristicId) &&
+                        service.getUuid().equals(serviceId)
+                    ) {
+                        return characteristic;
+                    }
+                }
+            }
+            return null;
+        }
+        BluetoothGattService service = gatt.getService(serviceId);
         if (service == null) {
             return null;
         }
-        return service.getCharacteristic(UUID.fromString(normalizeUuid(characteristicUuid)));
+        return service.getCharacteristic(characteristicId);
     }
 
-    private BluetoothGattDescriptor findDescriptor(BluetoothGatt gatt, String serviceUuid, String characteristicUuid, String descriptorUuid) {
-        BluetoothGattCharacteristic characteristic = findCharacteristic(gatt, serviceUuid, characteristicUuid);
+    private BluetoothGattDescriptor findDescriptor(
+        BluetoothGatt gatt,
+        String serviceUuid,
+        String characteristicUuid,
+        Integer instanceId,
+        String descriptorUuid
+    ) {
+        GattIndex index = deviceServices.get(gatt.getDevice().getAddress());
+        if (index != null) {
+            return index.findDescriptor(serviceUuid, characteristicUuid, instanceId, descriptorUuid);
+        }
+        BluetoothGattCharacteristic characteristic = findCharacteristic(gatt, serviceUuid, characteristicUuid, instanceId);
         if (characteristic == null) {
             return null;
         }
         return characteristic.getDescriptor(UUID.fromString(normalizeUuid(descriptorUuid)));
     }
 
-    private String normalizeUuid(String uuid) {
+    static String normalizeUuid(String uuid) {
         if (uuid.length() == 4) {
             return "0000" + uuid.toLowerCase() + "-0000-1000-8000-00805f9b34fb";
         } else if (uuid.length() == 8) {
@@ -1432,17 +3740,74 @@ public class BluetoothLowEnergyPlugin extends Plugin {
     }
 
     private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            chars[i * 2] = HEX_DIGITS[v >>> 4];
+            chars[i * 2 + 1] = HEX_DIGITS[v & 0x0F];
+        }
+        return new String(chars);
+    }
+
+    private byte[] hexToBytes(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid hex string");
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    /**
+     * Encodes a payload for the bridge. Strings avoid boxing every byte as a JSON number.
+     */
+    private Object encodeValue(byte[] bytes, String encoding) {
+        if (bytes == null) {
+            bytes = new byte[0];
+        }
+        if ("base64".equals(encoding)) {
+            return Base64.encodeToString(bytes, Base64.NO_WRAP);
+        } else if ("hex".equals(encoding)) {
+            return bytesToHex(bytes);
+        }
+        return bytesToJsArray(bytes);
+    }
+
+    private byte[] decodeValue(Object value, String encoding) throws Exception {
+        if (value instanceof String) {
+            if ("hex".equals(encoding)) {
+                return hexToBytes((String) value);
+            } else if ("base64".equals(encoding)) {
+                return Base64.decode((String) value, Base64.NO_WRAP);
+            }
+            throw new IllegalArgumentException("String values require the base64 or hex encoding");
+        }
+        if (value instanceof JSONArray) {
+            return jsArrayToBytes((JSONArray) value);
         }
-        return sb.toString();
+        throw new IllegalArgumentException("value must be an array of bytes or an encoded string");
     }
 
-    private byte[] jsArrayToBytes(JSArray array) throws Exception {
+    private static byte[] copyValue(byte[] value) {
+        return value != null ? value.clone() : null;
+    }
+
+    private byte[] jsArrayToBytes(JSONArray array) throws Exception {
         byte[] bytes = new byte[array.length()];
         for (int i = 0; i < array.length(); i++) {
-            bytes[i] = (byte) array.getInt(i);
+            Object element = array.get(i);
+            double number = element instanceof Number ? ((Number) element).doubleValue() : -1;
+            if (number < 0 || number > 255 || number != Math.floor(number)) {
+                throw new IllegalArgumentException("Byte values must be integers from 0 to 255");
+            }
+            bytes[i] = (byte) number;
         }
         return bytes;
     }
@@ -1504,51 +3869,204 @@ public class BluetoothLowEnergyPlugin extends Plugin {
         return permissions;
     }
 
-    private String characteristicKey(BluetoothGattCharacteristic characteristic) {
-        for (Map.Entry<String, BluetoothGattCharacteristic> entry : localGattCharacteristics.entrySet()) {
-            if (entry.getValue().equals(characteristic)) {
-                return entry.getKey();
+    private void forgetLocalCharacteristics(String normalizedServiceUuid, BluetoothGattService service) {
+        for (BluetoothGattCharacteristic characteristic : service.getCharacteristics()) {
+            localCharacteristicIndex.remove(characteristic);
+        }
+        localGattCharacteristics.entrySet().removeIf(entry -> entry.getKey().startsWith(normalizedServiceUuid + "/"));
+    }
+
+    private void sendReadResponse(BluetoothDevice device, int requestId, int offset, byte[] value) {
+        if (gattServer == null) {
+            return;
+        }
+        if (value == null) {
+            value = new byte[0];
+        }
+        if (offset > value.length) {
+            gattServer.sendResponse(device, requestId, BluetoothGatt.GATT_INVALID_OFFSET, offset, null);
+            return;
+        }
+        // Only what fits in one response is copied; the central asks for the rest with a higher offset.
+        int length = Math.min(value.length - offset, centralMtus.getOrDefault(device.getAddress(), DEFAULT_MTU) - 1);
+        gattServer.sendResponse(device, requestId, BluetoothGatt.GATT_SUCCESS, offset, Arrays.copyOfRange(value, offset, offset + length));
+    }
+
+    /**
+     * Holds a read until JS answers it with respondToReadRequest, or serves the current value
+     * once the characteristic's readTimeout elapses.
+     */
+    private void holdReadRequest(
+        BluetoothDevice device,
+        int requestId,
+        int offset,
+        BluetoothGattCharacteristic characteristic,
+        LocalCharacteristic local
+    ) {
+        String key = LocalCharacteristic.pendingReadKey(device.getAddress(), requestId);
+        LocalCharacteristic.PendingRead read = new LocalCharacteristic.PendingRead(device, requestId, offset, characteristic);
+        read.timeoutTask = () -> {
+            if (pendingReads.remove(key, read)) {
+                sendReadResponse(device, requestId, offset, LocalCharacteristic.getValue(characteristic));
+            }
+        };
+        pendingReads.put(key, read);
+        bleHandler.postDelayed(read.timeoutTask, local.readTimeout);
+    }
+
+    private void dropPendingReads(String deviceId) {
+        pendingReads
+            .values()
+            .removeIf((read) -> {
+                if (!read.device.getAddress().equals(deviceId)) {
+                    return false;
+                }
+                bleHandler.removeCallbacks(read.timeoutTask);
+                return true;
+            });
+    }
+
+    private void queueNotification(BluetoothDevice device, BluetoothGattCharacteristic characteristic, byte[] value, boolean indicate) {
+        NotificationOutbox outbox = notificationOutboxes.computeIfAbsent(device.getAddress(), (address) -> {
+            NotificationOutbox created = new NotificationOutbox(device);
+            created.retryTask = () -> sendNextNotification(created);
+            created.timeoutTask = () -> {
+                created.onSent(false, SystemClock.elapsedRealtime());
+                sendNextNotification(created);
+            };
+            return created;
+        });
+        outbox.offer(characteristic, value, indicate, SystemClock.elapsedRealtime());
+        if (outbox.inFlight == null) {
+            sendNextNotification(outbox);
+        }
+    }
+
+    /**
+     * Sends the outbox's next notification, skipping the ones the stack refuses. The following
+     * one is sent from onNotificationSent.
+     */
+    private void sendNextNotification(NotificationOutbox outbox) {
+        NotificationOutbox.Notification notification;
+        while ((notification = outbox.next()) != null) {
+            int status;
+            try {
+                status = gattServer != null
+                    ? NotificationOutbox.notify(gattServer, outbox.device, notification)
+                    : BluetoothStatusCodes.ERROR_PROFILE_SERVICE_NOT_BOUND;
+            } catch (SecurityException e) {
+                status = BluetoothStatusCodes.ERROR_MISSING_BLUETOOTH_CONNECT_PERMISSION;
+            }
+            if (status == BluetoothStatusCodes.SUCCESS) {
+                bleHandler.postDelayed(outbox.timeoutTask, NotificationOutbox.SENT_TIMEOUT);
+                return;
+            }
+            if (outbox.retryBusy(status)) {
+                bleHandler.postDelayed(outbox.retryTask, outbox.busyRetryDelay());
+                return;
+            }
+            outbox.onSent(false, SystemClock.elapsedRealtime());
+        }
+    }
+
+    private void dropNotificationOutbox(String deviceId) {
+        NotificationOutbox outbox = notificationOutboxes.remove(deviceId);
+        if (outbox != null) {
+            bleHandler.removeCallbacks(outbox.retryTask);
+            bleHandler.removeCallbacks(outbox.timeoutTask);
+        }
+    }
+
+    /**
+     * Records a central's write to a Client Characteristic Configuration descriptor and emits
+     * centralSubscribed or centralUnsubscribed when its subscription changed.
+     */
+    private void updateSubscription(BluetoothDevice device, BluetoothGattCharacteristic characteristic, byte[] value) {
+        LocalCharacteristic local = localCharacteristicIndex.get(characteristic);
+        if (local == null) {
+            return;
+        }
+        String deviceId = device.getAddress();
+        if (!local.updateSubscription(deviceId, value)) {
+            return;
+        }
+        Boolean indicate = local.subscribers.get(deviceId);
+        JSObject event = new JSObject();
+        event.put("deviceId", deviceId);
+        event.put("service", local.serviceUuid);
+        event.put("characteristic", local.characteristicUuid);
+        if (indicate != null) {
+            event.put("indicate", indicate);
+        }
+        notifyListeners(indicate != null ? "centralSubscribed" : "centralUnsubscribed", event);
+    }
+
+    private void dropSubscriptions(String deviceId) {
+        synchronized (localCharacteristicIndex) {
+            for (LocalCharacteristic local : localCharacteristicIndex.values()) {
+                local.subscribers.remove(deviceId);
             }
         }
-        return null;
+    }
+
+    private void notifyGattCharacteristicWritten(BluetoothDevice device, BluetoothGattCharacteristic characteristic, byte[] value) {
+        LocalCharacteristic local = localCharacteristicIndex.get(characteristic);
+        if (local == null) {
+            return;
+        }
+        JSObject event = new JSObject();
+        event.put("deviceId", device.getAddress());
+        event.put("service", local.serviceUuid);
+        event.put("characteristic", local.characteristicUuid);
+        event.put("value", encodeValue(value, local.encoding));
+        notifyListeners("gattCharacteristicWriteRequest", event);
     }
 
     private final BluetoothGattServerCallback gattServerCallback = new BluetoothGattServerCallback() {
         @Override
         public void onConnectionStateChange(BluetoothDevice device, int status, int newState) {
-            String deviceId = device.getAddress();
-            if (newState == BluetoothProfile.STATE_CONNECTED) {
-                connectedCentrals.put(deviceId, device);
-                JSObject event = new JSObject();
-                event.put("deviceId", deviceId);
-                notifyListeners("centralConnected", event);
-            } else if (newState == BluetoothProfile.STATE_DISCONNECTED) {
-                connectedCentrals.remove(deviceId);
-                JSObject event = new JSObject();
-                event.put("deviceId", deviceId);
-                notifyListeners("centralDisconnected", event);
-            }
+            runOnBleThread(() -> {
+                String deviceId = device.getAddress();
+                if (newState == BluetoothProfile.STATE_CONNECTED) {
+                    connectedCentrals.put(deviceId, device);
+                    JSObject event = new JSObject();
+                    event.put("deviceId", deviceId);
+                    notifyListeners("centralConnected", event);
+                } else if (newState == BluetoothProfile.STATE_DISCONNECTED) {
+                    connectedCentrals.remove(deviceId);
+                    centralMtus.remove(deviceId);
+                    preparedWrites.remove(deviceId);
+                    dropPendingReads(deviceId);
+                    dropNotificationOutbox(deviceId);
+                    dropSubscriptions(deviceId);
+                    JSObject event = new JSObject();
+                    event.put("deviceId", deviceId);
+                    notifyListeners("centralDisconnected", event);
+                }
+            });
         }
 
         @Override
         public void onCharacteristicReadRequest(BluetoothDevice device, int requestId, int offset, BluetoothGattCharacteristic characteristic) {
-            String key = characteristicKey(characteristic);
-            if (key != null) {
-                String[] parts = key.split("/", 2);
+            // Read Blob requests continuing a long read are answered from the value already
+            // returned for offset 0, without a new event. Dynamic values with a fresh answer are
+            // served natively as well.
+            LocalCharacteristic local = localCharacteristicIndex.get(characteristic);
+            if (local != null && offset == 0 && (!local.dynamicValue || local.needsAnswer(SystemClock.elapsedRealtime()))) {
                 JSObject event = new JSObject();
                 event.put("deviceId", device.getAddress());
-                event.put("service", parts[0]);
-                event.put("characteristic", parts[1]);
+                event.put("service", local.serviceUuid);
+                event.put("characteristic", local.characteristicUuid);
+                if (local.dynamicValue) {
+                    event.put("requestId", requestId);
+                    holdReadRequest(device, requestId, offset, characteristic, local);
+                    notifyListeners("gattCharacteristicReadRequest", event);
+                    return;
+                }
                 notifyListeners("gattCharacteristicReadRequest", event);
             }
 
-            if (gattServer != null) {
-                byte[] value = characteristic.getValue();
-                if (value == null) {
-                    value = new byte[0];
-                }
-                gattServer.sendResponse(device, requestId, BluetoothGatt.GATT_SUCCESS, offset, value);
-            }
+            sendReadResponse(device, requestId, offset, LocalCharacteristic.getValue(characteristic));
         }
 
         @Override
@@ -1561,23 +4079,65 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             int offset,
             byte[] value
         ) {
-            characteristic.setValue(value);
-            String key = characteristicKey(characteristic);
-            if (key != null) {
-                String[] parts = key.split("/", 2);
-                JSObject event = new JSObject();
-                event.put("deviceId", device.getAddress());
-                event.put("service", parts[0]);
-                event.put("characteristic", parts[1]);
-                event.put("value", bytesToJsArray(value));
-                notifyListeners("gattCharacteristicWriteRequest", event);
+            if (preparedWrite) {
+                prepareWrite(device, requestId, characteristic, responseNeeded, offset, value);
+                return;
             }
 
+            LocalCharacteristic.setValue(characteristic, value);
+            notifyGattCharacteristicWritten(device, characteristic, value);
+
             if (responseNeeded && gattServer != null) {
                 gattServer.sendResponse(device, requestId, BluetoothGatt.GATT_SUCCESS, offset, value);
             }
         }
 
+        @Override
+        public void onExecuteWrite(BluetoothDevice device, int requestId, boolean execute) {
+            runOnBleThread(() -> {
+                PreparedWrites writes = preparedWrites.remove(device.getAddress());
+                int status = BluetoothGatt.GATT_SUCCESS;
+                if (execute && writes != null) {
+                    Map<Object, byte[]> values = writes.assemble(BluetoothLowEnergyPlugin::attributeValue);
+                    if (values == null) {
+                        status = BluetoothGatt.GATT_INVALID_OFFSET;
+                    } else {
+                        for (Map.Entry<Object, byte[]> entry : values.entrySet()) {
+                            if (entry.getKey() instanceof BluetoothGattDescriptor) {
+                                writeLocalDescriptor(device, (BluetoothGattDescriptor) entry.getKey(), entry.getValue());
+                            } else {
+                                BluetoothGattCharacteristic characteristic = (BluetoothGattCharacteristic) entry.getKey();
+                                LocalCharacteristic.setValue(characteristic, entry.getValue());
+                                notifyGattCharacteristicWritten(device, characteristic, entry.getValue());
+                            }
+                        }
+                    }
+                }
+
+                if (gattServer != null) {
+                    gattServer.sendResponse(device, requestId, status, 0, null);
+                }
+            });
+        }
+
+        @Override
+        public void onNotificationSent(BluetoothDevice device, int status) {
+            runOnBleThread(() -> {
+                NotificationOutbox outbox = notificationOutboxes.get(device.getAddress());
+                if (outbox == null || outbox.inFlight == null) {
+                    return;
+                }
+                bleHandler.removeCallbacks(outbox.timeoutTask);
+                outbox.onSent(status == BluetoothGatt.GATT_SUCCESS, SystemClock.elapsedRealtime());
+                sendNextNotification(outbox);
+            });
+        }
+
+        @Override
+        public void onMtuChanged(BluetoothDevice device, int mtu) {
+            centralMtus.put(device.getAddress(), mtu);
+        }
+
         @Override
         public void onDescriptorWriteRequest(
             BluetoothDevice device,
@@ -1588,13 +4148,64 @@ public class BluetoothLowEnergyPlugin extends Plugin {
             int offset,
             byte[] value
         ) {
-            descriptor.setValue(value);
+            if (preparedWrite) {
+                prepareWrite(device, requestId, descriptor, responseNeeded, offset, value);
+                return;
+            }
+
+            writeLocalDescriptor(device, descriptor, value);
             if (responseNeeded && gattServer != null) {
                 gattServer.sendResponse(device, requestId, BluetoothGatt.GATT_SUCCESS, offset, value);
             }
         }
+
+        /**
+         * Queues a Prepare Write chunk for a characteristic or descriptor until Execute Write.
+         * The chunk is copied here since the stack may reuse the buffer once this callback returns.
+         */
+        private void prepareWrite(
+            BluetoothDevice device,
+            int requestId,
+            Object attribute,
+            boolean responseNeeded,
+            int offset,
+            byte[] value
+        ) {
+            byte[] chunk = copyValue(value);
+            runOnBleThread(() -> {
+                PreparedWrites writes = preparedWrites.computeIfAbsent(device.getAddress(), (address) -> new PreparedWrites());
+                int status = writes.add(attribute, offset, chunk) ? BluetoothGatt.GATT_SUCCESS : PreparedWrites.PREPARE_QUEUE_FULL;
+                if (responseNeeded && gattServer != null) {
+                    gattServer.sendResponse(device, requestId, status, offset, chunk);
+                }
+            });
+        }
+
+        private void writeLocalDescriptor(BluetoothDevice device, BluetoothGattDescriptor descriptor, byte[] value) {
+            if (CLIENT_CHARACTERISTIC_CONFIG.equals(descriptor.getUuid())) {
+                updateSubscription(device, descriptor.getCharacteristic(), value);
+            } else {
+                descriptor.setValue(value);
+            }
+        }
+
+        @Override
+        public void onDescriptorReadRequest(BluetoothDevice device, int requestId, int offset, BluetoothGattDescriptor descriptor) {
+            byte[] value = descriptor.getValue();
+            if (CLIENT_CHARACTERISTIC_CONFIG.equals(descriptor.getUuid())) {
+                LocalCharacteristic local = localCharacteristicIndex.get(descriptor.getCharacteristic());
+                value = local != null ? local.configurationValue(device.getAddress()) : new byte[] { 0x00, 0x00 };
+            }
+            sendReadResponse(device, requestId, offset, value);
+        }
     };
 
+    private static byte[] attributeValue(Object attribute) {
+        return attribute instanceof BluetoothGattDescriptor
+            ? ((BluetoothGattDescriptor) attribute).getValue()
+            : LocalCharacteristic.getValue((BluetoothGattCharacteristic) attribute);
+    }
+
     private JSArray bytesToJsArray(byte[] bytes) {
         JSArray array = new JSArray();
         if (bytes != null) {
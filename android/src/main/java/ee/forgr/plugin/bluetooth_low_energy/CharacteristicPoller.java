@@ -0,0 +1,109 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import java.util.Arrays;
+
+/**
+ * State for a characteristic read periodically on the BLE thread.
+ *
+ * Every tick enqueues a read on the device's GattOperationQueue, so polls never collide with
+ * reads and writes issued from JS, and the next tick is only scheduled once the read completed.
+ * When the queue already holds work or a read fails, the delay doubles up to
+ * {@code MAX_BACKOFF} times the interval and returns to the interval after a successful read
+ * on an idle link.
+ */
+class CharacteristicPoller {
+
+    private static final int MAX_BACKOFF = 8;
+
+    /**
+     * A poll read. It has no PluginCall, since the startPolling call is settled once polling
+     * starts: results are emitted as events and failures go to {@code failureTask}. This also
+     * keeps poll reads out of cancelOperations, which matches operations by their call.
+     */
+    static class Read extends GattOperationQueue.Operation {
+
+        final CharacteristicPoller poller;
+
+        Read(CharacteristicPoller poller) {
+            super(
+                GattOperationQueue.Type.READ_CHARACTERISTIC,
+                null,
+                poller.characteristic,
+                () -> poller.gatt.readCharacteristic(poller.characteristic),
+                "Read failed"
+            );
+            this.poller = poller;
+        }
+
+        @Override
+        void fail(String message, String code) {
+            poller.failureTask.run();
+        }
+    }
+
+    final String deviceId;
+    final String serviceUuid;
+    final String characteristicUuid;
+    final BluetoothGatt gatt;
+    final BluetoothGattCharacteristic characteristic;
+    final long interval;
+    final boolean changesOnly;
+    final String encoding;
+    // Milliseconds each read may stay in flight, 0 for no deadline.
+    final long readTimeout;
+    Runnable tickTask;
+    Runnable failureTask;
+    long lastTickAt;
+
+    private long delay;
+    private byte[] lastValue;
+
+    CharacteristicPoller(
+        String deviceId,
+        String serviceUuid,
+        String characteristicUuid,
+        BluetoothGatt gatt,
+        BluetoothGattCharacteristic characteristic,
+        long interval,
+        boolean changesOnly,
+        String encoding,
+        long readTimeout
+    ) {
+        this.deviceId = deviceId;
+        this.serviceUuid = serviceUuid;
+        this.characteristicUuid = characteristicUuid;
+        this.gatt = gatt;
+        this.characteristic = characteristic;
+        this.interval = interval;
+        this.changesOnly = changesOnly;
+        this.encoding = encoding;
+        this.readTimeout = readTimeout;
+        this.delay = interval;
+    }
+
+    /**
+     * Milliseconds until the next tick, counted from the start of the previous one so the read
+     * latency does not stretch the period.
+     */
+    long nextDelay(long now) {
+        return Math.max(delay - (now - lastTickAt), 0);
+    }
+
+    void backOff() {
+        delay = Math.min(delay * 2, interval * MAX_BACKOFF);
+    }
+
+    /**
+     * Records a successfully read value and returns whether it should be emitted.
+     */
+    boolean onValue(byte[] value) {
+        delay = interval;
+        if (changesOnly && Arrays.equals(lastValue, value)) {
+            return false;
+        }
+        lastValue = value;
+        return true;
+    }
+}
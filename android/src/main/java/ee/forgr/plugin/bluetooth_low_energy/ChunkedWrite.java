@@ -0,0 +1,246 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothStatusCodes;
+import android.os.Build;
+import android.os.Handler;
+import android.os.SystemClock;
+import com.getcapacitor.PluginCall;
+import java.util.Arrays;
+
+/**
+ * A characteristic write larger than a single ATT packet.
+ *
+ * The payload is split into {@code chunkSize} pieces that are written back to back from the
+ * GATT callbacks, so the whole transfer costs a single bridge round trip. The operation stays
+ * in flight in the GattOperationQueue until the last chunk is acknowledged, so other requests
+ * cannot interleave with it. With {@code reliable}, the payload is a single chunk written as
+ * one reliable write transaction: the echoed value is verified before executeReliableWrite
+ * commits it. Android sends all prepared writes at offset 0, so writeLarge rejects reliable
+ * payloads larger than one chunk.
+ *
+ * Sending is credit based: up to {@code maxInFlight} chunks are handed to the stack before
+ * their onCharacteristicWrite, and each completion returns a credit. When the stack reports
+ * it is busy with nothing in flight, {@code retryTask} is scheduled with an exponential
+ * back-off instead of failing the transfer.
+ */
+class ChunkedWrite extends GattOperationQueue.Operation {
+
+    static final int DEFAULT_MAX_IN_FLIGHT = 1;
+    private static final int MAX_BUSY_RETRIES = 10;
+    private static final long MAX_BACKOFF = 64;
+
+    final String deviceId;
+    final String serviceUuid;
+    final String characteristicUuid;
+    final BluetoothGatt gatt;
+    final BluetoothGattCharacteristic characteristic;
+    final int chunkSize;
+    final int writeType;
+    final boolean reliable;
+    final int maxInFlight;
+    final long progressInterval;
+    long lastProgressAt;
+    Runnable retryTask;
+
+    private final Handler handler;
+    private final byte[] data;
+    private boolean started = false;
+    private int sentBytes = 0;
+    private int ackedBytes = 0;
+    private int inFlight = 0;
+    private byte[] lastChunk;
+    private int busyRetries = 0;
+    private long startedAt;
+
+    ChunkedWrite(
+        PluginCall call,
+        String deviceId,
+        String serviceUuid,
+        String characteristicUuid,
+        BluetoothGatt gatt,
+        BluetoothGattCharacteristic characteristic,
+        byte[] data,
+        int chunkSize,
+        int writeType,
+        boolean reliable,
+        int maxInFlight,
+        long progressInterval,
+        Handler handler
+    ) {
+        super(GattOperationQueue.Type.WRITE_CHARACTERISTIC, call, characteristic, null, "Write failed");
+        this.deviceId = deviceId;
+        this.serviceUuid = serviceUuid;
+        this.characteristicUuid = characteristicUuid;
+        this.gatt = gatt;
+        this.characteristic = characteristic;
+        this.data = data;
+        this.chunkSize = chunkSize;
+        this.writeType = writeType;
+        this.reliable = reliable;
+        // Only writes without response can be pipelined, ATT allows a single outstanding request.
+        this.maxInFlight = writeType == BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE && !reliable ? Math.max(maxInFlight, 1) : 1;
+        this.progressInterval = progressInterval;
+        this.handler = handler;
+    }
+
+    /**
+     * Returns why a payload of the given length cannot be written in chunks of chunkSize bytes,
+     * or null when it can. Android sends every prepared write of a transaction at offset 0, so a
+     * reliable write cannot span several chunks without the peripheral overwriting the first one.
+     */
+    static String checkSize(int length, int chunkSize, boolean reliable) {
+        if (chunkSize <= 0) {
+            return "chunkSize must be greater than 0";
+        }
+        if (reliable && length > chunkSize) {
+            return "Reliable writes are limited to " + chunkSize + " bytes, a single chunk";
+        }
+        return null;
+    }
+
+    /**
+     * Writes a value and returns a BluetoothStatusCodes value, using the status-returning API
+     * where available so a busy stack can be told apart from a failure.
+     */
+    static int writeCharacteristic(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, byte[] value, int writeType)
+        throws SecurityException {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            return gatt.writeCharacteristic(characteristic, value, writeType);
+        }
+        characteristic.setValue(value);
+        characteristic.setWriteType(writeType);
+        return gatt.writeCharacteristic(characteristic) ? BluetoothStatusCodes.SUCCESS : BluetoothStatusCodes.ERROR_UNKNOWN;
+    }
+
+    @Override
+    boolean start() throws SecurityException {
+        startedAt = SystemClock.elapsedRealtime();
+        return pump();
+    }
+
+    @Override
+    void abandon() {
+        removeCallbacks(retryTask);
+        if (reliable) {
+            try {
+                gatt.abortReliableWrite();
+            } catch (SecurityException e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Sends chunks until the credits are used up. Returns false when the transfer failed.
+     */
+    boolean pump() throws SecurityException {
+        while (hasUnsentChunks() && inFlight < maxInFlight) {
+            int status = sendChunk();
+            if (status == BluetoothStatusCodes.SUCCESS) {
+                continue;
+            }
+            if (!isBusy(status)) {
+                return false;
+            }
+            if (inFlight > 0) {
+                // A pending completion returns a credit and pumps again.
+                return true;
+            }
+            if (busyRetries >= MAX_BUSY_RETRIES) {
+                return false;
+            }
+            postDelayed(retryTask, Math.min(1L << busyRetries, MAX_BACKOFF));
+            busyRetries++;
+            return true;
+        }
+        return true;
+    }
+
+    private int sendChunk() throws SecurityException {
+        int length = Math.min(chunkSize, data.length - sentBytes);
+        byte[] chunk = Arrays.copyOfRange(data, sentBytes, sentBytes + length);
+        int status = write(chunk);
+        if (status == BluetoothStatusCodes.SUCCESS) {
+            started = true;
+            lastChunk = chunk;
+            sentBytes += length;
+            inFlight++;
+            busyRetries = 0;
+        }
+        return status;
+    }
+
+    /**
+     * Hands a chunk to the stack and returns a BluetoothStatusCodes value.
+     */
+    int write(byte[] chunk) throws SecurityException {
+        if (!reliable) {
+            return writeCharacteristic(gatt, characteristic, chunk, writeType);
+        }
+        // The echoed value of a reliable write is only exposed through getValue.
+        if (!gatt.beginReliableWrite()) {
+            return BluetoothStatusCodes.ERROR_UNKNOWN;
+        }
+        characteristic.setValue(chunk);
+        characteristic.setWriteType(writeType);
+        return gatt.writeCharacteristic(characteristic) ? BluetoothStatusCodes.SUCCESS : BluetoothStatusCodes.ERROR_UNKNOWN;
+    }
+
+    void postDelayed(Runnable task, long delay) {
+        handler.postDelayed(task, delay);
+    }
+
+    void removeCallbacks(Runnable task) {
+        if (task != null) {
+            handler.removeCallbacks(task);
+        }
+    }
+
+    private boolean isBusy(int status) {
+        // Before Android 13 a busy stack is indistinguishable from other refusals, so those are
+        // retried too and eventually fail after MAX_BUSY_RETRIES.
+        return (
+            status == BluetoothStatusCodes.ERROR_GATT_WRITE_REQUEST_BUSY ||
+            (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU && status == BluetoothStatusCodes.ERROR_UNKNOWN)
+        );
+    }
+
+    /**
+     * Accounts for an acknowledged chunk and returns its credit. Returns false when a reliable
+     * write echoed back a different value than the one sent.
+     */
+    boolean onChunkWritten(byte[] echoed) {
+        if (inFlight == 0) {
+            return true;
+        }
+        inFlight--;
+        if (reliable && !Arrays.equals(lastChunk, echoed)) {
+            return false;
+        }
+        ackedBytes += Math.min(chunkSize, data.length - ackedBytes);
+        return true;
+    }
+
+    private boolean hasUnsentChunks() {
+        return !started || sentBytes < data.length;
+    }
+
+    boolean isComplete() {
+        return !hasUnsentChunks() && inFlight == 0;
+    }
+
+    int bytesWritten() {
+        return ackedBytes;
+    }
+
+    int totalBytes() {
+        return data.length;
+    }
+
+    long bytesPerSecond() {
+        long elapsed = Math.max(SystemClock.elapsedRealtime() - startedAt, 1);
+        return ackedBytes * 1000L / elapsed;
+    }
+}
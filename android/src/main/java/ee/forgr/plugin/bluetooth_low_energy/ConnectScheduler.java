@@ -0,0 +1,176 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGatt;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schedules outgoing connections against a limited number of connection slots.
+ *
+ * Controllers only support a handful of simultaneous links and establish them one at a time,
+ * so connection requests are queued here and dispatched while fewer than {@code maxSlots}
+ * devices are connected or connecting. Each request carries its own listener, so every
+ * connect call is settled by its own device. A request keeps its slot while it waits to
+ * retry a failed attempt. Only used from the BLE thread.
+ */
+class ConnectScheduler {
+
+    static final int DEFAULT_MAX_SLOTS = 7;
+    // Applied to direct connections, a background autoConnect waits indefinitely by default.
+    static final long DEFAULT_TIMEOUT = 30000;
+    static final int DEFAULT_RETRIES = 0;
+    static final long DEFAULT_RETRY_DELAY = 500;
+
+    interface Listener {
+        /**
+         * Called once per request, with a null error when the device connected. The code is
+         * set for timeouts and cancellations.
+         */
+        void onResult(String error, String code);
+    }
+
+    static class Request {
+
+        final String deviceId;
+        final BluetoothDevice device;
+        final boolean autoConnect;
+        final long timeout;
+        final int retries;
+        final long retryDelay;
+        final ReconnectState.Policy reconnectPolicy;
+        final int maxReconnectAttempts;
+        final long reconnectDelay;
+        final long reconnectTimeout;
+        final Listener listener;
+        BluetoothGatt gatt;
+        int attempt = 0;
+        Runnable timeoutTask;
+        Runnable retryTask;
+
+        Request(
+            String deviceId,
+            BluetoothDevice device,
+            boolean autoConnect,
+            long timeout,
+            int retries,
+            long retryDelay,
+            ReconnectState.Policy reconnectPolicy,
+            int maxReconnectAttempts,
+            long reconnectDelay,
+            long reconnectTimeout,
+            Listener listener
+        ) {
+            this.deviceId = deviceId;
+            this.device = device;
+            this.autoConnect = autoConnect;
+            this.timeout = timeout;
+            this.retries = retries;
+            this.retryDelay = retryDelay;
+            this.reconnectPolicy = reconnectPolicy;
+            this.maxReconnectAttempts = maxReconnectAttempts;
+            this.reconnectDelay = reconnectDelay;
+            this.reconnectTimeout = reconnectTimeout;
+            this.listener = listener;
+        }
+
+        boolean canRetry() {
+            return attempt < retries;
+        }
+    }
+
+    private final ArrayDeque<Request> queued = new ArrayDeque<>();
+    private final Map<String, Request> connecting = new HashMap<>();
+    private int maxSlots = DEFAULT_MAX_SLOTS;
+
+    void setMaxSlots(int maxSlots) {
+        this.maxSlots = Math.max(maxSlots, 1);
+    }
+
+    /**
+     * Returns true when a request for the device is already queued or connecting.
+     */
+    boolean contains(String deviceId) {
+        if (connecting.containsKey(deviceId)) {
+            return true;
+        }
+        for (Request request : queued) {
+            if (request.deviceId.equals(deviceId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void enqueue(Request request) {
+        queued.add(request);
+    }
+
+    /**
+     * Takes the next queued request if a slot is free, given the devices holding a GATT. The
+     * request counts as connecting until it is completed, including between retries.
+     */
+    Request poll(Set<String> connectedDevices) {
+        int occupiedSlots = connectedDevices.size();
+        for (String deviceId : connecting.keySet()) {
+            if (!connectedDevices.contains(deviceId)) {
+                occupiedSlots++;
+            }
+        }
+        if (occupiedSlots >= maxSlots || queued.isEmpty()) {
+            return null;
+        }
+        Request request = queued.poll();
+        connecting.put(request.deviceId, request);
+        return request;
+    }
+
+    /**
+     * Returns the connecting request of a device without completing it, or null.
+     */
+    Request connecting(String deviceId) {
+        return connecting.get(deviceId);
+    }
+
+    /**
+     * Removes and returns the connecting request of a device, or null.
+     */
+    Request complete(String deviceId) {
+        return connecting.remove(deviceId);
+    }
+
+    /**
+     * Removes and returns the request of a device, whether queued or connecting.
+     */
+    Request cancel(String deviceId) {
+        Request request = connecting.remove(deviceId);
+        if (request != null) {
+            return request;
+        }
+        Iterator<Request> iterator = queued.iterator();
+        while (iterator.hasNext()) {
+            request = iterator.next();
+            if (request.deviceId.equals(deviceId)) {
+                iterator.remove();
+                return request;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes and returns every request, connecting ones first.
+     */
+    List<Request> cancelAll() {
+        List<Request> requests = new ArrayList<>(connecting.values());
+        requests.addAll(queued);
+        connecting.clear();
+        queued.clear();
+        return requests;
+    }
+}
@@ -0,0 +1,94 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothDevice;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded registry of discovered devices, so connect and createBond can resolve a device
+ * that was seen while scanning.
+ *
+ * Entries are kept in least-recently-used order, where both a new sighting and a lookup
+ * count as a use. The registry holds at most {@code capacity} devices and, when
+ * {@code ttl} is positive, drops devices unused for longer than {@code ttl} milliseconds.
+ * Mutating calls return the ids that were evicted so the caller can report them.
+ */
+class DeviceRegistry {
+
+    static final int DEFAULT_CAPACITY = 1000;
+    static final long DEFAULT_TTL = 0;
+
+    private static class Entry {
+
+        final BluetoothDevice device;
+        long lastUsed;
+
+        Entry(BluetoothDevice device, long lastUsed) {
+            this.device = device;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int capacity = DEFAULT_CAPACITY;
+    private long ttl = DEFAULT_TTL;
+
+    synchronized List<String> configure(int capacity, long ttl, long now) {
+        this.capacity = Math.max(capacity, 1);
+        this.ttl = Math.max(ttl, 0);
+        return evict(now);
+    }
+
+    synchronized List<String> put(String deviceId, BluetoothDevice device, long now) {
+        Entry entry = entries.get(deviceId);
+        if (entry != null) {
+            entry.lastUsed = now;
+        } else {
+            entries.put(deviceId, new Entry(device, now));
+        }
+        return evict(now);
+    }
+
+    /**
+     * Returns the device if it is registered and not expired, or null. A successful lookup
+     * counts as a use. Expired entries are left for {@link #evictExpired}, which reports them.
+     */
+    synchronized BluetoothDevice get(String deviceId, long now) {
+        Entry entry = entries.get(deviceId);
+        if (entry == null || isExpired(entry, now)) {
+            return null;
+        }
+        entry.lastUsed = now;
+        return entry.device;
+    }
+
+    synchronized List<String> evictExpired(long now) {
+        return evict(now);
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttl > 0 && now - entry.lastUsed > ttl;
+    }
+
+    private List<String> evict(long now) {
+        List<String> evicted = null;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            // Access order keeps the least recently used entry first, so stop at the first keeper.
+            if (entries.size() <= capacity && !isExpired(eldest.getValue(), now)) {
+                break;
+            }
+            iterator.remove();
+            if (evicted == null) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(eldest.getKey());
+        }
+        return evicted != null ? evicted : Collections.emptyList();
+    }
+}
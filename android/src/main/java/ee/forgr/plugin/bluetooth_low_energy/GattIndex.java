@@ -0,0 +1,75 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import com.getcapacitor.JSArray;
+import java.util.List;
+
+/**
+ * Lookup index over the services of a connected GATT, built once per service discovery
+ * together with the serialized service tree returned by getServices, which comes from the
+ * GattLayoutCache until the device hash read after the discovery contradicts it.
+ *
+ * Characteristics are keyed by their instance ID, which is unique within the GATT database,
+ * and by their normalized UUID strings. When a UUID appears more than once, UUID lookups
+ * return the first instance, like BluetoothGatt.getService and getCharacteristic, and callers
+ * pass the instance ID from getServices to reach the others. Descriptors are keyed by the
+ * instance ID of their characteristic and their normalized UUID. See AttributeIndex for the
+ * lookup rules, which also remember the UUID strings exactly as they were passed from JS.
+ */
+class GattIndex {
+
+    final JSArray servicesJson;
+    final boolean cached;
+
+    private final AttributeIndex<BluetoothGattCharacteristic> characteristics = new AttributeIndex<>();
+    private final AttributeIndex<BluetoothGattDescriptor> descriptors = new AttributeIndex<>();
+
+    GattIndex(List<BluetoothGattService> services, JSArray servicesJson, boolean cached) {
+        this.servicesJson = servicesJson;
+        this.cached = cached;
+        for (BluetoothGattService service : services) {
+            String serviceUuid = service.getUuid().toString();
+            for (BluetoothGattCharacteristic characteristic : service.getCharacteristics()) {
+                int instanceId = characteristic.getInstanceId();
+                characteristics.add(serviceUuid + "/" + characteristic.getUuid().toString(), instanceId, characteristic);
+                for (BluetoothGattDescriptor descriptor : characteristic.getDescriptors()) {
+                    descriptors.add(instanceId + "/" + descriptor.getUuid().toString(), null, descriptor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the characteristic with the given UUIDs, or the instance with the given ID when
+     * instanceId is not null. Returns null when the instance does not have the given UUIDs.
+     */
+    BluetoothGattCharacteristic findCharacteristic(String serviceUuid, String characteristicUuid, Integer instanceId) {
+        String alias = serviceUuid + "/" + characteristicUuid + (instanceId != null ? "#" + instanceId : "");
+        BluetoothGattCharacteristic characteristic = characteristics.recall(alias);
+        if (characteristic == null) {
+            characteristic = characteristics.get(
+                BluetoothLowEnergyPlugin.normalizeUuid(serviceUuid) + "/" + BluetoothLowEnergyPlugin.normalizeUuid(characteristicUuid),
+                instanceId
+            );
+            characteristics.remember(alias, characteristic);
+        }
+        return characteristic;
+    }
+
+    BluetoothGattDescriptor findDescriptor(String serviceUuid, String characteristicUuid, Integer instanceId, String descriptorUuid) {
+        String alias = serviceUuid + "/" + characteristicUuid + (instanceId != null ? "#" + instanceId : "") + "/" + descriptorUuid;
+        BluetoothGattDescriptor descriptor = descriptors.recall(alias);
+        if (descriptor == null) {
+            BluetoothGattCharacteristic characteristic = findCharacteristic(serviceUuid, characteristicUuid, instanceId);
+            if (characteristic == null) {
+                return null;
+            }
+            String path = characteristic.getInstanceId() + "/" + BluetoothLowEnergyPlugin.normalizeUuid(descriptorUuid);
+            descriptor = descriptors.get(path, null);
+            descriptors.remember(alias, descriptor);
+        }
+        return descriptor;
+    }
+}
@@ -0,0 +1,150 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.getcapacitor.JSArray;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.json.JSONException;
+
+/**
+ * Persists the serialized service layout of each device across sessions, keyed by the device
+ * address and a hash the device provides for its attribute database: the value of the Database
+ * Hash characteristic (0x2B2A) when the device has one, else its Firmware Revision String
+ * (0x2A26). Devices exposing neither are not cached.
+ *
+ * The stored layout answers getServices as soon as the device connects. Android can only issue
+ * GATT requests on attributes it discovered itself, the hash included, so services are still
+ * discovered in the background and the hash is read afterwards, without holding back other
+ * requests. The same hash confirms the stored layout; a different one means the firmware changed
+ * the layout, and the entry is replaced. Entries are also removed when the peripheral indicates
+ * Service Changed. Only used on the BLE thread.
+ */
+class GattLayoutCache {
+
+    /**
+     * Read of the hash characteristic that follows a discovery. Failing it leaves the layout
+     * unconfirmed, so the discovered one is served and nothing is stored.
+     */
+    static class HashRead extends GattOperationQueue.Operation {
+
+        private final Runnable failureTask;
+
+        HashRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, Runnable failureTask) {
+            super(
+                GattOperationQueue.Type.READ_CHARACTERISTIC,
+                null,
+                characteristic,
+                () -> gatt.readCharacteristic(characteristic),
+                "Read failed"
+            );
+            this.failureTask = failureTask;
+        }
+
+        @Override
+        void fail(String message, String code) {
+            failureTask.run();
+        }
+    }
+
+    private static final UUID GENERIC_ATTRIBUTE_SERVICE = UUID.fromString("00001801-0000-1000-8000-00805f9b34fb");
+    private static final UUID DATABASE_HASH = UUID.fromString("00002b2a-0000-1000-8000-00805f9b34fb");
+    private static final UUID DEVICE_INFORMATION_SERVICE = UUID.fromString("0000180a-0000-1000-8000-00805f9b34fb");
+    private static final UUID FIRMWARE_REVISION = UUID.fromString("00002a26-0000-1000-8000-00805f9b34fb");
+
+    private static final String PREFERENCES_NAME = "BluetoothLowEnergyGattCache";
+    private static final String HASH_SUFFIX = "#hash";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final SharedPreferences preferences;
+    // Layouts already parsed in this session, so the stored JSON is parsed once per device.
+    private final Map<String, JSArray> layouts = new HashMap<>();
+
+    GattLayoutCache(Context context) {
+        preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Returns the characteristic holding the hash of a discovered database, or null when the
+     * device exposes neither a Database Hash nor a Firmware Revision String.
+     */
+    static BluetoothGattCharacteristic findHashCharacteristic(List<BluetoothGattService> services) {
+        BluetoothGattCharacteristic firmwareRevision = null;
+        for (BluetoothGattService service : services) {
+            if (GENERIC_ATTRIBUTE_SERVICE.equals(service.getUuid()) && service.getCharacteristic(DATABASE_HASH) != null) {
+                return service.getCharacteristic(DATABASE_HASH);
+            }
+            if (firmwareRevision == null && DEVICE_INFORMATION_SERVICE.equals(service.getUuid())) {
+                firmwareRevision = service.getCharacteristic(FIRMWARE_REVISION);
+            }
+        }
+        return firmwareRevision;
+    }
+
+    /**
+     * Builds the cache key hash from the value read from the hash characteristic, given the UUID
+     * of that characteristic. The source is part of the hash, so a Database Hash never matches a
+     * firmware revision.
+     */
+    static String hash(UUID source, byte[] value) {
+        char[] hex = new char[value.length * 2];
+        for (int i = 0; i < value.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(value[i] >> 4) & 0x0F];
+            hex[i * 2 + 1] = HEX_DIGITS[value[i] & 0x0F];
+        }
+        return (DATABASE_HASH.equals(source) ? "db:" : "fw:") + new String(hex);
+    }
+
+    /**
+     * Returns true when a layout is stored for the device, whatever its hash.
+     */
+    boolean contains(String deviceId) {
+        return preferences.contains(deviceId + HASH_SUFFIX);
+    }
+
+    /**
+     * Returns true when the layout stored for the device was stored under the given hash.
+     */
+    boolean matches(String deviceId, String hash) {
+        return hash.equals(preferences.getString(deviceId + HASH_SUFFIX, null));
+    }
+
+    /**
+     * Returns the layout stored for the device, whatever its hash, or null when there is none.
+     */
+    JSArray get(String deviceId) {
+        JSArray layout = layouts.get(deviceId);
+        if (layout == null) {
+            String json = preferences.getString(deviceId, null);
+            if (json == null) {
+                return null;
+            }
+            try {
+                layout = new JSArray(json);
+            } catch (JSONException e) {
+                remove(deviceId);
+                return null;
+            }
+            layouts.put(deviceId, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Stores a freshly discovered layout under the given hash, replacing any previous one.
+     */
+    void put(String deviceId, String hash, JSArray layout) {
+        layouts.put(deviceId, layout);
+        preferences.edit().putString(deviceId, layout.toString()).putString(deviceId + HASH_SUFFIX, hash).apply();
+    }
+
+    void remove(String deviceId) {
+        layouts.remove(deviceId);
+        preferences.edit().remove(deviceId).remove(deviceId + HASH_SUFFIX).apply();
+    }
+}
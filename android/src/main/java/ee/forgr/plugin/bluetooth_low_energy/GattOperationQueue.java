@@ -0,0 +1,276 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.os.Handler;
+import com.getcapacitor.PluginCall;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Serializes GATT client operations for a single BluetoothGatt.
+ *
+ * Android only allows one outstanding GATT request per connection, so every read, write,
+ * descriptor or MTU/RSSI/PHY request is queued here and started once the previous one has
+ * completed. Completions coming from the BluetoothGattCallback are matched against the
+ * operation currently in flight, so each PluginCall is resolved by its own callback.
+ *
+ * Every started operation has a deadline on the BLE handler. When its callback does not arrive
+ * in time the operation is rejected with {@link #TIMEOUT}, but the stack still has the request
+ * outstanding, and its late callback would otherwise complete the next operation with stale
+ * data. The queue therefore holds until that callback arrives and drops it. When it does not
+ * arrive within {@link #STALL_TIMEOUT} either, the link is considered stalled and the stall
+ * listener is told, so the connection can be torn down instead of waiting forever. Operations
+ * whose callback may legitimately never come, like connection parameter updates, settle
+ * themselves at their deadline instead and the queue goes on. Operations
+ * still waiting in the queue can be cancelled, which rejects them with {@link #CANCELLED}.
+ */
+class GattOperationQueue {
+
+    static final long DEFAULT_TIMEOUT = 30000;
+    static final long STALL_TIMEOUT = 5000;
+    static final String TIMEOUT = "TIMEOUT";
+    static final String CANCELLED = "CANCELLED";
+
+    enum Type {
+        DISCOVER_SERVICES,
+        READ_CHARACTERISTIC,
+        WRITE_CHARACTERISTIC,
+        READ_DESCRIPTOR,
+        WRITE_DESCRIPTOR,
+        REQUEST_MTU,
+        REQUEST_CONNECTION_PRIORITY,
+        READ_RSSI,
+        SET_PREFERRED_PHY,
+        READ_PHY
+    }
+
+    interface Action {
+        /**
+         * Starts the GATT request. Returns false when the stack refused it, in which case
+         * no callback will follow and the operation is rejected immediately.
+         */
+        boolean start() throws SecurityException;
+    }
+
+    interface OperationFilter {
+        boolean accept(Operation operation);
+    }
+
+    static class Operation {
+
+        final Type type;
+        final PluginCall call;
+        final Object target;
+        final Action action;
+        final String failureMessage;
+        // Milliseconds the operation may stay in flight, 0 for no deadline.
+        long timeout = DEFAULT_TIMEOUT;
+        Runnable timeoutTask;
+
+        Operation(Type type, PluginCall call, Object target, Action action, String failureMessage) {
+            this.type = type;
+            this.call = call;
+            this.target = target;
+            this.action = action;
+            this.failureMessage = failureMessage;
+        }
+
+        boolean matches(Type type, Object target) {
+            return this.type == type && (this.target == null || target == null || this.target == target);
+        }
+
+        /**
+         * Starts the operation. Multi-step operations override this and stay in flight until
+         * they are completed explicitly.
+         */
+        boolean start() throws SecurityException {
+            return action.start();
+        }
+
+        /**
+         * Releases what a multi-step operation holds when it is abandoned while in flight.
+         */
+        void abandon() {}
+
+        /**
+         * Called at the deadline. Returns true when the operation settled itself because its
+         * callback is not guaranteed, so the queue does not wait for a late one.
+         */
+        boolean expire() {
+            return false;
+        }
+
+        /**
+         * Reports a failure detected by the queue itself.
+         */
+        void fail(String message, String code) {
+            call.reject(message, code);
+        }
+    }
+
+    private final Handler handler;
+    private final Runnable stallListener;
+    private final ArrayDeque<Operation> pending = new ArrayDeque<>();
+    private Operation current;
+    // Timed out operation whose callback is still expected, nothing starts while it is set.
+    private Operation timedOut;
+    private final Runnable stallTask = this::stall;
+    private boolean closed = false;
+
+    GattOperationQueue(Handler handler, Runnable stallListener) {
+        this.handler = handler;
+        this.stallListener = stallListener;
+    }
+
+    synchronized void enqueue(Operation operation) {
+        if (closed) {
+            operation.fail("Device not connected", null);
+            return;
+        }
+        pending.add(operation);
+        startNext();
+    }
+
+    /**
+     * Returns the in-flight operation if it matches the callback type and target, without
+     * completing it.
+     */
+    synchronized Operation current(Type type, Object target) {
+        return current != null && current.matches(type, target) ? current : null;
+    }
+
+    /**
+     * Returns the in-flight operation if it matches the callback type and target, and starts
+     * the next queued operation. Returns null for unsolicited callbacks.
+     */
+    synchronized Operation complete(Type type, Object target) {
+        if (timedOut != null && timedOut.matches(type, target)) {
+            // Late callback of the timed out operation, the link is usable again.
+            removeCallbacks(stallTask);
+            timedOut = null;
+            startNext();
+            return null;
+        }
+        if (current == null || !current.matches(type, target)) {
+            return null;
+        }
+        Operation completed = current;
+        removeCallbacks(completed.timeoutTask);
+        current = null;
+        startNext();
+        return completed;
+    }
+
+    /**
+     * Restarts the deadline of the in-flight operation. Used by multi-step operations on
+     * every step, so the timeout bounds each step rather than the whole transfer.
+     */
+    synchronized void extendTimeout(Operation operation) {
+        if (current == operation) {
+            scheduleTimeout(operation);
+        }
+    }
+
+    /**
+     * Rejects the queued operations accepted by the filter, leaving the in-flight one alone
+     * since the stack cannot abort a request it already sent. Returns how many were cancelled.
+     */
+    synchronized int cancel(OperationFilter filter) {
+        int cancelled = 0;
+        Iterator<Operation> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Operation operation = iterator.next();
+            if (filter.accept(operation)) {
+                iterator.remove();
+                operation.fail("Operation cancelled", CANCELLED);
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Rejects the in-flight and queued operations. Used when the connection goes away.
+     */
+    synchronized void close(String reason) {
+        closed = true;
+        removeCallbacks(stallTask);
+        timedOut = null;
+        if (current != null) {
+            removeCallbacks(current.timeoutTask);
+            current.abandon();
+            current.fail(reason, null);
+            current = null;
+        }
+        while (!pending.isEmpty()) {
+            pending.poll().fail(reason, null);
+        }
+    }
+
+    synchronized int size() {
+        return pending.size() + (current != null ? 1 : 0);
+    }
+
+    private void startNext() {
+        while (current == null && timedOut == null && !pending.isEmpty()) {
+            Operation next = pending.poll();
+            try {
+                if (next.start()) {
+                    current = next;
+                    scheduleTimeout(next);
+                } else {
+                    next.fail(next.failureMessage, null);
+                }
+            } catch (SecurityException e) {
+                next.fail("Permission denied: " + e.getMessage(), null);
+            } catch (Exception e) {
+                next.fail(next.failureMessage + ": " + e.getMessage(), null);
+            }
+        }
+    }
+
+    private void scheduleTimeout(Operation operation) {
+        removeCallbacks(operation.timeoutTask);
+        if (operation.timeout <= 0) {
+            return;
+        }
+        if (operation.timeoutTask == null) {
+            operation.timeoutTask = () -> timeout(operation);
+        }
+        postDelayed(operation.timeoutTask, operation.timeout);
+    }
+
+    private synchronized void timeout(Operation operation) {
+        if (current != operation) {
+            return;
+        }
+        current = null;
+        if (operation.expire()) {
+            startNext();
+            return;
+        }
+        timedOut = operation;
+        postDelayed(stallTask, STALL_TIMEOUT);
+        operation.abandon();
+        operation.fail("Operation timed out", TIMEOUT);
+    }
+
+    // Deadlines go through these two methods, so tests can run the queue without a Looper.
+    void postDelayed(Runnable task, long delay) {
+        handler.postDelayed(task, delay);
+    }
+
+    void removeCallbacks(Runnable task) {
+        if (task != null) {
+            handler.removeCallbacks(task);
+        }
+    }
+
+    private void stall() {
+        synchronized (this) {
+            if (timedOut == null || closed) {
+                return;
+            }
+        }
+        stallListener.run();
+    }
+}
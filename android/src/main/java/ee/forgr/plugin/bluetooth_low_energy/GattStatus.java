@@ -0,0 +1,70 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothGatt;
+import java.lang.reflect.Method;
+
+/**
+ * Classifies the status reported with onConnectionStateChange.
+ *
+ * The public BluetoothGatt constants only cover a few of the values the stack reports, so
+ * the HCI and GATT codes seen in the field are named here from the Bluetooth stack sources.
+ */
+class GattStatus {
+
+    static final int CONN_TIMEOUT = 0x08;
+    static final int CONN_TERMINATE_PEER_USER = 0x13;
+    static final int CONN_TERMINATE_LOCAL_HOST = 0x16;
+    static final int CONN_LMP_TIMEOUT = 0x22;
+    static final int CONN_FAIL_ESTABLISH = 0x3E;
+    static final int GATT_ERROR = 0x85;
+
+    private GattStatus() {}
+
+    /**
+     * Returns the reason reported to JS for a disconnection with this status.
+     */
+    static String reason(int status) {
+        switch (status) {
+            case BluetoothGatt.GATT_SUCCESS:
+                return "none";
+            case CONN_TIMEOUT:
+                return "connectionTimeout";
+            case CONN_TERMINATE_PEER_USER:
+                return "remoteTerminated";
+            case CONN_TERMINATE_LOCAL_HOST:
+                return "localTerminated";
+            case CONN_LMP_TIMEOUT:
+                return "lmpTimeout";
+            case CONN_FAIL_ESTABLISH:
+                return "failedToEstablish";
+            case GATT_ERROR:
+                return "gattError";
+            case BluetoothGatt.GATT_INSUFFICIENT_AUTHENTICATION:
+            case BluetoothGatt.GATT_INSUFFICIENT_ENCRYPTION:
+                return "insufficientSecurity";
+            default:
+                return "unknown";
+        }
+    }
+
+    /**
+     * Returns true when a connection attempt that failed with this status is worth retrying
+     * with a fresh BluetoothGatt. Terminations requested by either side are final.
+     */
+    static boolean isTransient(int status) {
+        return status == GATT_ERROR || status == CONN_FAIL_ESTABLISH || status == CONN_TIMEOUT || status == CONN_LMP_TIMEOUT;
+    }
+
+    /**
+     * Clears the stack's cached services for the device through the hidden BluetoothGatt.refresh,
+     * so a retry after GATT_ERROR does not reuse a corrupt cache. Returns false when unavailable.
+     */
+    static boolean refresh(BluetoothGatt gatt) {
+        try {
+            Method refresh = gatt.getClass().getMethod("refresh");
+            return (Boolean) refresh.invoke(gatt);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
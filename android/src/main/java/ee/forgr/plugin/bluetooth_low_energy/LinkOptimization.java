@@ -0,0 +1,175 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.os.Handler;
+import android.os.SystemClock;
+import com.getcapacitor.PluginCall;
+
+/**
+ * An optimizeLink run: connection priority, then the largest MTU, then the preferred PHY, or a
+ * PHY read when the profile keeps 1M, then an optional throughput probe.
+ *
+ * The run starts after services are discovered, queueing a discovery first when they are not.
+ * The priority is raised first and, where Android reports connection updates, the next step
+ * only starts once the new interval is in use. The steps are queued back to back as
+ * {@link Step}s on the device's GattOperationQueue, so they run in order after earlier
+ * operations such as service discovery. Steps are best effort: a refused priority, MTU or PHY
+ * leaves the previous value and the run goes on.
+ *
+ * The throughput is measured by the {@link Probe}, a burst of writes without response to a
+ * characteristic chosen by the caller, timed once the link is tuned. Without one, nothing is
+ * written to the peripheral and no throughput is reported.
+ */
+class LinkOptimization {
+
+    static final int MAX_MTU = 517;
+    static final int DEFAULT_PROBE_BYTES = 4096;
+
+    enum Profile {
+        THROUGHPUT(BluetoothGatt.CONNECTION_PRIORITY_HIGH, true),
+        BALANCED(BluetoothGatt.CONNECTION_PRIORITY_BALANCED, true),
+        LOW_POWER(BluetoothGatt.CONNECTION_PRIORITY_LOW_POWER, false);
+
+        final int priority;
+        final boolean prefer2M;
+
+        Profile(int priority, boolean prefer2M) {
+            this.priority = priority;
+            this.prefer2M = prefer2M;
+        }
+    }
+
+    /**
+     * A step of the run. Failures detected by the queue end the step instead of rejecting the
+     * optimizeLink call, which is settled once the last step is done.
+     */
+    static class Step extends GattOperationQueue.Operation {
+
+        final LinkOptimization optimization;
+
+        Step(GattOperationQueue.Type type, LinkOptimization optimization, GattOperationQueue.Action action) {
+            super(type, optimization.call, null, action, "Link optimization failed");
+            this.optimization = optimization;
+        }
+
+        @Override
+        boolean expire() {
+            // Only connection priority steps have a callback Android may never deliver.
+            if (type != GattOperationQueue.Type.REQUEST_CONNECTION_PRIORITY) {
+                return false;
+            }
+            optimization.stepDoneTask.run();
+            return true;
+        }
+
+        @Override
+        void fail(String message, String code) {
+            optimization.stepDoneTask.run();
+        }
+    }
+
+    /**
+     * The throughput probe: {@code probeBytes} zero bytes written without response, timed from
+     * the first chunk to the last acknowledgement. Failures, cancellation included, end the run
+     * without a throughput.
+     */
+    static class Probe extends ChunkedWrite {
+
+        final LinkOptimization optimization;
+
+        Probe(LinkOptimization optimization, BluetoothGattCharacteristic characteristic, int chunkSize, Handler handler) {
+            super(
+                optimization.call,
+                optimization.deviceId,
+                characteristic.getService().getUuid().toString(),
+                characteristic.getUuid().toString(),
+                optimization.gatt,
+                characteristic,
+                new byte[optimization.probeBytes],
+                chunkSize,
+                BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE,
+                false,
+                ChunkedWrite.DEFAULT_MAX_IN_FLIGHT,
+                // No writeProgress events.
+                Long.MAX_VALUE,
+                handler
+            );
+            this.optimization = optimization;
+        }
+
+        @Override
+        void fail(String message, String code) {
+            optimization.probeDoneTask.run();
+        }
+    }
+
+    final String deviceId;
+    final BluetoothGatt gatt;
+    final PluginCall call;
+    final Profile profile;
+    Runnable stepDoneTask;
+    Runnable probeDoneTask;
+
+    // Characteristic the probe writes to, null to skip it.
+    String probeService;
+    String probeCharacteristic;
+    int probeBytes = DEFAULT_PROBE_BYTES;
+    boolean probed = false;
+
+    int mtu;
+    int txPhy = BluetoothDevice.PHY_LE_1M;
+    int rxPhy = BluetoothDevice.PHY_LE_1M;
+    long roundTripTime = 0;
+    // Measured bytes per second of the probe, -1 when it did not run.
+    long throughput = -1;
+
+    private int pendingSteps = 0;
+    private long mtuRequestedAt;
+
+    LinkOptimization(String deviceId, BluetoothGatt gatt, PluginCall call, Profile profile, int mtu) {
+        this.deviceId = deviceId;
+        this.gatt = gatt;
+        this.call = call;
+        this.profile = profile;
+        this.mtu = mtu;
+    }
+
+    static Profile parseProfile(String value) {
+        switch (value) {
+            case "throughput":
+                return Profile.THROUGHPUT;
+            case "balanced":
+                return Profile.BALANCED;
+            case "lowPower":
+                return Profile.LOW_POWER;
+            default:
+                throw new IllegalArgumentException("Invalid profile: " + value);
+        }
+    }
+
+    Step addStep(GattOperationQueue.Type type, GattOperationQueue.Action action) {
+        pendingSteps++;
+        return new Step(type, this, action);
+    }
+
+    /**
+     * Returns true when the step just done was the last one.
+     */
+    boolean completeStep() {
+        return --pendingSteps == 0;
+    }
+
+    void onMtuRequested() {
+        mtuRequestedAt = SystemClock.elapsedRealtime();
+    }
+
+    /**
+     * Records the negotiated MTU. The exchange is a single ATT round trip.
+     */
+    void onMtuChanged(int mtu) {
+        this.mtu = mtu;
+        roundTripTime = Math.max(SystemClock.elapsedRealtime() - mtuRequestedAt, 1);
+    }
+}
@@ -0,0 +1,140 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGattCharacteristic;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A characteristic published by the local GATT server, indexed by the
+ * BluetoothGattCharacteristic instance the server callbacks receive.
+ *
+ * The UUID strings are the normalized ones JS registered, computed once in addGattService so
+ * read and write requests do not have to derive them again.
+ *
+ * With {@code dynamicValue}, reads are held as {@link PendingRead}s until JS answers through
+ * respondToReadRequest or {@code readTimeout} elapses, in which case the current value is
+ * served. An answer stays fresh for {@code cacheTtl} milliseconds, during which further reads
+ * are served natively without asking JS again.
+ *
+ * Subscriptions are tracked per central from its writes to the Client Characteristic
+ * Configuration descriptor, since the descriptor instance itself is shared by all centrals.
+ */
+class LocalCharacteristic {
+
+    static final long DEFAULT_READ_TIMEOUT = 2000;
+
+    static class PendingRead {
+
+        final BluetoothDevice device;
+        final int requestId;
+        final int offset;
+        final BluetoothGattCharacteristic characteristic;
+        Runnable timeoutTask;
+
+        PendingRead(BluetoothDevice device, int requestId, int offset, BluetoothGattCharacteristic characteristic) {
+            this.device = device;
+            this.requestId = requestId;
+            this.offset = offset;
+            this.characteristic = characteristic;
+        }
+    }
+
+    final String serviceUuid;
+    final String characteristicUuid;
+    final String encoding;
+    final boolean dynamicValue;
+    final long readTimeout;
+    final long cacheTtl;
+    // Subscribed central device IDs, mapped to true for indications and false for notifications.
+    final Map<String, Boolean> subscribers = new ConcurrentHashMap<>();
+
+    private volatile long answeredAt = 0;
+
+    LocalCharacteristic(
+        String serviceUuid,
+        String characteristicUuid,
+        String encoding,
+        boolean dynamicValue,
+        long readTimeout,
+        long cacheTtl
+    ) {
+        this.serviceUuid = serviceUuid;
+        this.characteristicUuid = characteristicUuid;
+        this.encoding = encoding;
+        this.dynamicValue = dynamicValue;
+        this.readTimeout = readTimeout;
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Sets the value read requests are served. Before API 33 notifications briefly swap the
+     * characteristic's value while they are sent, so the value is accessed under its lock.
+     */
+    static void setValue(BluetoothGattCharacteristic characteristic, byte[] value) {
+        synchronized (characteristic) {
+            characteristic.setValue(value);
+        }
+    }
+
+    /**
+     * Returns the value read requests are served. See {@link #setValue}.
+     */
+    static byte[] getValue(BluetoothGattCharacteristic characteristic) {
+        synchronized (characteristic) {
+            return characteristic.getValue();
+        }
+    }
+
+    /**
+     * Returns the key of a characteristic in localGattCharacteristics, given its UUIDs in any of
+     * the forms JS accepts.
+     */
+    static String key(String serviceUuid, String characteristicUuid) {
+        return BluetoothLowEnergyPlugin.normalizeUuid(serviceUuid) + "/" + BluetoothLowEnergyPlugin.normalizeUuid(characteristicUuid);
+    }
+
+    /**
+     * Records the Client Characteristic Configuration value a central wrote and returns true when
+     * its subscription changed: enabled, disabled, or switched between notifications and
+     * indications.
+     */
+    boolean updateSubscription(String deviceId, byte[] value) {
+        int flags = value != null && value.length > 0 ? value[0] : 0;
+        boolean indicate = (flags & 0x02) != 0;
+        boolean enabled = (flags & 0x03) != 0;
+        Boolean previous = enabled ? subscribers.put(deviceId, indicate) : subscribers.remove(deviceId);
+        return enabled ? !Boolean.valueOf(indicate).equals(previous) : previous != null;
+    }
+
+    /**
+     * Returns the Client Characteristic Configuration value served to a central's reads.
+     */
+    byte[] configurationValue(String deviceId) {
+        Boolean indicate = subscribers.get(deviceId);
+        return new byte[] { (byte) (indicate == null ? 0x00 : indicate ? 0x02 : 0x01), 0x00 };
+    }
+
+    static String pendingReadKey(String deviceId, int requestId) {
+        return deviceId + "/" + requestId;
+    }
+
+    /**
+     * Records that JS answered a read at {@code now}, in {@code SystemClock.elapsedRealtime()}
+     * milliseconds.
+     */
+    void onAnswered(long now) {
+        answeredAt = now;
+    }
+
+    /**
+     * Returns true when a read at {@code now} must be answered by JS rather than from the
+     * current value.
+     */
+    boolean needsAnswer(long now) {
+        if (!dynamicValue) {
+            return false;
+        }
+        return answeredAt == 0 || now - answeredAt >= cacheTtl;
+    }
+}
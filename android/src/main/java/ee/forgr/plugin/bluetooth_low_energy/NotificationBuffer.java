@@ -0,0 +1,110 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Preallocated byte ring holding notifications until JS drains them.
+ *
+ * Each sample is stored as a record of a 2-byte length, an 8-byte timestamp and the payload,
+ * so buffering a notification copies it without allocating. When a sample does not fit, it
+ * is dropped and counted rather than overwriting samples JS has not drained yet.
+ */
+class NotificationBuffer {
+
+    static final int DEFAULT_CAPACITY = 64 * 1024;
+    private static final int HEADER_SIZE = 10;
+
+    static class Drained {
+
+        final List<byte[]> values;
+        final long[] timestamps;
+        final long dropped;
+        final int remaining;
+
+        Drained(List<byte[]> values, long[] timestamps, long dropped, int remaining) {
+            this.values = values;
+            this.timestamps = timestamps;
+            this.dropped = dropped;
+            this.remaining = remaining;
+        }
+    }
+
+    private final byte[] data;
+    private int head = 0;
+    private int used = 0;
+    private int samples = 0;
+    private long dropped = 0;
+
+    NotificationBuffer(int capacity) {
+        data = new byte[Math.max(capacity, HEADER_SIZE + 1)];
+    }
+
+    /**
+     * Buffers a sample, or drops it when the ring is full. Returns false when dropped.
+     */
+    synchronized boolean write(byte[] value, long timestamp) {
+        int length = Math.min(value.length, 0xFFFF);
+        if (used + HEADER_SIZE + length > data.length) {
+            dropped++;
+            return false;
+        }
+        int tail = (head + used) % data.length;
+        tail = put(tail, (byte) (length >> 8));
+        tail = put(tail, (byte) length);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            tail = put(tail, (byte) (timestamp >> shift));
+        }
+        int first = Math.min(length, data.length - tail);
+        System.arraycopy(value, 0, data, tail, first);
+        System.arraycopy(value, first, data, 0, length - first);
+        used += HEADER_SIZE + length;
+        samples++;
+        return true;
+    }
+
+    /**
+     * Removes samples in arrival order until their payloads reach {@code maxBytes}, always
+     * returning at least one sample when any is buffered. Resets the dropped counter.
+     */
+    synchronized Drained drain(int maxBytes) {
+        List<byte[]> values = new ArrayList<>();
+        List<Long> timestamps = new ArrayList<>();
+        int payloadBytes = 0;
+        while (samples > 0) {
+            int length = ((data[head] & 0xFF) << 8) | (data[(head + 1) % data.length] & 0xFF);
+            if (!values.isEmpty() && payloadBytes + length > maxBytes) {
+                break;
+            }
+            int position = (head + 2) % data.length;
+            long timestamp = 0;
+            for (int i = 0; i < 8; i++) {
+                timestamp = (timestamp << 8) | (data[position] & 0xFF);
+                position = (position + 1) % data.length;
+            }
+            byte[] value = new byte[length];
+            int first = Math.min(length, data.length - position);
+            System.arraycopy(data, position, value, 0, first);
+            System.arraycopy(data, 0, value, first, length - first);
+
+            values.add(value);
+            timestamps.add(timestamp);
+            payloadBytes += length;
+            head = (head + HEADER_SIZE + length) % data.length;
+            used -= HEADER_SIZE + length;
+            samples--;
+        }
+        long[] drainedTimestamps = new long[timestamps.size()];
+        for (int i = 0; i < drainedTimestamps.length; i++) {
+            drainedTimestamps[i] = timestamps.get(i);
+        }
+        Drained drained = new Drained(values, drainedTimestamps, dropped, samples);
+        dropped = 0;
+        return drained;
+    }
+
+    private int put(int position, byte value) {
+        data[position] = value;
+        return (position + 1) % data.length;
+    }
+}
@@ -0,0 +1,159 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattServer;
+import android.bluetooth.BluetoothStatusCodes;
+import android.os.Build;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outbound notifications and indications for one connected central, used on the BLE thread.
+ *
+ * The stack only buffers a few notifications per connection and reports each one with
+ * onNotificationSent, so a single notification is in flight at a time and the next is sent
+ * from that callback. While one is in flight, a newer value for a characteristic that is still
+ * queued replaces the stale one, which bounds the queue to one entry per characteristic.
+ */
+class NotificationOutbox {
+
+    // Fallback when onNotificationSent never arrives, e.g. for an indication the central ignores.
+    static final long SENT_TIMEOUT = 5000;
+    private static final long BUSY_RETRY_DELAY = 10;
+    private static final long MAX_BUSY_RETRY_DELAY = 320;
+    private static final int MAX_BUSY_RETRIES = 10;
+
+    static class Notification {
+
+        final BluetoothGattCharacteristic characteristic;
+        boolean indicate;
+        byte[] value;
+        long queuedAt;
+
+        Notification(BluetoothGattCharacteristic characteristic, byte[] value, boolean indicate, long queuedAt) {
+            this.characteristic = characteristic;
+            this.value = value;
+            this.indicate = indicate;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    final BluetoothDevice device;
+    Notification inFlight;
+    Runnable retryTask;
+    Runnable timeoutTask;
+
+    long sent = 0;
+    long coalesced = 0;
+    long dropped = 0;
+    long maxLatency = 0;
+
+    private final Map<BluetoothGattCharacteristic, Notification> queued = new LinkedHashMap<>();
+    private long totalLatency = 0;
+    private int busyRetries = 0;
+
+    NotificationOutbox(BluetoothDevice device) {
+        this.device = device;
+    }
+
+    /**
+     * Sends a notification and returns a BluetoothStatusCodes value, using the status-returning
+     * API where available so a busy stack can be told apart from a failure. Before API 33 a
+     * refusal carries no reason. It is nearly always the stack's buffer being full, so it is
+     * reported as busy and retried too, a real failure only costing the bounded retries.
+     *
+     * The older API sends the characteristic's own value, which is also the one read requests
+     * are served. A queued value can be older than the current one, so the current value is
+     * restored once the notification is handed to the stack, under the lock
+     * {@link LocalCharacteristic#setValue} takes.
+     */
+    static int notify(BluetoothGattServer server, BluetoothDevice device, Notification notification) throws SecurityException {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            return server.notifyCharacteristicChanged(device, notification.characteristic, notification.indicate, notification.value);
+        }
+        boolean sent;
+        synchronized (notification.characteristic) {
+            byte[] current = notification.characteristic.getValue();
+            notification.characteristic.setValue(notification.value);
+            try {
+                sent = server.notifyCharacteristicChanged(device, notification.characteristic, notification.indicate);
+            } finally {
+                notification.characteristic.setValue(current);
+            }
+        }
+        return sent ? BluetoothStatusCodes.SUCCESS : BluetoothStatusCodes.ERROR_GATT_WRITE_REQUEST_BUSY;
+    }
+
+    /**
+     * Queues a value, replacing the one still queued for the same characteristic, along with
+     * how it is sent. Latency is counted from the newest value.
+     */
+    void offer(BluetoothGattCharacteristic characteristic, byte[] value, boolean indicate, long now) {
+        Notification stale = queued.get(characteristic);
+        if (stale != null) {
+            stale.value = value;
+            stale.indicate = indicate;
+            stale.queuedAt = now;
+            coalesced++;
+            return;
+        }
+        queued.put(characteristic, new Notification(characteristic, value, indicate, now));
+    }
+
+    /**
+     * Returns the notification to send: the in-flight one being retried, or the next queued one,
+     * which becomes in flight. Returns null when nothing is left.
+     */
+    Notification next() {
+        if (inFlight == null) {
+            Iterator<Notification> iterator = queued.values().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            inFlight = iterator.next();
+            iterator.remove();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Returns true when a send refused because the stack is busy should be retried.
+     */
+    boolean retryBusy(int status) {
+        return status == BluetoothStatusCodes.ERROR_GATT_WRITE_REQUEST_BUSY && busyRetries++ < MAX_BUSY_RETRIES;
+    }
+
+    /**
+     * Delay before the retry allowed by {@link #retryBusy}, doubling with each retry of the
+     * same notification.
+     */
+    long busyRetryDelay() {
+        return Math.min(BUSY_RETRY_DELAY << Math.max(busyRetries - 1, 0), MAX_BUSY_RETRY_DELAY);
+    }
+
+    void onSent(boolean success, long now) {
+        if (inFlight == null) {
+            return;
+        }
+        if (success) {
+            long latency = now - inFlight.queuedAt;
+            sent++;
+            totalLatency += latency;
+            maxLatency = Math.max(maxLatency, latency);
+        } else {
+            dropped++;
+        }
+        inFlight = null;
+        busyRetries = 0;
+    }
+
+    long averageLatency() {
+        return sent > 0 ? totalLatency / sent : 0;
+    }
+
+    int size() {
+        return queued.size() + (inFlight != null ? 1 : 0);
+    }
+}
@@ -0,0 +1,109 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+/**
+ * State for an active characteristic notification subscription.
+ *
+ * When batching is enabled, incoming values are buffered in a preallocated ring of
+ * {@code batchSize} slots and flushed as a single characteristicChangedBatch event, either
+ * when the ring is full or when {@code batchInterval} elapses after the first buffered sample.
+ *
+ * When {@code bufferSize} is set, values are kept in a {@link NotificationBuffer} instead and
+ * no event is emitted: JS pulls them with drainNotifications.
+ */
+class NotificationSubscription {
+
+    static final long DEFAULT_BATCH_INTERVAL = 100;
+    static final int DEFAULT_BATCH_SIZE = 64;
+
+    static class Batch {
+
+        final byte[][] values;
+        final long[] timestamps;
+
+        Batch(byte[][] values, long[] timestamps) {
+            this.values = values;
+            this.timestamps = timestamps;
+        }
+    }
+
+    final String deviceId;
+    final String serviceUuid;
+    final String characteristicUuid;
+    final int instanceId;
+    final String encoding;
+    final long batchInterval;
+    final int batchSize;
+    final NotificationBuffer buffer;
+    Runnable flushTask;
+
+    private final byte[][] values;
+    private final long[] timestamps;
+    private int head = 0;
+    private int count = 0;
+
+    NotificationSubscription(
+        String deviceId,
+        String serviceUuid,
+        String characteristicUuid,
+        int instanceId,
+        String encoding,
+        long batchInterval,
+        int batchSize,
+        int bufferSize
+    ) {
+        this.deviceId = deviceId;
+        this.serviceUuid = serviceUuid;
+        this.characteristicUuid = characteristicUuid;
+        this.instanceId = instanceId;
+        this.encoding = encoding;
+        this.batchInterval = batchInterval;
+        this.batchSize = batchSize;
+        this.buffer = bufferSize > 0 ? new NotificationBuffer(bufferSize) : null;
+        this.values = new byte[Math.max(batchSize, 0)][];
+        this.timestamps = new long[Math.max(batchSize, 0)];
+    }
+
+    boolean isBuffered() {
+        return buffer != null;
+    }
+
+    boolean isBatched() {
+        return batchSize > 0;
+    }
+
+    /**
+     * Buffers a sample and returns the number of samples now waiting to be flushed.
+     */
+    synchronized int add(byte[] value, long timestamp) {
+        int index = (head + count) % values.length;
+        values[index] = value;
+        timestamps[index] = timestamp;
+        if (count < values.length) {
+            count++;
+        } else {
+            // Should not happen since the ring is flushed when full, but never grow unbounded.
+            head = (head + 1) % values.length;
+        }
+        return count;
+    }
+
+    /**
+     * Removes and returns all buffered samples in arrival order, or null when empty.
+     */
+    synchronized Batch drain() {
+        if (count == 0) {
+            return null;
+        }
+        byte[][] drainedValues = new byte[count][];
+        long[] drainedTimestamps = new long[count];
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) % values.length;
+            drainedValues[i] = values[index];
+            drainedTimestamps[i] = timestamps[index];
+            values[index] = null;
+        }
+        head = 0;
+        count = 0;
+        return new Batch(drainedValues, drainedTimestamps);
+    }
+}
@@ -0,0 +1,91 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepare Write requests received from one central, held until it sends Execute Write.
+ *
+ * Chunks are kept as received and only assembled on execute, so cancelling a long write
+ * leaves the attribute values untouched. Attributes are characteristics or descriptors, both
+ * written through the same queue since a central may mix them before a single execute.
+ */
+class PreparedWrites {
+
+    static final int MAX_BYTES = 64 * 1024;
+    // ATT error returned when a central prepares more than MAX_BYTES.
+    static final int PREPARE_QUEUE_FULL = 0x09;
+
+    interface ValueSource {
+        /**
+         * Returns the current value of a characteristic or descriptor, null when it has none.
+         */
+        byte[] valueOf(Object attribute);
+    }
+
+    private static class Chunk {
+
+        final Object attribute;
+        final int offset;
+        final byte[] value;
+
+        Chunk(Object attribute, int offset, byte[] value) {
+            this.attribute = attribute;
+            this.offset = offset;
+            this.value = value;
+        }
+    }
+
+    private final List<Chunk> chunks = new ArrayList<>();
+    private int bytes = 0;
+
+    /**
+     * Queues a chunk. Returns false when the queue would exceed {@link #MAX_BYTES}.
+     */
+    boolean add(Object attribute, int offset, byte[] value) {
+        if (bytes + value.length > MAX_BYTES) {
+            return false;
+        }
+        chunks.add(new Chunk(attribute, offset, value));
+        bytes += value.length;
+        return true;
+    }
+
+    /**
+     * Applies the chunks, in order, to the current value of each attribute. The new value ends
+     * with the chunk reaching furthest, so a long write starting at offset 0 replaces the whole
+     * value. Returns null when a chunk starts past the end of the value built so far.
+     */
+    Map<Object, byte[]> assemble(ValueSource source) {
+        Map<Object, Integer> ends = new LinkedHashMap<>();
+        for (Chunk chunk : chunks) {
+            Integer end = ends.get(chunk.attribute);
+            ends.put(chunk.attribute, Math.max(end != null ? end : 0, chunk.offset + chunk.value.length));
+        }
+
+        Map<Object, byte[]> values = new LinkedHashMap<>();
+        Map<Object, Integer> written = new LinkedHashMap<>();
+        for (Map.Entry<Object, Integer> entry : ends.entrySet()) {
+            byte[] current = source.valueOf(entry.getKey());
+            int currentLength = current != null ? current.length : 0;
+            byte[] value = new byte[entry.getValue()];
+            if (current != null) {
+                System.arraycopy(current, 0, value, 0, Math.min(currentLength, value.length));
+            }
+            values.put(entry.getKey(), value);
+            written.put(entry.getKey(), currentLength);
+        }
+
+        for (Chunk chunk : chunks) {
+            int available = written.get(chunk.attribute);
+            if (chunk.offset > available) {
+                return null;
+            }
+            System.arraycopy(chunk.value, 0, values.get(chunk.attribute), chunk.offset, chunk.value.length);
+            written.put(chunk.attribute, Math.max(available, chunk.offset + chunk.value.length));
+        }
+        return values;
+    }
+}
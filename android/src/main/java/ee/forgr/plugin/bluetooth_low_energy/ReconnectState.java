@@ -0,0 +1,86 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.BluetoothGatt;
+
+/**
+ * Reconnection policy and progress for a device connected with a reconnect option.
+ *
+ * Reconnection reuses the existing BluetoothGatt through {@code gatt.connect()}, which Android
+ * always performs as a background connection. {@code AUTO_CONNECT} leaves that connection
+ * pending until the device comes back in range, while {@code IMMEDIATE} and {@code BACKOFF}
+ * bound each attempt with {@code attemptTimeout} and retry, right away or after an
+ * exponentially growing delay.
+ */
+class ReconnectState {
+
+    enum Policy {
+        IMMEDIATE,
+        BACKOFF,
+        AUTO_CONNECT
+    }
+
+    static final int DEFAULT_MAX_ATTEMPTS = 0;
+    static final long DEFAULT_DELAY = 1000;
+    static final long DEFAULT_ATTEMPT_TIMEOUT = 10000;
+    private static final long MAX_DELAY = 30000;
+
+    final String deviceId;
+    final BluetoothGatt gatt;
+    final Policy policy;
+    final int maxAttempts;
+    final long delay;
+    final long attemptTimeout;
+    Runnable attemptTask;
+    Runnable timeoutTask;
+
+    int attempt = 0;
+    boolean reconnecting = false;
+    boolean connecting = false;
+
+    ReconnectState(String deviceId, BluetoothGatt gatt, Policy policy, int maxAttempts, long delay, long attemptTimeout) {
+        this.deviceId = deviceId;
+        this.gatt = gatt;
+        this.policy = policy;
+        this.maxAttempts = maxAttempts;
+        this.delay = delay;
+        this.attemptTimeout = attemptTimeout;
+    }
+
+    /**
+     * Parses the reconnect option, returning null for 'none'.
+     */
+    static Policy parsePolicy(String value) {
+        switch (value) {
+            case "none":
+                return null;
+            case "immediate":
+                return Policy.IMMEDIATE;
+            case "backoff":
+                return Policy.BACKOFF;
+            case "autoConnect":
+                return Policy.AUTO_CONNECT;
+            default:
+                throw new IllegalArgumentException("Invalid reconnect policy: " + value);
+        }
+    }
+
+    boolean canRetry() {
+        return policy == Policy.AUTO_CONNECT ? attempt == 0 : maxAttempts <= 0 || attempt < maxAttempts;
+    }
+
+    /**
+     * Delay before the next attempt: none for immediate and autoConnect, doubling from
+     * {@code delay} up to 30 seconds for backoff.
+     */
+    long nextDelay() {
+        if (policy != Policy.BACKOFF) {
+            return 0;
+        }
+        int exponent = Math.min(attempt, 16);
+        return Math.min(delay << exponent, MAX_DELAY);
+    }
+
+    boolean hasAttemptTimeout() {
+        return policy != Policy.AUTO_CONNECT && attemptTimeout > 0;
+    }
+}
@@ -0,0 +1,157 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import android.bluetooth.le.ScanRecord;
+import android.bluetooth.le.ScanResult;
+import android.util.SparseArray;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latest scan result per device address, used to throttle and deduplicate deviceScanned
+ * events and to answer getScanResults snapshots without re-scanning.
+ *
+ * With changesOnly, a device counts as changed under the rule shared with iOS: its advertised
+ * name, manufacturer data or service UUIDs differ from the last reported ones, or its RSSI
+ * moved by at least the threshold. Other advertisement fields are not part of deviceScanned,
+ * so they are ignored.
+ *
+ * Times are {@code SystemClock.elapsedRealtime()} milliseconds, so throttling is not affected
+ * by wall clock changes.
+ */
+class ScanResultCache {
+
+    static final int DEFAULT_RSSI_THRESHOLD = 5;
+
+    static class Entry {
+
+        final ScanResult result;
+        final long lastSeen;
+
+        Entry(ScanResult result, long lastSeen) {
+            this.result = result;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    private static class State {
+
+        ScanResult result;
+        long lastSeen;
+        long lastReported;
+        String reportedAdvertisement;
+        int reportedRssi;
+    }
+
+    private final Map<String, State> states = new HashMap<>();
+
+    /**
+     * Records a scan result and returns whether it should be reported to JS.
+     *
+     * A device is always reported the first time it is seen. Afterwards it is reported at most
+     * once per {@code throttleInterval} milliseconds and, when {@code changesOnly} is set, only
+     * if it changed since the last report. A {@code rssiThreshold} of 0 ignores RSSI changes.
+     */
+    boolean update(String deviceId, ScanResult result, long now, long throttleInterval, boolean changesOnly, int rssiThreshold) {
+        return update(
+            deviceId,
+            result,
+            advertisementKey(result.getScanRecord()),
+            result.getRssi(),
+            now,
+            throttleInterval,
+            changesOnly,
+            rssiThreshold
+        );
+    }
+
+    /**
+     * Same as above, given the advertisement key and RSSI already taken from the result.
+     */
+    synchronized boolean update(
+        String deviceId,
+        ScanResult result,
+        String advertisement,
+        int rssi,
+        long now,
+        long throttleInterval,
+        boolean changesOnly,
+        int rssiThreshold
+    ) {
+        State state = states.get(deviceId);
+        if (state == null) {
+            state = new State();
+            states.put(deviceId, state);
+            state.result = result;
+            state.lastSeen = now;
+            state.lastReported = now;
+            state.reportedAdvertisement = advertisement;
+            state.reportedRssi = rssi;
+            return true;
+        }
+
+        state.result = result;
+        state.lastSeen = now;
+
+        if (changesOnly && !hasChanged(state, advertisement, rssi, rssiThreshold)) {
+            return false;
+        }
+        if (now - state.lastReported < throttleInterval) {
+            return false;
+        }
+        state.lastReported = now;
+        state.reportedAdvertisement = advertisement;
+        state.reportedRssi = rssi;
+        return true;
+    }
+
+    private static boolean hasChanged(State state, String advertisement, int rssi, int rssiThreshold) {
+        if (!advertisement.equals(state.reportedAdvertisement)) {
+            return true;
+        }
+        return rssiThreshold > 0 && Math.abs(rssi - state.reportedRssi) >= rssiThreshold;
+    }
+
+    /**
+     * The advertisement fields compared by the changesOnly rule, in the order iOS joins them.
+     */
+    private static String advertisementKey(ScanRecord record) {
+        if (record == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder();
+        if (record.getDeviceName() != null) {
+            key.append(record.getDeviceName());
+        }
+        key.append('|');
+        SparseArray<byte[]> manufacturerData = record.getManufacturerSpecificData();
+        if (manufacturerData != null) {
+            for (int i = 0; i < manufacturerData.size(); i++) {
+                key.append(manufacturerData.keyAt(i)).append(':').append(Arrays.toString(manufacturerData.valueAt(i)));
+            }
+        }
+        key.append('|');
+        if (record.getServiceUuids() != null) {
+            key.append(record.getServiceUuids());
+        }
+        return key.toString();
+    }
+
+    synchronized List<Entry> snapshot() {
+        List<Entry> entries = new ArrayList<>(states.size());
+        for (State state : states.values()) {
+            entries.add(new Entry(state.result, state.lastSeen));
+        }
+        return entries;
+    }
+
+    synchronized void remove(String deviceId) {
+        states.remove(deviceId);
+    }
+
+    synchronized void clear() {
+        states.clear();
+    }
+}
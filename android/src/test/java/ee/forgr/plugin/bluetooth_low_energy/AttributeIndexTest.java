@@ -0,0 +1,61 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class AttributeIndexTest {
+
+    // Android attributes cannot be built in local tests, so the index holds strings.
+
+    @Test
+    public void get_returnsTheFirstAttributeAddedAtAPath() {
+        AttributeIndex<String> index = new AttributeIndex<>();
+        index.add("service/characteristic", 10, "first");
+        index.add("service/characteristic", 12, "second");
+
+        assertEquals("first", index.get("service/characteristic", null));
+        assertNull(index.get("service/other", null));
+    }
+
+    @Test
+    public void get_reachesEveryInstanceSharingAPath() {
+        AttributeIndex<String> index = new AttributeIndex<>();
+        index.add("service/characteristic", 10, "first");
+        index.add("service/characteristic", 12, "second");
+
+        assertEquals("first", index.get("service/characteristic", 10));
+        assertEquals("second", index.get("service/characteristic", 12));
+        assertNull(index.get("service/characteristic", 14));
+    }
+
+    @Test
+    public void get_rejectsAnInstanceAtAnotherPath() {
+        AttributeIndex<String> index = new AttributeIndex<>();
+        index.add("service/characteristic", 10, "first");
+        index.add("service/other", 12, "other");
+
+        assertNull(index.get("service/characteristic", 12));
+    }
+
+    @Test
+    public void add_keepsTheFirstAttributeOfAnInstanceId() {
+        AttributeIndex<String> index = new AttributeIndex<>();
+        index.add("service/characteristic", 10, "first");
+        index.add("service/other", 10, "duplicate");
+
+        assertEquals("first", index.get("service/characteristic", 10));
+        assertNull(index.get("service/other", 10));
+        assertEquals("duplicate", index.get("service/other", null));
+    }
+
+    @Test
+    public void remember_keepsHitsOnly() {
+        AttributeIndex<String> index = new AttributeIndex<>();
+        index.remember("180D/2A37", "heart rate");
+        index.remember("180D/FFFF", null);
+
+        assertEquals("heart rate", index.recall("180D/2A37"));
+        assertNull(index.recall("180D/FFFF"));
+    }
+}
@@ -0,0 +1,52 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class CharacteristicPollerTest {
+
+    private static CharacteristicPoller poller(long interval, boolean changesOnly) {
+        return new CharacteristicPoller("device", "service", "characteristic", null, null, interval, changesOnly, "array", 1000);
+    }
+
+    @Test
+    public void backOff_doublesTheDelayUpToEightTimesTheInterval() {
+        CharacteristicPoller poller = poller(100, false);
+        long[] expected = { 200, 400, 800, 800 };
+        for (long delay : expected) {
+            poller.backOff();
+            assertEquals(delay, poller.nextDelay(poller.lastTickAt));
+        }
+    }
+
+    @Test
+    public void onValue_returnsToTheInterval() {
+        CharacteristicPoller poller = poller(100, false);
+        poller.backOff();
+        poller.backOff();
+
+        poller.onValue(new byte[] { 1 });
+
+        assertEquals(100, poller.nextDelay(poller.lastTickAt));
+    }
+
+    @Test
+    public void nextDelay_countsFromTheStartOfThePreviousTick() {
+        CharacteristicPoller poller = poller(100, false);
+        poller.lastTickAt = 1000;
+
+        assertEquals(70, poller.nextDelay(1030));
+        assertEquals(0, poller.nextDelay(1150));
+    }
+
+    @Test
+    public void onValue_skipsUnchangedValuesWithChangesOnly() {
+        CharacteristicPoller poller = poller(100, true);
+
+        assertTrue(poller.onValue(new byte[] { 1 }));
+        assertFalse(poller.onValue(new byte[] { 1 }));
+        assertTrue(poller.onValue(new byte[] { 2 }));
+        assertTrue(poller(100, false).onValue(new byte[] { 1 }));
+    }
+}
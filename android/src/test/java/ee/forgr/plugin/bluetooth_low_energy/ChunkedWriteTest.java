@@ -0,0 +1,207 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothStatusCodes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class ChunkedWriteTest {
+
+    /**
+     * Write whose chunks go to a list, answered with scripted statuses, and whose retries are
+     * recorded instead of posted to a Handler.
+     */
+    private static class TestWrite extends ChunkedWrite {
+
+        final List<byte[]> sent = new ArrayList<>();
+        final ArrayDeque<Integer> statuses = new ArrayDeque<>();
+        final Map<Runnable, Long> scheduled = new LinkedHashMap<>();
+
+        TestWrite(int length, int chunkSize, int writeType, int maxInFlight) {
+            super(
+                null,
+                "device",
+                "service",
+                "characteristic",
+                null,
+                null,
+                new byte[length],
+                chunkSize,
+                writeType,
+                false,
+                maxInFlight,
+                0,
+                null
+            );
+            retryTask = this::pump;
+        }
+
+        @Override
+        int write(byte[] chunk) {
+            Integer status = statuses.poll();
+            if (status == null || status == BluetoothStatusCodes.SUCCESS) {
+                sent.add(chunk);
+                return BluetoothStatusCodes.SUCCESS;
+            }
+            return status;
+        }
+
+        @Override
+        void postDelayed(Runnable task, long delay) {
+            scheduled.put(task, delay);
+        }
+
+        @Override
+        void removeCallbacks(Runnable task) {
+            scheduled.remove(task);
+        }
+
+        long retryDelay() {
+            return scheduled.get(retryTask);
+        }
+
+        void retry() {
+            assertNotNull(scheduled.remove(retryTask));
+            retryTask.run();
+        }
+    }
+
+    private static final int NO_RESPONSE = BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE;
+    private static final int WITH_RESPONSE = BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT;
+    private static final int BUSY = BluetoothStatusCodes.ERROR_GATT_WRITE_REQUEST_BUSY;
+
+    @Test
+    public void checkSize_acceptsPayloadsSpanningSeveralChunks() {
+        assertNull(ChunkedWrite.checkSize(1000, 20, false));
+    }
+
+    @Test
+    public void checkSize_limitsReliableWritesToASingleChunk() {
+        assertNull(ChunkedWrite.checkSize(18, 18, true));
+        assertEquals("Reliable writes are limited to 18 bytes, a single chunk", ChunkedWrite.checkSize(19, 18, true));
+    }
+
+    @Test
+    public void checkSize_rejectsEmptyChunks() {
+        assertEquals("chunkSize must be greater than 0", ChunkedWrite.checkSize(10, 0, false));
+        assertEquals("chunkSize must be greater than 0", ChunkedWrite.checkSize(0, -2, true));
+    }
+
+    @Test
+    public void pump_sendsUpToMaxInFlightChunksWithoutResponse() {
+        TestWrite write = new TestWrite(100, 20, NO_RESPONSE, 3);
+
+        assertTrue(write.pump());
+        assertEquals(3, write.sent.size());
+
+        // Each acknowledgement returns one credit.
+        assertTrue(write.onChunkWritten(null));
+        assertTrue(write.pump());
+        assertEquals(4, write.sent.size());
+        assertEquals(20, write.bytesWritten());
+    }
+
+    @Test
+    public void pump_keepsASingleWriteWithResponseInFlight() {
+        TestWrite write = new TestWrite(100, 20, WITH_RESPONSE, 3);
+
+        assertTrue(write.pump());
+        assertEquals(1, write.sent.size());
+    }
+
+    @Test
+    public void pump_sendsTheLastChunkShortAndCompletesOnceAcknowledged() {
+        TestWrite write = new TestWrite(45, 20, NO_RESPONSE, 8);
+
+        assertTrue(write.pump());
+        assertEquals(3, write.sent.size());
+        assertEquals(5, write.sent.get(2).length);
+        assertFalse(write.isComplete());
+
+        write.onChunkWritten(null);
+        write.onChunkWritten(null);
+        write.onChunkWritten(null);
+        assertTrue(write.isComplete());
+        assertEquals(45, write.bytesWritten());
+    }
+
+    @Test
+    public void pump_sendsAnEmptyPayloadAsOneEmptyChunk() {
+        TestWrite write = new TestWrite(0, 20, WITH_RESPONSE, 1);
+
+        assertTrue(write.pump());
+        assertEquals(1, write.sent.size());
+        assertEquals(0, write.sent.get(0).length);
+        write.onChunkWritten(null);
+        assertTrue(write.isComplete());
+    }
+
+    @Test
+    public void pump_waitsForACompletionWhenBusyWithChunksInFlight() {
+        TestWrite write = new TestWrite(100, 20, NO_RESPONSE, 3);
+        write.statuses.add(BluetoothStatusCodes.SUCCESS);
+        write.statuses.add(BUSY);
+
+        assertTrue(write.pump());
+        assertEquals(1, write.sent.size());
+        assertTrue(write.scheduled.isEmpty());
+    }
+
+    @Test
+    public void pump_backsOffExponentiallyWhileBusyWithNothingInFlight() {
+        TestWrite write = new TestWrite(40, 20, WITH_RESPONSE, 1);
+        write.statuses.add(BUSY);
+        write.statuses.add(BUSY);
+        write.statuses.add(BUSY);
+
+        assertTrue(write.pump());
+        assertEquals(1, write.retryDelay());
+        write.retry();
+        assertEquals(2, write.retryDelay());
+        write.retry();
+        assertEquals(4, write.retryDelay());
+        write.retry();
+        assertEquals(1, write.sent.size());
+        assertTrue(write.scheduled.isEmpty());
+    }
+
+    @Test
+    public void pump_failsAfterTenBusyRetries() {
+        TestWrite write = new TestWrite(20, 20, WITH_RESPONSE, 1);
+        for (int i = 0; i <= 10; i++) {
+            write.statuses.add(BUSY);
+        }
+
+        assertTrue(write.pump());
+        for (int i = 0; i < 9; i++) {
+            write.retry();
+        }
+        assertEquals(64, write.retryDelay());
+        write.scheduled.clear();
+        assertFalse(write.pump());
+    }
+
+    @Test
+    public void pump_failsOnANonBusyRefusal() {
+        TestWrite write = new TestWrite(20, 20, WITH_RESPONSE, 1);
+        write.statuses.add(BluetoothStatusCodes.ERROR_GATT_WRITE_NOT_ALLOWED);
+
+        assertFalse(write.pump());
+    }
+
+    @Test
+    public void abandon_cancelsAPendingRetry() {
+        TestWrite write = new TestWrite(20, 20, WITH_RESPONSE, 1);
+        write.statuses.add(BUSY);
+        write.pump();
+
+        write.abandon();
+        assertTrue(write.scheduled.isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class ConnectSchedulerTest {
+
+    private static ConnectScheduler.Request request(String deviceId, int retries) {
+        return new ConnectScheduler.Request(
+            deviceId,
+            null,
+            false,
+            ConnectScheduler.DEFAULT_TIMEOUT,
+            retries,
+            ConnectScheduler.DEFAULT_RETRY_DELAY,
+            null,
+            ReconnectState.DEFAULT_MAX_ATTEMPTS,
+            ReconnectState.DEFAULT_DELAY,
+            ReconnectState.DEFAULT_ATTEMPT_TIMEOUT,
+            (error, code) -> {}
+        );
+    }
+
+    @Test
+    public void canRetry_allowsTheRequestedNumberOfRetries() {
+        ConnectScheduler.Request request = request("a", 2);
+        assertTrue(request.canRetry());
+        request.attempt = 2;
+        assertFalse(request.canRetry());
+    }
+
+    @Test
+    public void canRetry_isOptIn() {
+        assertFalse(request("a", ConnectScheduler.DEFAULT_RETRIES).canRetry());
+    }
+
+    @Test
+    public void poll_waitsForAFreeSlot() {
+        ConnectScheduler scheduler = new ConnectScheduler();
+        scheduler.setMaxSlots(2);
+        scheduler.enqueue(request("a", 0));
+        scheduler.enqueue(request("b", 0));
+        scheduler.enqueue(request("c", 0));
+        Set<String> connected = new HashSet<>();
+
+        assertEquals("a", scheduler.poll(connected).deviceId);
+        assertEquals("b", scheduler.poll(connected).deviceId);
+        assertNull(scheduler.poll(connected));
+
+        // A connected device keeps its slot once its request completed.
+        scheduler.complete("a");
+        connected.add("a");
+        assertNull(scheduler.poll(connected));
+
+        connected.remove("a");
+        assertEquals("c", scheduler.poll(connected).deviceId);
+    }
+
+    @Test
+    public void poll_countsAConnectingDeviceOnce() {
+        ConnectScheduler scheduler = new ConnectScheduler();
+        scheduler.setMaxSlots(2);
+        scheduler.enqueue(request("a", 0));
+        scheduler.enqueue(request("b", 0));
+        scheduler.poll(Collections.emptySet());
+
+        // "a" holds a GATT while its request is still connecting.
+        assertEquals("b", scheduler.poll(Collections.singleton("a")).deviceId);
+    }
+
+    @Test
+    public void cancel_removesQueuedAndConnectingRequests() {
+        ConnectScheduler scheduler = new ConnectScheduler();
+        scheduler.enqueue(request("a", 0));
+        scheduler.enqueue(request("b", 0));
+        scheduler.poll(Collections.emptySet());
+
+        assertTrue(scheduler.contains("b"));
+        assertEquals("b", scheduler.cancel("b").deviceId);
+        assertFalse(scheduler.contains("b"));
+        assertEquals("a", scheduler.cancel("a").deviceId);
+        assertNull(scheduler.cancel("a"));
+    }
+
+    @Test
+    public void cancelAll_returnsConnectingRequestsFirst() {
+        ConnectScheduler scheduler = new ConnectScheduler();
+        scheduler.setMaxSlots(1);
+        scheduler.enqueue(request("a", 0));
+        scheduler.enqueue(request("b", 0));
+        scheduler.poll(Collections.emptySet());
+
+        List<ConnectScheduler.Request> requests = scheduler.cancelAll();
+
+        assertEquals(2, requests.size());
+        assertEquals("a", requests.get(0).deviceId);
+        assertEquals("b", requests.get(1).deviceId);
+        assertNull(scheduler.poll(Collections.emptySet()));
+    }
+}
@@ -0,0 +1,66 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+public class DeviceRegistryTest {
+
+    // BluetoothDevice cannot be built in local tests, so entries hold null devices and the
+    // assertions look at what gets evicted.
+
+    @Test
+    public void put_evictsTheLeastRecentlyUsedDeviceBeyondCapacity() {
+        DeviceRegistry registry = new DeviceRegistry();
+        registry.configure(2, 0, 0);
+        registry.put("a", null, 1);
+        registry.put("b", null, 2);
+        registry.get("a", 3);
+
+        assertEquals(Collections.singletonList("b"), registry.put("c", null, 4));
+    }
+
+    @Test
+    public void configure_evictsDevicesOverTheNewCapacity() {
+        DeviceRegistry registry = new DeviceRegistry();
+        registry.put("a", null, 1);
+        registry.put("b", null, 2);
+        registry.put("c", null, 3);
+
+        assertEquals(Arrays.asList("a", "b"), registry.configure(1, 0, 4));
+    }
+
+    @Test
+    public void evictExpired_dropsDevicesUnusedForLongerThanTheTtl() {
+        DeviceRegistry registry = new DeviceRegistry();
+        registry.configure(10, 100, 0);
+        registry.put("a", null, 0);
+        registry.put("b", null, 50);
+        registry.put("c", null, 60);
+        // A lookup before expiry counts as a use.
+        registry.get("a", 90);
+
+        assertEquals(Collections.singletonList("b"), registry.evictExpired(151));
+        assertTrue(registry.evictExpired(151).isEmpty());
+    }
+
+    @Test
+    public void get_leavesExpiredDevicesForEvictExpired() {
+        DeviceRegistry registry = new DeviceRegistry();
+        registry.configure(10, 100, 0);
+        registry.put("a", null, 0);
+
+        assertNull(registry.get("a", 200));
+        assertEquals(Collections.singletonList("a"), registry.evictExpired(200));
+    }
+
+    @Test
+    public void evictExpired_keepsDevicesWithoutTtl() {
+        DeviceRegistry registry = new DeviceRegistry();
+        registry.put("a", null, 0);
+
+        assertTrue(registry.evictExpired(Long.MAX_VALUE / 2).isEmpty());
+    }
+}
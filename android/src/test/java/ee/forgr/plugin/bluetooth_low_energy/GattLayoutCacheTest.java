@@ -0,0 +1,30 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import java.util.UUID;
+import org.junit.Test;
+
+public class GattLayoutCacheTest {
+
+    private static final UUID DATABASE_HASH = UUID.fromString("00002b2a-0000-1000-8000-00805f9b34fb");
+    private static final UUID FIRMWARE_REVISION = UUID.fromString("00002a26-0000-1000-8000-00805f9b34fb");
+
+    @Test
+    public void hash_encodesTheValueAsLowercaseHex() {
+        assertEquals("db:00a5ff10", GattLayoutCache.hash(DATABASE_HASH, new byte[] { 0x00, (byte) 0xA5, (byte) 0xFF, 0x10 }));
+    }
+
+    @Test
+    public void hash_keepsDatabaseHashesAndFirmwareRevisionsApart() {
+        byte[] value = { '1', '.', '2' };
+
+        assertEquals("fw:312e32", GattLayoutCache.hash(FIRMWARE_REVISION, value));
+        assertNotEquals(GattLayoutCache.hash(DATABASE_HASH, value), GattLayoutCache.hash(FIRMWARE_REVISION, value));
+    }
+
+    @Test
+    public void hash_acceptsAnEmptyValue() {
+        assertEquals("db:", GattLayoutCache.hash(DATABASE_HASH, new byte[0]));
+    }
+}
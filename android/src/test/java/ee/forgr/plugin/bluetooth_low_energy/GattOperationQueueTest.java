@@ -0,0 +1,231 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class GattOperationQueueTest {
+
+    /**
+     * Queue whose deadlines are recorded instead of posted to a Handler.
+     */
+    private static class TestQueue extends GattOperationQueue {
+
+        final Map<Runnable, Long> scheduled = new LinkedHashMap<>();
+
+        TestQueue() {
+            super(null, null);
+        }
+
+        TestQueue(Runnable stallListener) {
+            super(null, stallListener);
+        }
+
+        @Override
+        void postDelayed(Runnable task, long delay) {
+            scheduled.put(task, delay);
+        }
+
+        @Override
+        void removeCallbacks(Runnable task) {
+            scheduled.remove(task);
+        }
+
+        /**
+         * Runs the tasks scheduled with the given delay, as if it had elapsed.
+         */
+        void elapse(long delay) {
+            List<Runnable> due = new ArrayList<>();
+            for (Map.Entry<Runnable, Long> entry : scheduled.entrySet()) {
+                if (entry.getValue() == delay) {
+                    due.add(entry.getKey());
+                }
+            }
+            for (Runnable task : due) {
+                scheduled.remove(task);
+                task.run();
+            }
+        }
+    }
+
+    private static class TestOperation extends GattOperationQueue.Operation {
+
+        final boolean accepted;
+        int starts = 0;
+        String failure;
+        String failureCode;
+
+        TestOperation(GattOperationQueue.Type type, long timeout) {
+            this(type, timeout, true);
+        }
+
+        TestOperation(GattOperationQueue.Type type, long timeout, boolean accepted) {
+            super(type, null, null, null, "Operation failed");
+            this.timeout = timeout;
+            this.accepted = accepted;
+        }
+
+        @Override
+        boolean start() {
+            starts++;
+            return accepted;
+        }
+
+        @Override
+        void fail(String message, String code) {
+            failure = message;
+            failureCode = code;
+        }
+    }
+
+    @Test
+    public void enqueue_startsOneOperationAtATime() {
+        TestQueue queue = new TestQueue();
+        TestOperation read = new TestOperation(GattOperationQueue.Type.READ_CHARACTERISTIC, 1000);
+        TestOperation write = new TestOperation(GattOperationQueue.Type.WRITE_CHARACTERISTIC, 1000);
+        queue.enqueue(read);
+        queue.enqueue(write);
+
+        assertEquals(1, read.starts);
+        assertEquals(0, write.starts);
+        assertNull(queue.complete(GattOperationQueue.Type.WRITE_CHARACTERISTIC, null));
+        assertSame(read, queue.complete(GattOperationQueue.Type.READ_CHARACTERISTIC, null));
+        assertEquals(1, write.starts);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void enqueue_failsARefusedOperationAndMovesOn() {
+        TestQueue queue = new TestQueue();
+        TestOperation refused = new TestOperation(GattOperationQueue.Type.READ_CHARACTERISTIC, 1000, false);
+        TestOperation next = new TestOperation(GattOperationQueue.Type.READ_RSSI, 1000);
+        queue.enqueue(refused);
+        queue.enqueue(next);
+
+        assertEquals("Operation failed", refused.failure);
+        assertEquals(1, next.starts);
+    }
+
+    @Test
+    public void timeout_holdsTheQueueUntilTheLateCallbackArrives() {
+        TestQueue queue = new TestQueue();
+        TestOperation read = new TestOperation(GattOperationQueue.Type.READ_CHARACTERISTIC, 1000);
+        TestOperation next = new TestOperation(GattOperationQueue.Type.READ_CHARACTERISTIC, 1000);
+        queue.enqueue(read);
+        queue.enqueue(next);
+
+        queue.elapse(1000);
+
+        assertEquals(GattOperationQueue.TIMEOUT, read.failureCode);
+        assertEquals(0, next.starts);
+        // The late callback is dropped rather than completing the next read with stale data.
+        assertNull(queue.complete(GattOperationQueue.Type.READ_CHARACTERISTIC, null));
+        assertEquals(1, next.starts);
+        assertNull(next.failure);
+        assertSame(next, queue.complete(GattOperationQueue.Type.READ_CHARACTERISTIC, null));
+    }
+
+    @Test
+    public void timeout_reportsAStallWhenTheLateCallbackNeverArrives() {
+        int[] stalls = { 0 };
+        TestQueue queue = new TestQueue(() -> stalls[0]++);
+        queue.enqueue(new TestOperation(GattOperationQueue.Type.REQUEST_MTU, 1000));
+
+        queue.elapse(1000);
+        assertEquals(0, stalls[0]);
+        queue.elapse(GattOperationQueue.STALL_TIMEOUT);
+
+        assertEquals(1, stalls[0]);
+    }
+
+    @Test
+    public void timeout_movesOnWhenTheOperationSettlesItself() {
+        int[] stalls = { 0 };
+        TestQueue queue = new TestQueue(() -> stalls[0]++);
+        boolean[] expired = { false };
+        TestOperation priority = new TestOperation(GattOperationQueue.Type.REQUEST_CONNECTION_PRIORITY, 1000) {
+            @Override
+            boolean expire() {
+                expired[0] = true;
+                return true;
+            }
+        };
+        TestOperation next = new TestOperation(GattOperationQueue.Type.READ_RSSI, 1000);
+        queue.enqueue(priority);
+        queue.enqueue(next);
+
+        queue.elapse(1000);
+
+        assertTrue(expired[0]);
+        assertNull(priority.failure);
+        assertEquals(1, next.starts);
+        queue.elapse(GattOperationQueue.STALL_TIMEOUT);
+        assertEquals(0, stalls[0]);
+    }
+
+    @Test
+    public void timeout_isNotScheduledWithoutDeadline() {
+        TestQueue queue = new TestQueue();
+        queue.enqueue(new TestOperation(GattOperationQueue.Type.READ_PHY, 0));
+
+        assertTrue(queue.scheduled.isEmpty());
+    }
+
+    @Test
+    public void extendTimeout_restartsTheDeadlineOfTheOperationInFlight() {
+        TestQueue queue = new TestQueue();
+        TestOperation write = new TestOperation(GattOperationQueue.Type.WRITE_CHARACTERISTIC, 1000);
+        queue.enqueue(write);
+        Runnable firstDeadline = queue.scheduled.keySet().iterator().next();
+
+        queue.extendTimeout(write);
+
+        assertEquals(1, queue.scheduled.size());
+        assertSame(firstDeadline, queue.scheduled.keySet().iterator().next());
+        assertNull(write.failure);
+    }
+
+    @Test
+    public void cancel_rejectsAcceptedQueuedOperationsOnly() {
+        TestQueue queue = new TestQueue();
+        TestOperation inFlight = new TestOperation(GattOperationQueue.Type.READ_CHARACTERISTIC, 1000);
+        TestOperation read = new TestOperation(GattOperationQueue.Type.READ_CHARACTERISTIC, 1000);
+        TestOperation rssi = new TestOperation(GattOperationQueue.Type.READ_RSSI, 1000);
+        queue.enqueue(inFlight);
+        queue.enqueue(read);
+        queue.enqueue(rssi);
+
+        int cancelled = queue.cancel((operation) -> operation.type == GattOperationQueue.Type.READ_CHARACTERISTIC);
+
+        assertEquals(1, cancelled);
+        assertNull(inFlight.failure);
+        assertEquals(GattOperationQueue.CANCELLED, read.failureCode);
+        assertNull(rssi.failure);
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void close_rejectsEverythingAndRefusesNewOperations() {
+        TestQueue queue = new TestQueue();
+        TestOperation inFlight = new TestOperation(GattOperationQueue.Type.READ_CHARACTERISTIC, 1000);
+        TestOperation queued = new TestOperation(GattOperationQueue.Type.READ_RSSI, 1000);
+        queue.enqueue(inFlight);
+        queue.enqueue(queued);
+
+        queue.close("Device disconnected");
+
+        assertEquals("Device disconnected", inFlight.failure);
+        assertEquals("Device disconnected", queued.failure);
+        assertTrue(queue.scheduled.isEmpty());
+        assertEquals(0, queue.size());
+
+        TestOperation late = new TestOperation(GattOperationQueue.Type.READ_RSSI, 1000);
+        queue.enqueue(late);
+        assertEquals("Device not connected", late.failure);
+        assertEquals(0, late.starts);
+    }
+}
@@ -0,0 +1,45 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import android.bluetooth.BluetoothGatt;
+import org.junit.Test;
+
+public class GattStatusTest {
+
+    @Test
+    public void reason_namesTheStatusesSeenInTheField() {
+        assertEquals("none", GattStatus.reason(BluetoothGatt.GATT_SUCCESS));
+        assertEquals("connectionTimeout", GattStatus.reason(0x08));
+        assertEquals("remoteTerminated", GattStatus.reason(0x13));
+        assertEquals("localTerminated", GattStatus.reason(0x16));
+        assertEquals("lmpTimeout", GattStatus.reason(0x22));
+        assertEquals("failedToEstablish", GattStatus.reason(0x3E));
+        assertEquals("gattError", GattStatus.reason(133));
+    }
+
+    @Test
+    public void reason_groupsSecurityFailures() {
+        assertEquals("insufficientSecurity", GattStatus.reason(BluetoothGatt.GATT_INSUFFICIENT_AUTHENTICATION));
+        assertEquals("insufficientSecurity", GattStatus.reason(BluetoothGatt.GATT_INSUFFICIENT_ENCRYPTION));
+    }
+
+    @Test
+    public void reason_reportsOtherStatusesAsUnknown() {
+        assertEquals("unknown", GattStatus.reason(0x3B));
+        assertEquals("unknown", GattStatus.reason(-1));
+    }
+
+    @Test
+    public void isTransient_retriesEstablishmentFailuresOnly() {
+        assertTrue(GattStatus.isTransient(GattStatus.GATT_ERROR));
+        assertTrue(GattStatus.isTransient(GattStatus.CONN_FAIL_ESTABLISH));
+        assertTrue(GattStatus.isTransient(GattStatus.CONN_TIMEOUT));
+        assertTrue(GattStatus.isTransient(GattStatus.CONN_LMP_TIMEOUT));
+
+        assertFalse(GattStatus.isTransient(BluetoothGatt.GATT_SUCCESS));
+        assertFalse(GattStatus.isTransient(GattStatus.CONN_TERMINATE_PEER_USER));
+        assertFalse(GattStatus.isTransient(GattStatus.CONN_TERMINATE_LOCAL_HOST));
+        assertFalse(GattStatus.isTransient(BluetoothGatt.GATT_INSUFFICIENT_ENCRYPTION));
+    }
+}
@@ -0,0 +1,106 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LocalCharacteristicTest {
+
+    private static final String HEART_RATE_MEASUREMENT = "0000180d-0000-1000-8000-00805f9b34fb/00002a37-0000-1000-8000-00805f9b34fb";
+
+    @Test
+    public void key_matchesEveryUuidForm() {
+        assertEquals(HEART_RATE_MEASUREMENT, LocalCharacteristic.key("180D", "2A37"));
+        assertEquals(HEART_RATE_MEASUREMENT, LocalCharacteristic.key("0000180d", "00002A37"));
+        assertEquals(HEART_RATE_MEASUREMENT, LocalCharacteristic.key("0000180D-0000-1000-8000-00805F9B34FB", "2a37"));
+    }
+
+    @Test
+    public void key_keepsCustomUuidsApart() {
+        assertNotEquals(
+            LocalCharacteristic.key("6e400001-b5a3-f393-e0a9-e50e24dcca9e", "6e400002-b5a3-f393-e0a9-e50e24dcca9e"),
+            LocalCharacteristic.key("6e400001-b5a3-f393-e0a9-e50e24dcca9e", "6e400003-b5a3-f393-e0a9-e50e24dcca9e")
+        );
+    }
+
+    private static LocalCharacteristic dynamic(long cacheTtl) {
+        return new LocalCharacteristic("service", "characteristic", "array", true, LocalCharacteristic.DEFAULT_READ_TIMEOUT, cacheTtl);
+    }
+
+    @Test
+    public void needsAnswer_asksJsUntilItAnswered() {
+        LocalCharacteristic local = dynamic(1000);
+
+        assertTrue(local.needsAnswer(100));
+        assertTrue(local.needsAnswer(5000));
+    }
+
+    @Test
+    public void needsAnswer_servesAnAnswerNativelyForTheCacheTtl() {
+        LocalCharacteristic local = dynamic(1000);
+        local.onAnswered(100);
+
+        assertFalse(local.needsAnswer(100));
+        assertFalse(local.needsAnswer(1099));
+        assertTrue(local.needsAnswer(1100));
+    }
+
+    @Test
+    public void needsAnswer_withoutCacheTtl_asksJsForEveryRead() {
+        LocalCharacteristic local = dynamic(0);
+        local.onAnswered(100);
+
+        assertTrue(local.needsAnswer(100));
+    }
+
+    @Test
+    public void needsAnswer_isFalseForStaticValues() {
+        LocalCharacteristic local = new LocalCharacteristic("service", "characteristic", "array", false, 0, 0);
+
+        assertFalse(local.needsAnswer(100));
+    }
+
+    @Test
+    public void updateSubscription_tracksEachCentral() {
+        LocalCharacteristic local = dynamic(0);
+
+        assertTrue(local.updateSubscription("a", new byte[] { 0x01, 0x00 }));
+        assertTrue(local.updateSubscription("b", new byte[] { 0x02, 0x00 }));
+
+        assertEquals(Boolean.FALSE, local.subscribers.get("a"));
+        assertEquals(Boolean.TRUE, local.subscribers.get("b"));
+        assertArrayEquals(new byte[] { 0x01, 0x00 }, local.configurationValue("a"));
+        assertArrayEquals(new byte[] { 0x02, 0x00 }, local.configurationValue("b"));
+        assertArrayEquals(new byte[] { 0x00, 0x00 }, local.configurationValue("c"));
+    }
+
+    @Test
+    public void updateSubscription_reportsOnlyChanges() {
+        LocalCharacteristic local = dynamic(0);
+        local.updateSubscription("a", new byte[] { 0x01, 0x00 });
+
+        assertFalse(local.updateSubscription("a", new byte[] { 0x01, 0x00 }));
+        // Switching to indications is a change.
+        assertTrue(local.updateSubscription("a", new byte[] { 0x02, 0x00 }));
+        assertTrue(local.updateSubscription("a", new byte[] { 0x00, 0x00 }));
+        assertFalse(local.updateSubscription("a", new byte[] { 0x00, 0x00 }));
+        assertTrue(local.subscribers.isEmpty());
+    }
+
+    @Test
+    public void updateSubscription_prefersIndicationsWhenBothBitsAreSet() {
+        LocalCharacteristic local = dynamic(0);
+
+        assertTrue(local.updateSubscription("a", new byte[] { 0x03, 0x00 }));
+        assertEquals(Boolean.TRUE, local.subscribers.get("a"));
+    }
+
+    @Test
+    public void updateSubscription_treatsAnEmptyValueAsDisabled() {
+        LocalCharacteristic local = dynamic(0);
+        local.updateSubscription("a", new byte[] { 0x01, 0x00 });
+
+        assertTrue(local.updateSubscription("a", new byte[0]));
+        assertFalse(local.updateSubscription("a", null));
+    }
+}
@@ -0,0 +1,86 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class NotificationBufferTest {
+
+    // Record header: 2-byte length and 8-byte timestamp.
+    private static final int HEADER = 10;
+
+    @Test
+    public void drain_returnsSamplesInArrivalOrder() {
+        NotificationBuffer buffer = new NotificationBuffer(256);
+        assertTrue(buffer.write(new byte[] { 1, 2 }, 100));
+        assertTrue(buffer.write(new byte[] { 3 }, 200));
+
+        NotificationBuffer.Drained drained = buffer.drain(1024);
+
+        assertEquals(2, drained.values.size());
+        assertArrayEquals(new byte[] { 1, 2 }, drained.values.get(0));
+        assertArrayEquals(new byte[] { 3 }, drained.values.get(1));
+        assertArrayEquals(new long[] { 100, 200 }, drained.timestamps);
+        assertEquals(0, drained.dropped);
+        assertEquals(0, drained.remaining);
+    }
+
+    @Test
+    public void write_dropsAndCountsSamplesThatDoNotFit() {
+        NotificationBuffer buffer = new NotificationBuffer(2 * (HEADER + 4));
+        assertTrue(buffer.write(new byte[] { 1, 1, 1, 1 }, 1));
+        assertTrue(buffer.write(new byte[] { 2, 2, 2, 2 }, 2));
+        assertFalse(buffer.write(new byte[] { 3, 3, 3, 3 }, 3));
+        assertFalse(buffer.write(new byte[] { 4 }, 4));
+
+        NotificationBuffer.Drained drained = buffer.drain(1024);
+
+        assertEquals(2, drained.values.size());
+        assertArrayEquals(new byte[] { 2, 2, 2, 2 }, drained.values.get(1));
+        assertEquals(2, drained.dropped);
+        assertEquals(0, buffer.drain(1024).dropped);
+    }
+
+    @Test
+    public void write_wrapsHeadersAroundTheEndOfTheRing() {
+        // The third record starts 2 bytes before the end, so its header wraps.
+        assertThirdRecordWraps(2 * (HEADER + 4) + 2);
+    }
+
+    @Test
+    public void write_wrapsPayloadsAroundTheEndOfTheRing() {
+        // The third record starts 12 bytes before the end, so its payload wraps.
+        assertThirdRecordWraps(2 * (HEADER + 4) + 12);
+    }
+
+    private void assertThirdRecordWraps(int capacity) {
+        NotificationBuffer buffer = new NotificationBuffer(capacity);
+        buffer.write(new byte[] { 1, 1, 1, 1 }, 1);
+        buffer.write(new byte[] { 2, 2, 2, 2 }, 2);
+        buffer.drain(4);
+
+        assertTrue(buffer.write(new byte[] { 5, 6, 7, 8 }, 0x0102030405060708L));
+
+        NotificationBuffer.Drained drained = buffer.drain(1024);
+        assertEquals(2, drained.values.size());
+        assertArrayEquals(new byte[] { 2, 2, 2, 2 }, drained.values.get(0));
+        assertArrayEquals(new byte[] { 5, 6, 7, 8 }, drained.values.get(1));
+        assertEquals(0x0102030405060708L, drained.timestamps[1]);
+    }
+
+    @Test
+    public void drain_stopsAtMaxBytesButReturnsAtLeastOneSample() {
+        NotificationBuffer buffer = new NotificationBuffer(256);
+        buffer.write(new byte[8], 1);
+        buffer.write(new byte[8], 2);
+        buffer.write(new byte[8], 3);
+
+        NotificationBuffer.Drained first = buffer.drain(1);
+        assertEquals(1, first.values.size());
+        assertEquals(2, first.remaining);
+
+        NotificationBuffer.Drained second = buffer.drain(16);
+        assertEquals(2, second.values.size());
+        assertEquals(0, second.remaining);
+    }
+}
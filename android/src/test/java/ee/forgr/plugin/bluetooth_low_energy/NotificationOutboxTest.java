@@ -0,0 +1,133 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import android.bluetooth.BluetoothStatusCodes;
+import org.junit.Test;
+
+public class NotificationOutboxTest {
+
+    // BluetoothDevice and BluetoothGattCharacteristic cannot be built in local tests, so the
+    // outbox serves a null central and every value is queued for the same null characteristic.
+
+    private static final int BUSY = BluetoothStatusCodes.ERROR_GATT_WRITE_REQUEST_BUSY;
+
+    @Test
+    public void next_keepsASingleNotificationInFlight() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.offer(null, new byte[] { 1 }, false, 0);
+
+        NotificationOutbox.Notification notification = outbox.next();
+        assertArrayEquals(new byte[] { 1 }, notification.value);
+        assertSame(notification, outbox.inFlight);
+        // Until it is reported sent, the same notification is returned for retries.
+        assertSame(notification, outbox.next());
+
+        outbox.onSent(true, 5);
+        assertNull(outbox.next());
+        assertEquals(0, outbox.size());
+    }
+
+    @Test
+    public void offer_replacesTheValueStillQueuedForACharacteristic() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.offer(null, new byte[] { 1 }, false, 0);
+        outbox.offer(null, new byte[] { 2 }, true, 10);
+
+        assertEquals(1, outbox.size());
+        assertEquals(1, outbox.coalesced);
+        NotificationOutbox.Notification notification = outbox.next();
+        assertArrayEquals(new byte[] { 2 }, notification.value);
+        assertTrue(notification.indicate);
+        assertEquals(10, notification.queuedAt);
+    }
+
+    @Test
+    public void offer_queuesBehindTheNotificationInFlight() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.offer(null, new byte[] { 1 }, false, 0);
+        NotificationOutbox.Notification inFlight = outbox.next();
+        outbox.offer(null, new byte[] { 2 }, false, 10);
+
+        assertArrayEquals(new byte[] { 1 }, inFlight.value);
+        assertEquals(2, outbox.size());
+        assertEquals(0, outbox.coalesced);
+
+        outbox.onSent(true, 20);
+        assertArrayEquals(new byte[] { 2 }, outbox.next().value);
+    }
+
+    @Test
+    public void onSent_tracksLatencyFromTheNewestValue() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.offer(null, new byte[] { 1 }, false, 0);
+        outbox.offer(null, new byte[] { 2 }, false, 30);
+        outbox.next();
+        outbox.onSent(true, 40);
+        outbox.offer(null, new byte[] { 3 }, false, 50);
+        outbox.next();
+        outbox.onSent(true, 80);
+
+        assertEquals(2, outbox.sent);
+        assertEquals(30, outbox.maxLatency);
+        assertEquals(20, outbox.averageLatency());
+    }
+
+    @Test
+    public void onSent_countsFailuresAsDropped() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.offer(null, new byte[] { 1 }, false, 0);
+        outbox.next();
+        outbox.onSent(false, 10);
+
+        assertEquals(0, outbox.sent);
+        assertEquals(1, outbox.dropped);
+        assertEquals(0, outbox.averageLatency());
+        assertNull(outbox.inFlight);
+    }
+
+    @Test
+    public void onSent_ignoresReportsWithNothingInFlight() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.onSent(true, 10);
+
+        assertEquals(0, outbox.sent);
+    }
+
+    @Test
+    public void retryBusy_backsOffUntilTheRetriesRunOut() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.offer(null, new byte[] { 1 }, false, 0);
+        outbox.next();
+
+        long[] delays = new long[10];
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue(outbox.retryBusy(BUSY));
+            delays[i] = outbox.busyRetryDelay();
+        }
+        assertArrayEquals(new long[] { 10, 20, 40, 80, 160, 320, 320, 320, 320, 320 }, delays);
+        assertFalse(outbox.retryBusy(BUSY));
+    }
+
+    @Test
+    public void retryBusy_givesUpOnOtherFailures() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+
+        assertFalse(outbox.retryBusy(BluetoothStatusCodes.ERROR_UNKNOWN));
+    }
+
+    @Test
+    public void onSent_resetsTheBusyRetriesForTheNextNotification() {
+        NotificationOutbox outbox = new NotificationOutbox(null);
+        outbox.offer(null, new byte[] { 1 }, false, 0);
+        outbox.next();
+        outbox.retryBusy(BUSY);
+        outbox.retryBusy(BUSY);
+        outbox.onSent(true, 10);
+
+        outbox.offer(null, new byte[] { 2 }, false, 20);
+        outbox.next();
+        assertTrue(outbox.retryBusy(BUSY));
+        assertEquals(10, outbox.busyRetryDelay());
+    }
+}
@@ -0,0 +1,66 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class PreparedWritesTest {
+
+    private final Object characteristic = new Object();
+    private final Object descriptor = new Object();
+    private final Map<Object, byte[]> currentValues = new HashMap<>();
+
+    @Test
+    public void assemble_appliesChunksInOrderOverTheCurrentValue() {
+        currentValues.put(characteristic, new byte[] { 1, 2, 3, 4 });
+        PreparedWrites writes = new PreparedWrites();
+        writes.add(characteristic, 0, new byte[] { 9, 9 });
+        writes.add(characteristic, 2, new byte[] { 8, 8, 8 });
+        writes.add(characteristic, 1, new byte[] { 7 });
+
+        Map<Object, byte[]> values = writes.assemble(currentValues::get);
+
+        assertArrayEquals(new byte[] { 9, 7, 8, 8, 8 }, values.get(characteristic));
+    }
+
+    @Test
+    public void assemble_endsTheValueWithTheFurthestChunk() {
+        currentValues.put(characteristic, new byte[] { 1, 2, 3, 4, 5 });
+        PreparedWrites writes = new PreparedWrites();
+        writes.add(characteristic, 0, new byte[] { 6, 7 });
+
+        assertArrayEquals(new byte[] { 6, 7 }, writes.assemble(currentValues::get).get(characteristic));
+    }
+
+    @Test
+    public void assemble_keepsAttributesApart() {
+        currentValues.put(descriptor, new byte[] { 1 });
+        PreparedWrites writes = new PreparedWrites();
+        writes.add(characteristic, 0, new byte[] { 2, 3 });
+        writes.add(descriptor, 1, new byte[] { 4 });
+
+        Map<Object, byte[]> values = writes.assemble(currentValues::get);
+
+        assertEquals(2, values.size());
+        assertArrayEquals(new byte[] { 2, 3 }, values.get(characteristic));
+        assertArrayEquals(new byte[] { 1, 4 }, values.get(descriptor));
+    }
+
+    @Test
+    public void assemble_rejectsAChunkStartingPastTheEnd() {
+        currentValues.put(characteristic, new byte[] { 1, 2 });
+        PreparedWrites writes = new PreparedWrites();
+        writes.add(characteristic, 3, new byte[] { 9 });
+
+        assertNull(writes.assemble(currentValues::get));
+    }
+
+    @Test
+    public void add_refusesChunksBeyondMaxBytes() {
+        PreparedWrites writes = new PreparedWrites();
+        assertTrue(writes.add(characteristic, 0, new byte[PreparedWrites.MAX_BYTES]));
+        assertFalse(writes.add(characteristic, PreparedWrites.MAX_BYTES, new byte[1]));
+    }
+}
@@ -0,0 +1,65 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ReconnectStateTest {
+
+    private static ReconnectState state(ReconnectState.Policy policy, int maxAttempts) {
+        return new ReconnectState("device", null, policy, maxAttempts, 1000, 10000);
+    }
+
+    @Test
+    public void nextDelay_doublesUpToThirtySecondsWithBackoff() {
+        ReconnectState reconnect = state(ReconnectState.Policy.BACKOFF, 0);
+        long[] expected = { 1000, 2000, 4000, 8000, 16000, 30000, 30000 };
+        for (long delay : expected) {
+            assertEquals(delay, reconnect.nextDelay());
+            reconnect.attempt++;
+        }
+        reconnect.attempt = 1000;
+        assertEquals(30000, reconnect.nextDelay());
+    }
+
+    @Test
+    public void nextDelay_isZeroForImmediateAndAutoConnect() {
+        ReconnectState immediate = state(ReconnectState.Policy.IMMEDIATE, 0);
+        immediate.attempt = 3;
+        assertEquals(0, immediate.nextDelay());
+        assertEquals(0, state(ReconnectState.Policy.AUTO_CONNECT, 0).nextDelay());
+    }
+
+    @Test
+    public void canRetry_stopsAfterMaxAttempts() {
+        ReconnectState reconnect = state(ReconnectState.Policy.BACKOFF, 2);
+        assertTrue(reconnect.canRetry());
+        reconnect.attempt = 2;
+        assertFalse(reconnect.canRetry());
+
+        ReconnectState unbounded = state(ReconnectState.Policy.IMMEDIATE, 0);
+        unbounded.attempt = 1000;
+        assertTrue(unbounded.canRetry());
+    }
+
+    @Test
+    public void canRetry_makesASingleAutoConnectAttempt() {
+        ReconnectState reconnect = state(ReconnectState.Policy.AUTO_CONNECT, 5);
+        assertTrue(reconnect.canRetry());
+        reconnect.attempt = 1;
+        assertFalse(reconnect.canRetry());
+        assertFalse(reconnect.hasAttemptTimeout());
+    }
+
+    @Test
+    public void parsePolicy_mapsOptionValues() {
+        assertNull(ReconnectState.parsePolicy("none"));
+        assertEquals(ReconnectState.Policy.BACKOFF, ReconnectState.parsePolicy("backoff"));
+        assertEquals(ReconnectState.Policy.AUTO_CONNECT, ReconnectState.parsePolicy("autoConnect"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parsePolicy_rejectsUnknownValues() {
+        ReconnectState.parsePolicy("sometimes");
+    }
+}
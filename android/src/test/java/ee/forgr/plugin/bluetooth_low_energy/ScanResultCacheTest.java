@@ -0,0 +1,89 @@
+package ee.forgr.plugin.bluetooth_low_energy;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import org.junit.Test;
+
+public class ScanResultCacheTest {
+
+    // ScanResult cannot be built in local tests, so results are null and each update passes the
+    // advertisement key and RSSI directly.
+
+    @Test
+    public void update_reportsADeviceTheFirstTimeItIsSeen() {
+        ScanResultCache cache = new ScanResultCache();
+
+        assertTrue(cache.update("a", null, "name||", -60, 0, 1000, true, 5));
+        assertTrue(cache.update("b", null, "name||", -60, 1, 1000, true, 5));
+    }
+
+    @Test
+    public void update_throttlesReportsPerDevice() {
+        ScanResultCache cache = new ScanResultCache();
+        cache.update("a", null, "", -60, 0, 1000, false, 0);
+
+        assertFalse(cache.update("a", null, "", -60, 999, 1000, false, 0));
+        assertTrue(cache.update("a", null, "", -60, 1000, 1000, false, 0));
+        assertFalse(cache.update("a", null, "", -60, 1500, 1000, false, 0));
+    }
+
+    @Test
+    public void update_withChangesOnly_skipsUnchangedAdvertisements() {
+        ScanResultCache cache = new ScanResultCache();
+        cache.update("a", null, "name||", -60, 0, 0, true, 5);
+
+        assertFalse(cache.update("a", null, "name||", -62, 10, 0, true, 5));
+        assertTrue(cache.update("a", null, "other||", -62, 20, 0, true, 5));
+    }
+
+    @Test
+    public void update_withChangesOnly_comparesRssiWithTheLastReport() {
+        ScanResultCache cache = new ScanResultCache();
+        cache.update("a", null, "", -60, 0, 0, true, 5);
+
+        assertFalse(cache.update("a", null, "", -64, 10, 0, true, 5));
+        // Small drifts add up against the last reported RSSI, not the last seen one.
+        assertTrue(cache.update("a", null, "", -65, 20, 0, true, 5));
+        assertFalse(cache.update("a", null, "", -61, 30, 0, true, 5));
+    }
+
+    @Test
+    public void update_withAZeroRssiThreshold_ignoresRssi() {
+        ScanResultCache cache = new ScanResultCache();
+        cache.update("a", null, "", -60, 0, 0, true, 0);
+
+        assertFalse(cache.update("a", null, "", -90, 10, 0, true, 0));
+    }
+
+    @Test
+    public void update_throttlesChangedAdvertisementsToo() {
+        ScanResultCache cache = new ScanResultCache();
+        cache.update("a", null, "one||", -60, 0, 1000, true, 5);
+
+        assertFalse(cache.update("a", null, "two||", -60, 500, 1000, true, 5));
+        assertTrue(cache.update("a", null, "two||", -60, 1000, 1000, true, 5));
+    }
+
+    @Test
+    public void snapshot_keepsTheLastSeenTimeOfUnreportedResults() {
+        ScanResultCache cache = new ScanResultCache();
+        cache.update("a", null, "", -60, 0, 1000, false, 0);
+        cache.update("a", null, "", -60, 400, 1000, false, 0);
+
+        List<ScanResultCache.Entry> entries = cache.snapshot();
+        assertEquals(1, entries.size());
+        assertEquals(400, entries.get(0).lastSeen);
+    }
+
+    @Test
+    public void remove_makesTheNextResultReportedAgain() {
+        ScanResultCache cache = new ScanResultCache();
+        cache.update("a", null, "", -60, 0, 1000, false, 0);
+        cache.remove("a");
+
+        assertTrue(cache.update("a", null, "", -60, 10, 1000, false, 0));
+        cache.clear();
+        assertTrue(cache.snapshot().isEmpty());
+    }
+}
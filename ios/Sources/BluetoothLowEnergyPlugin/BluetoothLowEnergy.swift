@@ -8,6 +8,7 @@ public class BluetoothLowEnergy: NSObject {
     private var peripheralManager: CBPeripheralManager?
     private var localGattServices: [CBUUID: CBMutableService] = [:]
     private var localGattCharacteristics: [String: CBMutableCharacteristic] = [:]
+    private var localGattEncodings: [String: String] = [:]
     private var connectedCentrals: [String: CBCentral] = [:]
 
     private var discoveredPeripherals: [String: CBPeripheral] = [:]
@@ -27,6 +28,18 @@ public class BluetoothLowEnergy: NSObject {
 
     private var scanTimer: Timer?
     private var allowDuplicates = false
+    private var scanThrottleInterval: Double = 0
+    private var scanReportChangesOnly = false
+    private var scanRssiThreshold = 5
+    private var scanResults: [String: ScanResultState] = [:]
+
+    private struct ScanResultState {
+        var device: [String: Any]
+        var lastSeen: Double
+        var lastReported: Double
+        var reportedAdvertisement: String
+        var reportedRssi: Int
+    }
     private var mode: String = "central"
 
     init(plugin: BluetoothLowEnergyPlugin) {
@@ -95,7 +108,15 @@ public class BluetoothLowEnergy: NSObject {
         }
     }
 
-    func startScan(services: [CBUUID]?, timeout: Double, allowDuplicates: Bool, completion: @escaping (Error?) -> Void) {
+    func startScan(
+        services: [CBUUID]?,
+        timeout: Double,
+        allowDuplicates: Bool,
+        throttleInterval: Double,
+        reportChangesOnly: Bool,
+        rssiThreshold: Int,
+        completion: @escaping (Error?) -> Void
+    ) {
         guard let centralManager = centralManager else {
             completion(NSError(domain: "BluetoothLowEnergy", code: 1, userInfo: [NSLocalizedDescriptionKey: "Central manager not initialized"]))
             return
@@ -107,6 +128,10 @@ public class BluetoothLowEnergy: NSObject {
         }
 
         self.allowDuplicates = allowDuplicates
+        scanThrottleInterval = throttleInterval
+        scanReportChangesOnly = reportChangesOnly
+        scanRssiThreshold = rssiThreshold
+        scanResults.removeAll()
         scanCallback = completion
 
         var options: [String: Any] = [:]
@@ -131,6 +156,52 @@ public class BluetoothLowEnergy: NSObject {
         centralManager?.stopScan()
     }
 
+    func getScanResults() -> [[String: Any]] {
+        return scanResults.values.map { ["device": $0.device, "lastSeen": $0.lastSeen] }
+    }
+
+    /// Records the latest advertisement for a device and returns whether it should be reported.
+    /// With reportChangesOnly, a device counts as changed under the rule shared with Android: its
+    /// name, manufacturer data or service UUIDs differ, or its RSSI moved by at least the threshold.
+    private func shouldReportScanResult(deviceId: String, device: [String: Any]) -> Bool {
+        let now = Date().timeIntervalSince1970 * 1000
+        let rssi = device["rssi"] as? Int ?? 0
+        let advertisement = [
+            device["name"] as? String ?? "",
+            device["manufacturerData"] as? String ?? "",
+            (device["serviceUuids"] as? [String] ?? []).joined(separator: ",")
+        ].joined(separator: "|")
+
+        guard var state = scanResults[deviceId] else {
+            scanResults[deviceId] = ScanResultState(
+                device: device,
+                lastSeen: now,
+                lastReported: now,
+                reportedAdvertisement: advertisement,
+                reportedRssi: rssi
+            )
+            return true
+        }
+
+        state.device = device
+        state.lastSeen = now
+        defer { scanResults[deviceId] = state }
+
+        if scanReportChangesOnly {
+            let rssiChanged = scanRssiThreshold > 0 && abs(rssi - state.reportedRssi) >= scanRssiThreshold
+            if state.reportedAdvertisement == advertisement && !rssiChanged {
+                return false
+            }
+        }
+        if now - state.lastReported < scanThrottleInterval {
+            return false
+        }
+        state.lastReported = now
+        state.reportedAdvertisement = advertisement
+        state.reportedRssi = rssi
+        return true
+    }
+
     func connect(deviceId: String, autoConnect: Bool, completion: @escaping (Error?) -> Void) {
         guard let peripheral = discoveredPeripherals[deviceId] else {
             completion(NSError(domain: "BluetoothLowEnergy", code: 3, userInfo: [NSLocalizedDescriptionKey: "Device not found"]))
@@ -438,7 +509,9 @@ public class BluetoothLowEnergy: NSObject {
                 characteristic.descriptors = mutableDescriptors
             }
 
-            localGattCharacteristics[characteristicKey(serviceUUID: serviceUUID, characteristicUUID: characteristicUUID)] = characteristic
+            let key = characteristicKey(serviceUUID: serviceUUID, characteristicUUID: characteristicUUID)
+            localGattCharacteristics[key] = characteristic
+            localGattEncodings[key] = characteristicDef["encoding"] as? String
             mutableCharacteristics.append(characteristic)
         }
 
@@ -460,6 +533,7 @@ public class BluetoothLowEnergy: NSObject {
             return
         }
         localGattCharacteristics = localGattCharacteristics.filter { !$0.key.hasPrefix(serviceUUID + "/") }
+        localGattEncodings = localGattEncodings.filter { !$0.key.hasPrefix(serviceUUID + "/") }
         peripheralManager.remove(service)
         completion(nil)
     }
@@ -596,7 +670,9 @@ extension BluetoothLowEnergy: CBCentralManagerDelegate {
             device["serviceUuids"] = serviceUUIDs.map { $0.uuidString }
         }
 
-        plugin?.emitDeviceScanned(device: device)
+        if shouldReportScanResult(deviceId: deviceId, device: device) {
+            plugin?.emitDeviceScanned(device: device)
+        }
     }
 
     public func centralManager(_ central: CBCentralManager, didConnect peripheral: CBPeripheral) {
@@ -646,10 +722,17 @@ extension BluetoothLowEnergy: CBPeripheralManagerDelegate {
         if !wasConnected {
             plugin?.emitCentralConnected(deviceId: deviceId)
         }
+        if let mutableCharacteristic = characteristic as? CBMutableCharacteristic, let info = characteristicInfo(for: mutableCharacteristic) {
+            // CoreBluetooth does not tell whether the central enabled notifications or indications.
+            plugin?.emitCentralSubscribed(deviceId: deviceId, service: info.service, characteristic: info.characteristic)
+        }
     }
 
     public func peripheralManager(_ peripheral: CBPeripheralManager, central: CBCentral, didUnsubscribeFrom characteristic: CBCharacteristic) {
         let deviceId = central.identifier.uuidString
+        if let mutableCharacteristic = characteristic as? CBMutableCharacteristic, let info = characteristicInfo(for: mutableCharacteristic) {
+            plugin?.emitCentralUnsubscribed(deviceId: deviceId, service: info.service, characteristic: info.characteristic)
+        }
         connectedCentrals.removeValue(forKey: deviceId)
         plugin?.emitCentralDisconnected(deviceId: deviceId)
     }
@@ -688,7 +771,8 @@ extension BluetoothLowEnergy: CBPeripheralManagerDelegate {
                         deviceId: request.central.identifier.uuidString,
                         service: info.service,
                         characteristic: info.characteristic,
-                        value: value.map { Int($0) }
+                        value: value.map { Int($0) },
+                        encoding: localGattEncodings[characteristicKey(serviceUUID: info.service, characteristicUUID: info.characteristic)]
                     )
                 }
             }
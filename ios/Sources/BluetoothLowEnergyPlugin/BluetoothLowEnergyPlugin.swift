@@ -20,7 +20,9 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
         CAPPluginMethod(name: "requestPermissions", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "startScan", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "stopScan", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getScanResults", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "connect", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "connectDevices", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "disconnect", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "createBond", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "isBonded", returnType: CAPPluginReturnPromise),
@@ -48,6 +50,7 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
     ]
 
     private var implementation: BluetoothLowEnergy?
+    private var notificationEncodings: [String: String] = [:]
 
     override public func load() {
         implementation = BluetoothLowEnergy(plugin: self)
@@ -131,11 +134,17 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
 
         let timeout = call.getDouble("timeout") ?? 0
         let allowDuplicates = call.getBool("allowDuplicates") ?? false
+        let throttleInterval = max(call.getDouble("throttleInterval") ?? 0, 0)
+        let reportChangesOnly = call.getBool("reportChangesOnly") ?? false
+        let rssiThreshold = max(call.getInt("rssiThreshold") ?? 5, 0)
 
         implementation?.startScan(
             services: serviceUUIDs,
             timeout: timeout,
-            allowDuplicates: allowDuplicates
+            allowDuplicates: allowDuplicates,
+            throttleInterval: throttleInterval,
+            reportChangesOnly: reportChangesOnly,
+            rssiThreshold: rssiThreshold
         ) { error in
             if let error = error {
                 call.reject(error.localizedDescription)
@@ -150,6 +159,10 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
         call.resolve()
     }
 
+    @objc func getScanResults(_ call: CAPPluginCall) {
+        call.resolve(["devices": implementation?.getScanResults() ?? []])
+    }
+
     @objc func connect(_ call: CAPPluginCall) {
         guard let deviceId = call.getString("deviceId") else {
             call.reject("deviceId is required")
@@ -167,6 +180,36 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
         }
     }
 
+    @objc func connectDevices(_ call: CAPPluginCall) {
+        guard let deviceIds = call.getArray("deviceIds", String.self) else {
+            call.reject("deviceIds is required")
+            return
+        }
+
+        let autoConnect = call.getBool("autoConnect") ?? false
+        var results = [[String: Any]?](repeating: nil, count: deviceIds.count)
+        let group = DispatchGroup()
+
+        // Core Bluetooth queues the connections itself; results are collected on the main queue
+        // where the central manager delivers its callbacks.
+        DispatchQueue.main.async {
+            for (index, deviceId) in deviceIds.enumerated() {
+                group.enter()
+                self.implementation?.connect(deviceId: deviceId, autoConnect: autoConnect) { error in
+                    var result: [String: Any] = ["deviceId": deviceId, "connected": error == nil]
+                    if let error = error {
+                        result["error"] = error.localizedDescription
+                    }
+                    results[index] = result
+                    group.leave()
+                }
+            }
+            group.notify(queue: .main) {
+                call.resolve(["results": results.compactMap { $0 }])
+            }
+        }
+    }
+
     @objc func disconnect(_ call: CAPPluginCall) {
         guard let deviceId = call.getString("deviceId") else {
             call.reject("deviceId is required")
@@ -230,14 +273,16 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
             return
         }
 
+        let encoding = call.getString("encoding") ?? "array"
+
         implementation?.readCharacteristic(
             deviceId: deviceId,
             serviceUUID: service,
             characteristicUUID: characteristic
-        ) { result in
+        ) { [weak self] result in
             switch result {
             case .success(let value):
-                call.resolve(["value": value])
+                call.resolve(["value": self?.encodeValue(value, encoding: encoding) ?? value])
             case .failure(let error):
                 call.reject(error.localizedDescription)
             }
@@ -248,7 +293,7 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
         guard let deviceId = call.getString("deviceId"),
               let service = call.getString("service"),
               let characteristic = call.getString("characteristic"),
-              let value = call.getArray("value", Int.self) else {
+              let value = decodeValue(call) else {
             call.reject("deviceId, service, characteristic, and value are required")
             return
         }
@@ -259,7 +304,7 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
             deviceId: deviceId,
             serviceUUID: service,
             characteristicUUID: characteristic,
-            value: value.map { UInt8($0) },
+            value: value,
             writeType: writeType
         ) { error in
             if let error = error {
@@ -278,6 +323,9 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
             return
         }
 
+        let key = notificationKey(deviceId: deviceId, service: service, characteristic: characteristic)
+        notificationEncodings[key] = call.getString("encoding") ?? "array"
+
         implementation?.startCharacteristicNotifications(
             deviceId: deviceId,
             serviceUUID: service,
@@ -299,6 +347,8 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
             return
         }
 
+        notificationEncodings.removeValue(forKey: notificationKey(deviceId: deviceId, service: service, characteristic: characteristic))
+
         implementation?.stopCharacteristicNotifications(
             deviceId: deviceId,
             serviceUUID: service,
@@ -326,10 +376,10 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
             serviceUUID: service,
             characteristicUUID: characteristic,
             descriptorUUID: descriptor
-        ) { result in
+        ) { [weak self] result in
             switch result {
             case .success(let value):
-                call.resolve(["value": value])
+                call.resolve(["value": self?.encodeValue(value, encoding: call.getString("encoding")) ?? value])
             case .failure(let error):
                 call.reject(error.localizedDescription)
             }
@@ -341,7 +391,7 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
               let service = call.getString("service"),
               let characteristic = call.getString("characteristic"),
               let descriptor = call.getString("descriptor"),
-              let value = call.getArray("value", Int.self) else {
+              let value = decodeValue(call) else {
             call.reject("deviceId, service, characteristic, descriptor, and value are required")
             return
         }
@@ -351,7 +401,7 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
             serviceUUID: service,
             characteristicUUID: characteristic,
             descriptorUUID: descriptor,
-            value: value.map { UInt8($0) }
+            value: value
         ) { error in
             if let error = error {
                 call.reject(error.localizedDescription)
@@ -428,8 +478,14 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
             var def: [String: Any] = [:]
             def["uuid"] = obj["uuid"] as? String
             def["properties"] = obj["properties"] as? [String: Bool]
-            def["value"] = obj["value"] as? [Int]
-            def["descriptors"] = obj["descriptors"] as? [[String: Any]]
+            def["value"] = decodeValue(obj["value"], encoding: obj["encoding"] as? String)?.map { Int($0) }
+            def["descriptors"] = (obj["descriptors"] as? [JSObject])?.map { descriptor -> [String: Any] in
+                var descriptorDef: [String: Any] = [:]
+                descriptorDef["uuid"] = descriptor["uuid"] as? String
+                descriptorDef["value"] = decodeValue(descriptor["value"], encoding: descriptor["encoding"] as? String)?.map { Int($0) }
+                return descriptorDef
+            }
+            def["encoding"] = obj["encoding"] as? String
             return def
         }
         implementation?.addGattService(serviceUUID: serviceUUID, characteristics: characteristicDefs) { error in
@@ -458,7 +514,7 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
     @objc func setGattCharacteristicValue(_ call: CAPPluginCall) {
         guard let serviceUUID = call.getString("service"),
               let characteristicUUID = call.getString("characteristic"),
-              let value = call.getArray("value") as? [Int] else {
+              let value = decodeValue(call)?.map({ Int($0) }) else {
             call.reject("Service, characteristic, and value are required")
             return
         }
@@ -474,7 +530,7 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
     @objc func notifyGattCharacteristicChanged(_ call: CAPPluginCall) {
         guard let serviceUUID = call.getString("service"),
               let characteristicUUID = call.getString("characteristic"),
-              let value = call.getArray("value") as? [Int] else {
+              let value = decodeValue(call)?.map({ Int($0) }) else {
             call.reject("Service, characteristic, and value are required")
             return
         }
@@ -524,6 +580,22 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
         notifyListeners("centralDisconnected", data: ["deviceId": deviceId])
     }
 
+    func emitCentralSubscribed(deviceId: String, service: String, characteristic: String) {
+        notifyListeners("centralSubscribed", data: [
+            "deviceId": deviceId,
+            "service": service,
+            "characteristic": characteristic
+        ])
+    }
+
+    func emitCentralUnsubscribed(deviceId: String, service: String, characteristic: String) {
+        notifyListeners("centralUnsubscribed", data: [
+            "deviceId": deviceId,
+            "service": service,
+            "characteristic": characteristic
+        ])
+    }
+
     func emitGattCharacteristicReadRequest(deviceId: String, service: String, characteristic: String) {
         notifyListeners("gattCharacteristicReadRequest", data: [
             "deviceId": deviceId,
@@ -532,21 +604,75 @@ public class BluetoothLowEnergyPlugin: CAPPlugin, CAPBridgedPlugin {
         ])
     }
 
-    func emitGattCharacteristicWriteRequest(deviceId: String, service: String, characteristic: String, value: [Int]) {
+    func emitGattCharacteristicWriteRequest(deviceId: String, service: String, characteristic: String, value: [Int], encoding: String?) {
         notifyListeners("gattCharacteristicWriteRequest", data: [
             "deviceId": deviceId,
             "service": service,
             "characteristic": characteristic,
-            "value": value
+            "value": encodeValue(value, encoding: encoding)
         ])
     }
 
     func emitCharacteristicChanged(deviceId: String, service: String, characteristic: String, value: [Int]) {
+        let encoding = notificationEncodings[notificationKey(deviceId: deviceId, service: service, characteristic: characteristic)]
         notifyListeners("characteristicChanged", data: [
             "deviceId": deviceId,
             "service": service,
             "characteristic": characteristic,
-            "value": value
+            "value": encodeValue(value, encoding: encoding)
         ])
     }
+
+    // MARK: - Value Encoding
+
+    private func notificationKey(deviceId: String, service: String, characteristic: String) -> String {
+        return "\(deviceId)-\(CBUUID(string: service).uuidString)-\(CBUUID(string: characteristic).uuidString)"
+    }
+
+    private func encodeValue(_ value: [Int], encoding: String?) -> Any {
+        switch encoding ?? "array" {
+        case "base64":
+            return Data(value.map { UInt8(truncatingIfNeeded: $0) }).base64EncodedString()
+        case "hex":
+            return value.map { String(format: "%02x", $0 & 0xFF) }.joined()
+        default:
+            return value
+        }
+    }
+
+    private func decodeValue(_ call: CAPPluginCall) -> [UInt8]? {
+        return decodeValue(call.options["value"], encoding: call.getString("encoding"))
+    }
+
+    private func decodeValue(_ value: Any?, encoding: String?) -> [UInt8]? {
+        if let string = value as? String {
+            switch encoding ?? "array" {
+            case "base64":
+                return Data(base64Encoded: string).map { [UInt8]($0) }
+            case "hex":
+                guard string.count % 2 == 0 else { return nil }
+                var bytes: [UInt8] = []
+                bytes.reserveCapacity(string.count / 2)
+                var index = string.startIndex
+                while index < string.endIndex {
+                    let next = string.index(index, offsetBy: 2)
+                    guard let byte = UInt8(string[index..<next], radix: 16) else { return nil }
+                    bytes.append(byte)
+                    index = next
+                }
+                return bytes
+            default:
+                return nil
+            }
+        }
+        guard let array = value as? [Any] else { return nil }
+        var bytes: [UInt8] = []
+        bytes.reserveCapacity(array.count)
+        for element in array {
+            // A malformed array is rejected rather than written as a shorter or wrapped payload.
+            guard let number = element as? NSNumber, let byte = UInt8(exactly: number.doubleValue) else { return nil }
+            bytes.append(byte)
+        }
+        return bytes
+    }
 }
@@ -157,6 +157,23 @@ export interface BluetoothLowEnergyPlugin {
    */
   stopScan(): Promise<void>;
 
+  /**
+   * Get the latest known scan result for every device seen since the last `startScan`.
+   *
+   * Results are kept natively while scanning, regardless of `throttleInterval` and
+   * `reportChangesOnly`, so this can be polled instead of listening to every
+   * `deviceScanned` event.
+   *
+   * @returns Promise that resolves with the cached scan results
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { devices } = await BluetoothLowEnergy.getScanResults();
+   * devices.forEach(({ device, lastSeen }) => console.log(device.deviceId, device.rssi, lastSeen));
+   * ```
+   */
+  getScanResults(): Promise<GetScanResultsResult>;
+
   /**
    * Connect to a BLE device.
    *
@@ -170,6 +187,28 @@ export interface BluetoothLowEnergyPlugin {
    */
   connect(options: ConnectOptions): Promise<void>;
 
+  /**
+   * Connect to several BLE devices at once.
+   * Connections are queued natively and established while fewer than `maxConnections`
+   * devices are connected or connecting, each bounded by `timeout`. A failing device
+   * does not fail the batch: the promise resolves once every device has settled.
+   * On web, devices must have been returned by `requestDevice` or `startScan` first.
+   *
+   * @param options - Connection options applied to every device
+   * @returns Promise that resolves with the outcome of each device, in input order
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { results } = await BluetoothLowEnergy.connectDevices({
+   *   deviceIds: ['AA:BB:CC:DD:EE:FF', '11:22:33:44:55:66'],
+   *   timeout: 15000,
+   *   retries: 2
+   * });
+   * const failed = results.filter((result) => !result.connected);
+   * ```
+   */
+  connectDevices(options: ConnectDevicesOptions): Promise<ConnectDevicesResult>;
+
   /**
    * Disconnect from a BLE device.
    *
@@ -282,6 +321,30 @@ export interface BluetoothLowEnergyPlugin {
    */
   writeCharacteristic(options: WriteCharacteristicOptions): Promise<void>;
 
+  /**
+   * Write a value larger than a single packet to a characteristic (Android and web only).
+   *
+   * The value is split into chunks sized to the negotiated MTU and written back to back
+   * natively, so the whole transfer costs a single call. Progress is reported through
+   * `writeProgress` events. No other request to the device is interleaved with the chunks.
+   *
+   * @param options - Write options
+   * @returns Promise that resolves when every chunk has been written
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { bytesWritten } = await BluetoothLowEnergy.writeLarge({
+   *   deviceId: 'AA:BB:CC:DD:EE:FF',
+   *   service: '1D14D6EE-FD63-4FA1-BFA4-8F47B42119F0',
+   *   characteristic: '984227F3-34FC-4045-A5D0-2C581F81A153',
+   *   value: firmwareBase64,
+   *   encoding: 'base64',
+   *   type: 'withoutResponse'
+   * });
+   * ```
+   */
+  writeLarge(options: WriteLargeOptions): Promise<WriteLargeResult>;
+
   /**
    * Start notifications for a characteristic.
    *
@@ -316,6 +379,58 @@ export interface BluetoothLowEnergyPlugin {
    */
   stopCharacteristicNotifications(options: StopCharacteristicNotificationsOptions): Promise<void>;
 
+  /**
+   * Take the values buffered for a characteristic whose notifications were started with
+   * `buffered: true`, oldest first (Android only). Call it periodically, e.g. once per frame
+   * or every few seconds, instead of handling one event per notification.
+   *
+   * @param options - The buffered characteristic and how much to take
+   * @returns Promise that resolves with the drained values and the number dropped since the last drain
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { values, timestamps, dropped } = await BluetoothLowEnergy.drainNotifications({
+   *   deviceId: 'AA:BB:CC:DD:EE:FF',
+   *   service: '180D',
+   *   characteristic: '2A37'
+   * });
+   * ```
+   */
+  drainNotifications(options: DrainNotificationsOptions): Promise<DrainNotificationsResult>;
+
+  /**
+   * Read a characteristic periodically and emit its value as `characteristicChanged` events.
+   * For characteristics without notify or indicate support. Polling stops on `stopPolling`
+   * or when the device disconnects, and replaces an earlier poll of the same characteristic.
+   *
+   * On Android, reads go through the same queue as other operations, and polling slows down,
+   * up to 8 times the interval, while the link is busy or reads fail.
+   *
+   * @param options - Polling options
+   * @returns Promise that resolves once polling started
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * await BluetoothLowEnergy.startPolling({
+   *   deviceId: 'AA:BB:CC:DD:EE:FF',
+   *   service: '181A',
+   *   characteristic: '2A6E',
+   *   interval: 1000,
+   *   changesOnly: true
+   * });
+   * ```
+   */
+  startPolling(options: StartPollingOptions): Promise<void>;
+
+  /**
+   * Stop polling a characteristic.
+   *
+   * @param options - The polled characteristic
+   * @returns Promise that resolves once polling stopped
+   * @since 8.3.0
+   */
+  stopPolling(options: StopPollingOptions): Promise<void>;
+
   /**
    * Read a descriptor value.
    *
@@ -382,8 +497,27 @@ export interface BluetoothLowEnergyPlugin {
    */
   requestMtu(options: RequestMtuOptions): Promise<RequestMtuResult>;
 
+  /**
+   * Cancel operations of a device that are still waiting in its queue (Android only).
+   * Cancelled calls are rejected with code `'CANCELLED'`. The operation in flight is not
+   * affected, since it cannot be aborted once sent; it is bounded by its `timeout`.
+   * Reads issued by `startPolling` are not cancelled here, use `stopPolling` instead.
+   *
+   * @param options - The device, optionally narrowed to a service or characteristic
+   * @returns Promise that resolves with the number of cancelled operations
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { cancelled } = await BluetoothLowEnergy.cancelOperations({ deviceId: 'AA:BB:CC:DD:EE:FF' });
+   * ```
+   */
+  cancelOperations(options: CancelOperationsOptions): Promise<CancelOperationsResult>;
+
   /**
    * Request connection priority (Android only).
+   * On Android 8.0 and later, resolves once the new connection parameters took effect and
+   * were reported, queued after pending operations. Devices that never report them resolve
+   * after `timeout`.
    *
    * @param options - Request priority options
    * @returns Promise that resolves when priority is set
@@ -398,6 +532,69 @@ export interface BluetoothLowEnergyPlugin {
    */
   requestConnectionPriority(options: RequestConnectionPriorityOptions): Promise<void>;
 
+  /**
+   * Tune a connection for a profile in one call (Android only).
+   * Sets the connection priority, negotiates the largest MTU, then prefers the 2M PHY when
+   * the profile and phone allow it. The steps run once services are discovered: they are
+   * queued after pending operations, and services are discovered first when they have not
+   * been yet. Each step is best effort: a refused MTU or PHY keeps the previous value.
+   * With a `probe`, the throughput of the tuned link is then measured by writing to the device.
+   * Resolves with the effective parameters.
+   *
+   * @param options - The device and profile
+   * @returns Promise that resolves with the effective link parameters
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { mtu, txPhy, throughput } = await BluetoothLowEnergy.optimizeLink({
+   *   deviceId,
+   *   profile: 'throughput',
+   *   probe: { service: SINK_SERVICE, characteristic: SINK_CHARACTERISTIC }
+   * });
+   * ```
+   */
+  optimizeLink(options: OptimizeLinkOptions): Promise<OptimizeLinkResult>;
+
+  /**
+   * Get the connection interval, latency and supervision timeout last reported for a device (Android only).
+   * Android reports them through a callback that is not part of its public API, so some
+   * devices never do; the call is rejected until a first report arrived. Changes are also
+   * emitted as `connectionUpdated` events, for instance after `requestConnectionPriority`.
+   *
+   * @param options - The device
+   * @returns Promise that resolves with the connection parameters
+   * @since 8.3.0
+   */
+  getConnectionParameters(options: GetConnectionParametersOptions): Promise<ConnectionParameters>;
+
+  /**
+   * Set the preferred PHYs of a connection (Android only, 8.0+).
+   * The controller may pick a different PHY than requested; the promise resolves with the
+   * PHYs in use once the update completed. Rejected when a requested PHY is not supported
+   * by the phone.
+   *
+   * @param options - Preferred PHY options
+   * @returns Promise that resolves with the PHYs in use
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { txPhy, rxPhy } = await BluetoothLowEnergy.setPreferredPhy({
+   *   deviceId: 'AA:BB:CC:DD:EE:FF',
+   *   txPhy: ['2m']
+   * });
+   * ```
+   */
+  setPreferredPhy(options: SetPreferredPhyOptions): Promise<PhyResult>;
+
+  /**
+   * Read the PHYs currently used by a connection (Android only, 8.0+).
+   *
+   * @param options - The device
+   * @returns Promise that resolves with the PHYs in use
+   * @since 8.3.0
+   */
+  readPhy(options: ReadPhyOptions): Promise<PhyResult>;
+
   /**
    * Start advertising as a peripheral (BLE server).
    *
@@ -465,15 +662,61 @@ export interface BluetoothLowEnergyPlugin {
    */
   setGattCharacteristicValue(options: SetGattCharacteristicValueOptions): Promise<void>;
 
+  /**
+   * Answer a `gattCharacteristicReadRequest` event for a characteristic defined with
+   * `dynamicValue: true` (Android only). The value is sent to the central and becomes the
+   * characteristic value.
+   *
+   * @param options - The request to answer and its value
+   * @returns Promise that resolves once the response is sent
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * await BluetoothLowEnergy.addListener('gattCharacteristicReadRequest', async (event) => {
+   *   if (event.requestId !== undefined) {
+   *     await BluetoothLowEnergy.respondToReadRequest({
+   *       deviceId: event.deviceId,
+   *       requestId: event.requestId,
+   *       value: [readTemperature()]
+   *     });
+   *   }
+   * });
+   * ```
+   */
+  respondToReadRequest(options: RespondToReadRequestOptions): Promise<void>;
+
   /**
    * Notify connected centrals that a local GATT characteristic value changed.
    *
+   * Only centrals subscribed to the characteristic are notified, each with the notification or
+   * indication mode it enabled.
+   *
+   * On Android, targeting a central that is not subscribed is rejected. Notifications are
+   * queued per central and sent one at a time as the stack confirms the previous one. A value
+   * still queued for a central is replaced by a newer one for the same characteristic, so slow
+   * centrals receive the latest value instead of a backlog.
+   *
    * @param options - Notification options
-   * @returns Promise that resolves when the notification is sent
+   * @returns Promise that resolves when the notification is sent, or queued on Android
    * @since 8.2.0
    */
   notifyGattCharacteristicChanged(options: NotifyGattCharacteristicChangedOptions): Promise<void>;
 
+  /**
+   * Get delivery counters of the notification queue of each connected central (Android only).
+   *
+   * @returns Promise that resolves with the counters since each central connected
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const { centrals } = await BluetoothLowEnergy.getNotificationStats();
+   * for (const central of centrals) {
+   *   console.log(central.deviceId, central.sent, central.coalesced, central.averageLatency);
+   * }
+   * ```
+   */
+  getNotificationStats(): Promise<GetNotificationStatsResult>;
+
   /**
    * Start a foreground service to maintain BLE connections in background (Android only).
    *
@@ -527,6 +770,35 @@ export interface BluetoothLowEnergyPlugin {
     listenerFunc: (event: DeviceScannedEvent) => void,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Add a listener for scan failed events (Android only).
+   * Emitted when the system stops a scan that `startScan` had started, for instance when the
+   * app starts scans too frequently. The scan is no longer running.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'scanFailed',
+    listenerFunc: (event: ScanFailedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for device evicted events (Android only).
+   * Emitted when a discovered device is dropped from the device cache.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'deviceEvicted',
+    listenerFunc: (event: DeviceEvictedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Add a listener for device connected events.
    *
@@ -553,6 +825,110 @@ export interface BluetoothLowEnergyPlugin {
     listenerFunc: (event: DeviceDisconnectedEvent) => void,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Add a listener for failed connection attempts (Android only).
+   * Emitted when `connect` gives up on a device that never connected, after its retries,
+   * with the status reported by the Bluetooth stack. Attempts that time out only reject.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'connectFailed',
+    listenerFunc: (event: ConnectFailedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for services changed events (Android only).
+   * Emitted when the peripheral indicates Service Changed, and when a `gattCache` layout
+   * served by `getServices` is not confirmed by the device hash read after discovery.
+   * After Service Changed, services are rediscovered automatically and reads, writes and
+   * notification requests made meanwhile wait for that discovery. Call `getServices` again
+   * to get the new layout.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'servicesChanged',
+    listenerFunc: (event: ServicesChangedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for reconnection attempts (Android only).
+   * Emitted before each attempt made for a device connected with a `reconnect` policy.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'reconnecting',
+    listenerFunc: (event: ReconnectingEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for successful reconnections (Android only).
+   * Emitted after `deviceConnected` once a dropped device is connected again.
+   * Services must be discovered again before further operations.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'reconnected',
+    listenerFunc: (event: ReconnectedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for abandoned reconnections (Android only).
+   * Emitted when the `reconnect` policy runs out of attempts.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'reconnectFailed',
+    listenerFunc: (event: ReconnectFailedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for PHY updates (Android only).
+   * Emitted for updates requested with `setPreferredPhy` and for those initiated by the device.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'phyUpdated',
+    listenerFunc: (event: PhyUpdatedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for connection parameter updates (Android only).
+   * See `getConnectionParameters` for availability.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'connectionUpdated',
+    listenerFunc: (event: ConnectionUpdatedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Add a listener for characteristic changed events.
    *
@@ -566,6 +942,33 @@ export interface BluetoothLowEnergyPlugin {
     listenerFunc: (event: CharacteristicChangedEvent) => void,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Add a listener for batched characteristic changed events.
+   * Emitted instead of `characteristicChanged` when notifications were started with batching (Android only).
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'characteristicChangedBatch',
+    listenerFunc: (event: CharacteristicChangedBatchEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for writeLarge progress events.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'writeProgress',
+    listenerFunc: (event: WriteProgressEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Add a listener for central connected events (peripheral mode).
    *
@@ -592,6 +995,34 @@ export interface BluetoothLowEnergyPlugin {
     listenerFunc: (event: CentralDisconnectedEvent) => void,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Add a listener for centrals enabling notifications or indications on a local GATT
+   * characteristic (peripheral mode).
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'centralSubscribed',
+    listenerFunc: (event: CentralSubscribedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Add a listener for centrals disabling notifications and indications on a local GATT
+   * characteristic (peripheral mode). Not emitted when the central disconnects.
+   *
+   * @param eventName - The event name
+   * @param listenerFunc - The listener function
+   * @returns Promise that resolves with a handle to remove the listener
+   * @since 8.3.0
+   */
+  addListener(
+    eventName: 'centralUnsubscribed',
+    listenerFunc: (event: CentralUnsubscribedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Add a listener for GATT characteristic read requests (peripheral mode).
    *
@@ -650,6 +1081,62 @@ export interface InitializeOptions {
    * @since 8.0.7
    */
   showPowerAlert?: boolean;
+
+  /**
+   * Maximum number of discovered devices kept for `connect` and `createBond` (Android only).
+   * When full, the least recently seen or used device is evicted.
+   *
+   * @default 1000
+   * @since 8.3.0
+   */
+  deviceCacheSize?: number;
+
+  /**
+   * Time in milliseconds after which a discovered device that was neither seen nor used
+   * is evicted (Android only). Set to 0 to only evict on `deviceCacheSize`.
+   *
+   * @default 0
+   * @since 8.3.0
+   */
+  deviceCacheTtl?: number;
+
+  /**
+   * Persist the discovered service layout of each device across app sessions (Android only),
+   * keyed by the device address and the hash the device provides for its attribute database:
+   * its Database Hash characteristic (0x2B2A), else its Firmware Revision String (0x2A26).
+   * Devices exposing neither are not cached. When a device with a persisted layout connects,
+   * `getServices` answers from that layout right away while services are discovered in the
+   * background; reads, writes and notification requests wait for that discovery instead of
+   * failing. The hash is then read to revalidate the layout: when it differs, or cannot be
+   * read, the discovered layout replaces it and `servicesChanged` is emitted. A Service
+   * Changed indication removes it.
+   *
+   * @default false
+   * @since 8.3.0
+   */
+  gattCache?: boolean;
+
+  /**
+   * Maximum number of devices connected or connecting at the same time (Android only).
+   * Further `connect` and `connectDevices` calls are queued until a device disconnects.
+   * Devices being reconnected by a `reconnect` policy keep their slot.
+   *
+   * @default 7
+   * @since 8.3.0
+   */
+  maxConnections?: number;
+
+  /**
+   * Default timeout in milliseconds of GATT operations, 0 to wait indefinitely (Android only).
+   * An operation whose callback does not arrive in time is rejected with code `'TIMEOUT'`.
+   * The next queued operation of the device starts once the late callback has arrived, and when
+   * it has not within 5 more seconds the link is considered stalled: waiting operations are
+   * rejected and the device is disconnected. Operations accept their own `timeout`.
+   *
+   * @default 30000
+   * @since 8.3.0
+   */
+  operationTimeout?: number;
 }
 
 /**
@@ -736,6 +1223,16 @@ export interface StartScanOptions {
    */
   services?: string[];
 
+  /**
+   * Additional scan filters (Android and web only). A device is reported when it matches any of the
+   * `services` or any of these filters. On Android the filters are offloaded to the
+   * Bluetooth controller where supported, so non-matching advertisements never
+   * reach the app.
+   *
+   * @since 8.3.0
+   */
+  filters?: ScanFilterOptions[];
+
   /**
    * Scan timeout in milliseconds.
    * Set to 0 for no timeout.
@@ -752,28 +1249,404 @@ export interface StartScanOptions {
    * @since 1.0.0
    */
   allowDuplicates?: boolean;
-}
 
-/**
- * Options for connecting to a device.
- *
- * @since 1.0.0
- */
-export interface ConnectOptions {
   /**
-   * The device ID (MAC address on Android, UUID on iOS).
+   * Minimum time in milliseconds between two `deviceScanned` events for the same device.
+   * A device is always reported the first time it is seen.
+   * Set to 0 to report every advertisement.
    *
-   * @since 1.0.0
+   * @default 0
+   * @since 8.3.0
    */
-  deviceId: string;
+  throttleInterval?: number;
 
   /**
-   * Whether to automatically connect when the device becomes available.
+   * Only emit `deviceScanned` for a known device when it changed since the last reported
+   * event. A device changed when its advertised `name`, `manufacturerData` or `serviceUuids`
+   * differ, or when its RSSI moved by at least `rssiThreshold` dBm. The rule is the same on
+   * Android and iOS. Use `getScanResults` to read the latest RSSI at any time.
+   *
+   * @default false
+   * @since 8.3.0
+   */
+  reportChangesOnly?: boolean;
+
+  /**
+   * Minimum RSSI change in dBm that counts as a change for `reportChangesOnly`,
+   * 0 to ignore RSSI changes.
+   *
+   * @default 5
+   * @since 8.3.0
+   */
+  rssiThreshold?: number;
+
+  /**
+   * Scan mode, trading discovery latency for power (Android only).
+   * - 'lowPower': long scan intervals, best for background scanning
+   * - 'balanced': medium scan intervals
+   * - 'lowLatency': continuous scanning
+   * - 'opportunistic': only receive results from scans started by other apps
+   *
+   * @default 'lowLatency'
+   * @since 8.3.0
+   */
+  scanMode?: 'lowPower' | 'balanced' | 'lowLatency' | 'opportunistic';
+
+  /**
+   * Delay in milliseconds for hardware batch scanning (Android only).
+   * When greater than 0, results are queued by the controller and delivered in batches,
+   * so the app processor is not woken up for every advertisement.
+   * Rejects if the device does not support offloaded scan batching.
+   *
+   * @default 0
+   * @since 8.3.0
+   */
+  reportDelay?: number;
+
+  /**
+   * How aggressively hardware filters match advertisements (Android only).
+   * - 'aggressive': match with fewer and weaker advertisements
+   * - 'sticky': require a higher signal threshold and more sightings
+   *
+   * @since 8.3.0
+   */
+  matchMode?: 'aggressive' | 'sticky';
+
+  /**
+   * Number of advertisements to match per filter before reporting (Android only).
+   *
+   * @since 8.3.0
+   */
+  numOfMatches?: 'one' | 'few' | 'max';
+
+  /**
+   * Only report legacy advertisements (Android 8+ only).
+   * Set to false to also receive extended advertisements.
+   *
+   * @default true
+   * @since 8.3.0
+   */
+  legacy?: boolean;
+
+  /**
+   * PHY used for scanning (Android 8+ only). Requires `legacy` to be false.
+   *
+   * @since 8.3.0
+   */
+  phy?: '1m' | 'coded' | 'all';
+}
+
+/**
+ * A scan filter. All fields set on a filter must match.
+ *
+ * @since 8.3.0
+ */
+export interface ScanFilterOptions {
+  /**
+   * Exact advertised device name.
+   *
+   * @since 8.3.0
+   */
+  name?: string;
+
+  /**
+   * Device MAC address (Android only).
+   * Ignored on iOS. On web, a filter with a `deviceId` is rejected.
+   *
+   * @since 8.3.0
+   */
+  deviceId?: string;
+
+  /**
+   * Advertised service UUID.
+   *
+   * @since 8.3.0
+   */
+  service?: string;
+
+  /**
+   * Bluetooth SIG company identifier of the manufacturer data.
+   *
+   * @since 8.3.0
+   */
+  manufacturerId?: number;
+
+  /**
+   * Manufacturer data prefix to match, as hex string, without the company identifier.
+   * Requires `manufacturerId`.
+   *
+   * @since 8.3.0
+   */
+  manufacturerData?: string;
+
+  /**
+   * Mask for `manufacturerData`, as hex string of the same length.
+   * Bits set to 1 must match, bits set to 0 are ignored.
+   *
+   * @since 8.3.0
+   */
+  manufacturerDataMask?: string;
+
+  /**
+   * Service UUID of the service data to match.
+   *
+   * @since 8.3.0
+   */
+  serviceDataUuid?: string;
+
+  /**
+   * Service data prefix to match, as hex string. Requires `serviceDataUuid`.
+   *
+   * @since 8.3.0
+   */
+  serviceData?: string;
+
+  /**
+   * Mask for `serviceData`, as hex string of the same length.
+   * Bits set to 1 must match, bits set to 0 are ignored.
+   *
+   * @since 8.3.0
+   */
+  serviceDataMask?: string;
+}
+
+/**
+ * Encoding used for characteristic values crossing the native bridge.
+ * - 'array': an array of byte numbers
+ * - 'base64': a base64 string
+ * - 'hex': a lowercase hex string, like `manufacturerData`
+ *
+ * The string encodings avoid boxing every byte as a JSON number and are
+ * much cheaper to serialize for large or high-rate payloads.
+ *
+ * @since 8.3.0
+ */
+export type ValueEncoding = 'array' | 'base64' | 'hex';
+
+/**
+ * A characteristic value: an array of bytes, or a string when a string `ValueEncoding` is used.
+ *
+ * @since 8.3.0
+ */
+export type BleValue = number[] | string;
+
+/**
+ * Options for connecting to a device.
+ *
+ * @since 1.0.0
+ */
+export interface ConnectOptions {
+  /**
+   * The device ID (MAC address on Android, UUID on iOS).
+   *
+   * @since 1.0.0
+   */
+  deviceId: string;
+
+  /**
+   * Whether to automatically connect when the device becomes available.
    *
    * @default false
    * @since 1.0.0
    */
   autoConnect?: boolean;
+
+  /**
+   * Timeout in milliseconds of each connection attempt, 0 to wait indefinitely (Android only).
+   * The timeout starts once a connection slot is free, not while the request is queued.
+   * Defaults to 0 when `autoConnect` is set, since a background connection may take any time.
+   *
+   * @default 30000
+   * @since 8.3.0
+   */
+  timeout?: number;
+
+  /**
+   * Number of times a connection attempt that failed with a transient error (timeout, 8, 34,
+   * 62 or 133) is retried with a fresh connection (Android only). Retries are opt-in, since
+   * a retried attempt can take several times `timeout` before the call settles.
+   *
+   * @default 0
+   * @since 8.3.0
+   */
+  retries?: number;
+
+  /**
+   * Delay in milliseconds before retrying a failed connection attempt (Android only).
+   *
+   * @default 500
+   * @since 8.3.0
+   */
+  retryDelay?: number;
+
+  /**
+   * Reconnection policy applied when the connection drops without `disconnect` being called (Android only).
+   * - 'none': Do not reconnect
+   * - 'immediate': Retry right away, bounding each attempt by `reconnectTimeout`
+   * - 'backoff': Retry after `reconnectDelay`, doubling the delay after each attempt up to 30 seconds
+   * - 'autoConnect': Wait in the background until the device is in range again, without a timeout
+   *
+   * Reconnection reuses the existing connection object, so it starts without a new scan.
+   * Progress is reported with the `reconnecting`, `reconnected` and `reconnectFailed` events.
+   *
+   * @default 'none'
+   * @since 8.3.0
+   */
+  reconnect?: 'none' | 'immediate' | 'backoff' | 'autoConnect';
+
+  /**
+   * Maximum number of reconnection attempts for the 'immediate' and 'backoff' policies, 0 for unlimited (Android only).
+   *
+   * @default 0
+   * @since 8.3.0
+   */
+  maxReconnectAttempts?: number;
+
+  /**
+   * Initial delay in milliseconds between reconnection attempts for the 'backoff' policy (Android only).
+   *
+   * @default 1000
+   * @since 8.3.0
+   */
+  reconnectDelay?: number;
+
+  /**
+   * Timeout in milliseconds of each reconnection attempt for the 'immediate' and 'backoff' policies (Android only).
+   *
+   * @default 10000
+   * @since 8.3.0
+   */
+  reconnectTimeout?: number;
+}
+
+/**
+ * Options for connecting to several devices.
+ *
+ * @since 8.3.0
+ */
+export interface ConnectDevicesOptions {
+  /**
+   * The device IDs (MAC addresses on Android, UUIDs on iOS).
+   *
+   * @since 8.3.0
+   */
+  deviceIds: string[];
+
+  /**
+   * Whether to automatically connect when the devices become available.
+   *
+   * @default false
+   * @since 8.3.0
+   */
+  autoConnect?: boolean;
+
+  /**
+   * Timeout in milliseconds of each connection attempt, 0 to wait indefinitely (Android only).
+   * Defaults to 0 when `autoConnect` is set.
+   *
+   * @default 30000
+   * @since 8.3.0
+   */
+  timeout?: number;
+
+  /**
+   * Number of times a connection attempt that failed with a transient error (timeout, 8, 34,
+   * 62 or 133) is retried with a fresh connection (Android only). Retries are opt-in, since
+   * a retried attempt can take several times `timeout` before the call settles.
+   *
+   * @default 0
+   * @since 8.3.0
+   */
+  retries?: number;
+
+  /**
+   * Delay in milliseconds before retrying a failed connection attempt (Android only).
+   *
+   * @default 500
+   * @since 8.3.0
+   */
+  retryDelay?: number;
+
+  /**
+   * Reconnection policy of each device, see `ConnectOptions.reconnect` (Android only).
+   *
+   * @default 'none'
+   * @since 8.3.0
+   */
+  reconnect?: 'none' | 'immediate' | 'backoff' | 'autoConnect';
+
+  /**
+   * Maximum number of reconnection attempts, 0 for unlimited (Android only).
+   *
+   * @default 0
+   * @since 8.3.0
+   */
+  maxReconnectAttempts?: number;
+
+  /**
+   * Initial delay in milliseconds between reconnection attempts (Android only).
+   *
+   * @default 1000
+   * @since 8.3.0
+   */
+  reconnectDelay?: number;
+
+  /**
+   * Timeout in milliseconds of each reconnection attempt (Android only).
+   *
+   * @default 10000
+   * @since 8.3.0
+   */
+  reconnectTimeout?: number;
+}
+
+/**
+ * Outcome of connecting to one device of a batch.
+ *
+ * @since 8.3.0
+ */
+export interface ConnectDeviceResult {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * Whether the device connected.
+   *
+   * @since 8.3.0
+   */
+  connected: boolean;
+
+  /**
+   * Why the connection failed, when it did.
+   *
+   * @since 8.3.0
+   */
+  error?: string;
+
+  /**
+   * The error code, for timed out and cancelled connections.
+   *
+   * @since 8.3.0
+   */
+  code?: BleErrorCode;
+}
+
+/**
+ * Result of connecting to several devices.
+ *
+ * @since 8.3.0
+ */
+export interface ConnectDevicesResult {
+  /**
+   * The outcome of each device, in the order of `deviceIds`.
+   *
+   * @since 8.3.0
+   */
+  results: ConnectDeviceResult[];
 }
 
 /**
@@ -844,6 +1717,14 @@ export interface DiscoverServicesOptions {
    * @since 1.0.0
    */
   deviceId: string;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
 }
 
 /**
@@ -872,6 +1753,14 @@ export interface GetServicesResult {
    * @since 1.0.0
    */
   services: BleService[];
+
+  /**
+   * Whether the services were served from the persisted layout cache (`gattCache`),
+   * either before discovery finished or because the device hash confirmed the layout.
+   *
+   * @since 8.3.0
+   */
+  cached?: boolean;
 }
 
 /**
@@ -908,6 +1797,14 @@ export interface BleCharacteristic {
    */
   uuid: string;
 
+  /**
+   * Instance ID of the characteristic, unique within the device. Pass it as `instanceId`
+   * to address this characteristic when several share its UUID (Android only).
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
   /**
    * Properties of this characteristic.
    *
@@ -1082,6 +1979,31 @@ export interface ReadCharacteristicOptions {
    * @since 1.0.0
    */
   characteristic: string;
+
+  /**
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * Encoding of the returned value.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
 }
 
 /**
@@ -1091,11 +2013,11 @@ export interface ReadCharacteristicOptions {
  */
 export interface ReadCharacteristicResult {
   /**
-   * The characteristic value as an array of bytes.
+   * The characteristic value, encoded as requested by the `encoding` option.
    *
    * @since 1.0.0
    */
-  value: number[];
+  value: BleValue;
 }
 
 /**
@@ -1126,11 +2048,28 @@ export interface WriteCharacteristicOptions {
   characteristic: string;
 
   /**
-   * The value to write as an array of bytes.
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * The value to write, either as an array of bytes or as a string encoded with `encoding`.
    *
    * @since 1.0.0
    */
-  value: number[];
+  value: BleValue;
+
+  /**
+   * Encoding of `value` when it is passed as a string.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
 
   /**
    * Write type.
@@ -1139,42 +2078,149 @@ export interface WriteCharacteristicOptions {
    * @since 1.0.0
    */
   type?: 'withResponse' | 'withoutResponse';
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
 }
 
 /**
- * Options for starting characteristic notifications.
+ * Options for writeLarge.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface StartCharacteristicNotificationsOptions {
+export interface WriteLargeOptions {
   /**
    * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   deviceId: string;
 
   /**
    * The service UUID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   service: string;
 
   /**
    * The characteristic UUID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   characteristic: string;
-}
 
-/**
- * Options for stopping characteristic notifications.
+  /**
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * The value to write, either as an array of bytes or as a string encoded with `encoding`.
+   *
+   * @since 8.3.0
+   */
+  value: BleValue;
+
+  /**
+   * Encoding of `value` when it is passed as a string.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+
+  /**
+   * Write type used for every chunk.
+   *
+   * @default 'withResponse'
+   * @since 8.3.0
+   */
+  type?: 'withResponse' | 'withoutResponse';
+
+  /**
+   * Maximum chunk size in bytes. Defaults to, and is capped at, the largest payload
+   * allowed by the negotiated MTU. Call `requestMtu` first to use larger chunks.
+   *
+   * @since 8.3.0
+   */
+  chunkSize?: number;
+
+  /**
+   * Send the value as a reliable write, verifying the value echoed back by the
+   * peripheral before committing it (Android only). Requires `type` to be `'withResponse'`.
+   * Android sends prepared writes without their offset, so reliable values are limited to
+   * a single chunk (MTU - 5 bytes) and longer values are rejected.
+   *
+   * @default false
+   * @since 8.3.0
+   */
+  reliable?: boolean;
+
+  /**
+   * Number of `'withoutResponse'` chunks handed to the Bluetooth stack before their
+   * completion is reported (Android only). Each completion frees a slot for the next chunk,
+   * and a busy stack is retried with a back-off. Most Android versions accept a single
+   * pending write per connection, so higher values only help on stacks that queue more.
+   *
+   * @default 1
+   * @since 8.3.0
+   */
+  maxInFlight?: number;
+
+  /**
+   * Minimum time in milliseconds between two `writeProgress` events.
+   *
+   * @default 100
+   * @since 8.3.0
+   */
+  progressInterval?: number;
+
+  /**
+   * Timeout in milliseconds of each chunk, after which the transfer is rejected with code
+   * `'TIMEOUT'`, 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * Result of writeLarge.
+ *
+ * @since 8.3.0
+ */
+export interface WriteLargeResult {
+  /**
+   * Number of bytes written.
+   *
+   * @since 8.3.0
+   */
+  bytesWritten: number;
+
+  /**
+   * Average throughput of the transfer in bytes per second.
+   *
+   * @since 8.3.0
+   */
+  bytesPerSecond: number;
+}
+
+/**
+ * Options for starting characteristic notifications.
  *
  * @since 1.0.0
  */
-export interface StopCharacteristicNotificationsOptions {
+export interface StartCharacteristicNotificationsOptions {
   /**
    * The device ID.
    *
@@ -1195,133 +2241,261 @@ export interface StopCharacteristicNotificationsOptions {
    * @since 1.0.0
    */
   characteristic: string;
+
+  /**
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * Encoding of the values delivered in `characteristicChanged` events for this characteristic.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+
+  /**
+   * Enable batched delivery: notifications are buffered natively and flushed as a single
+   * `characteristicChangedBatch` event at most this many milliseconds after the first buffered value.
+   * Setting either `batchInterval` or `batchSize` enables batching (Android only).
+   *
+   * @default 100
+   * @since 8.3.0
+   */
+  batchInterval?: number;
+
+  /**
+   * Maximum number of notifications buffered before a batch is flushed early (Android only).
+   *
+   * @default 64
+   * @since 8.3.0
+   */
+  batchSize?: number;
+
+  /**
+   * Keep notifications in a native buffer instead of emitting events, to be taken with
+   * `drainNotifications` (Android only). Takes precedence over batching. Values still buffered
+   * are discarded when notifications stop or the device disconnects.
+   *
+   * @default false
+   * @since 8.3.0
+   */
+  buffered?: boolean;
+
+  /**
+   * Size of the native buffer in bytes when `buffered` is set. Each value takes its length plus
+   * 10 bytes. Values arriving while the buffer is full are dropped and counted (Android only).
+   *
+   * @default 65536
+   * @since 8.3.0
+   */
+  bufferSize?: number;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
 }
 
 /**
- * Options for reading a descriptor.
+ * Options for polling a characteristic.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface ReadDescriptorOptions {
+export interface StartPollingOptions {
   /**
    * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   deviceId: string;
 
   /**
    * The service UUID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   service: string;
 
   /**
    * The characteristic UUID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   characteristic: string;
 
   /**
-   * The descriptor UUID.
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  descriptor: string;
+  instanceId?: number;
+
+  /**
+   * Interval between reads in milliseconds.
+   *
+   * @since 8.3.0
+   */
+  interval: number;
+
+  /**
+   * Only emit a value when it differs from the previous read.
+   *
+   * @default false
+   * @since 8.3.0
+   */
+  changesOnly?: boolean;
+
+  /**
+   * Encoding of the emitted values.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+
+  /**
+   * Timeout in milliseconds of each read, after which the read counts as failed,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
 }
 
 /**
- * Result of reading a descriptor.
+ * Options for stopping polling.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface ReadDescriptorResult {
+export interface StopPollingOptions {
   /**
-   * The descriptor value as an array of bytes.
+   * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The service UUID.
+   *
+   * @since 8.3.0
+   */
+  service: string;
+
+  /**
+   * The characteristic UUID.
+   *
+   * @since 8.3.0
+   */
+  characteristic: string;
+
+  /**
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
+   *
+   * @since 8.3.0
    */
-  value: number[];
+  instanceId?: number;
 }
 
 /**
- * Options for writing to a descriptor.
+ * Options for draining buffered notifications.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface WriteDescriptorOptions {
+export interface DrainNotificationsOptions {
   /**
    * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   deviceId: string;
 
   /**
    * The service UUID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   service: string;
 
   /**
    * The characteristic UUID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   characteristic: string;
 
   /**
-   * The descriptor UUID.
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  descriptor: string;
+  instanceId?: number;
 
   /**
-   * The value to write as an array of bytes.
+   * Maximum number of value bytes to take. At least one value is returned when any is buffered.
+   * Defaults to everything buffered.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  value: number[];
+  maxBytes?: number;
 }
 
 /**
- * Options for reading RSSI.
+ * Result of draining buffered notifications.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface ReadRssiOptions {
+export interface DrainNotificationsResult {
   /**
-   * The device ID.
+   * The values, oldest first, in the encoding requested when notifications started.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  deviceId: string;
-}
+  values: BleValue[];
 
-/**
- * Result of reading RSSI.
- *
- * @since 1.0.0
- */
-export interface ReadRssiResult {
   /**
-   * The RSSI value in dBm.
+   * Reception time of each value, in milliseconds since the epoch.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  rssi: number;
+  timestamps: number[];
+
+  /**
+   * Number of values dropped because the buffer was full since the previous drain.
+   *
+   * @since 8.3.0
+   */
+  dropped: number;
+
+  /**
+   * Number of values still buffered, left behind because of `maxBytes`.
+   *
+   * @since 8.3.0
+   */
+  remaining: number;
 }
 
 /**
- * Options for requesting MTU.
+ * Options for stopping characteristic notifications.
  *
  * @since 1.0.0
  */
-export interface RequestMtuOptions {
+export interface StopCharacteristicNotificationsOptions {
   /**
    * The device ID.
    *
@@ -1330,33 +2504,43 @@ export interface RequestMtuOptions {
   deviceId: string;
 
   /**
-   * The requested MTU size.
+   * The service UUID.
    *
    * @since 1.0.0
    */
-  mtu: number;
-}
+  service: string;
 
-/**
- * Result of requesting MTU.
- *
- * @since 1.0.0
- */
-export interface RequestMtuResult {
   /**
-   * The negotiated MTU size.
+   * The characteristic UUID.
    *
    * @since 1.0.0
    */
-  mtu: number;
+  characteristic: string;
+
+  /**
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
 }
 
 /**
- * Options for requesting connection priority.
+ * Options for reading a descriptor.
  *
  * @since 1.0.0
  */
-export interface RequestConnectionPriorityOptions {
+export interface ReadDescriptorOptions {
   /**
    * The device ID.
    *
@@ -1365,135 +2549,1009 @@ export interface RequestConnectionPriorityOptions {
   deviceId: string;
 
   /**
-   * The requested connection priority.
+   * The service UUID.
    *
    * @since 1.0.0
    */
-  priority: 'low' | 'balanced' | 'high';
-}
+  service: string;
 
-/**
- * Options for starting advertising.
- *
- * @since 1.0.0
- */
-export interface StartAdvertisingOptions {
   /**
-   * The device name to advertise.
-   *
-   * On Android, advertising the local name is implemented by temporarily setting the Bluetooth adapter name
-   * while advertising, then restoring the previous adapter name when advertising is stopped.
+   * The characteristic UUID.
    *
    * @since 1.0.0
    */
-  name?: string;
+  characteristic: string;
 
   /**
-   * Service UUIDs to advertise.
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  services?: string[];
+  instanceId?: number;
 
   /**
-   * Whether to include the device name in the advertisement.
+   * The descriptor UUID.
    *
-   * @default true
    * @since 1.0.0
    */
-  includeName?: boolean;
+  descriptor: string;
 
   /**
-   * Whether to include TX power level in the advertisement.
+   * Encoding of the returned value.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * Result of reading a descriptor.
+ *
+ * @since 1.0.0
+ */
+export interface ReadDescriptorResult {
+  /**
+   * The descriptor value, encoded as requested by the `encoding` option.
    *
-   * @default false
    * @since 1.0.0
    */
-  includeTxPowerLevel?: boolean;
+  value: BleValue;
 }
 
 /**
- * Options for starting the foreground service.
+ * Options for writing to a descriptor.
+ *
+ * @since 1.0.0
+ */
+export interface WriteDescriptorOptions {
+  /**
+   * The device ID.
+   *
+   * @since 1.0.0
+   */
+  deviceId: string;
+
+  /**
+   * The service UUID.
+   *
+   * @since 1.0.0
+   */
+  service: string;
+
+  /**
+   * The characteristic UUID.
+   *
+   * @since 1.0.0
+   */
+  characteristic: string;
+
+  /**
+   * Instance ID of the characteristic, as returned by `getServices`, to address one of
+   * several characteristics with the same UUID in a service (Android only). Without it,
+   * the first characteristic with the UUID is used.
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * The descriptor UUID.
+   *
+   * @since 1.0.0
+   */
+  descriptor: string;
+
+  /**
+   * The value to write, either as an array of bytes or as a string encoded with `encoding`.
+   *
+   * @since 1.0.0
+   */
+  value: BleValue;
+
+  /**
+   * Encoding of `value` when it is passed as a string.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * Options for reading RSSI.
+ *
+ * @since 1.0.0
+ */
+export interface ReadRssiOptions {
+  /**
+   * The device ID.
+   *
+   * @since 1.0.0
+   */
+  deviceId: string;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * Result of reading RSSI.
+ *
+ * @since 1.0.0
+ */
+export interface ReadRssiResult {
+  /**
+   * The RSSI value in dBm.
+   *
+   * @since 1.0.0
+   */
+  rssi: number;
+}
+
+/**
+ * Options for requesting MTU.
+ *
+ * @since 1.0.0
+ */
+export interface RequestMtuOptions {
+  /**
+   * The device ID.
+   *
+   * @since 1.0.0
+   */
+  deviceId: string;
+
+  /**
+   * The requested MTU size.
+   *
+   * @since 1.0.0
+   */
+  mtu: number;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely (Android only). Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * Result of requesting MTU.
+ *
+ * @since 1.0.0
+ */
+export interface RequestMtuResult {
+  /**
+   * The negotiated MTU size.
+   *
+   * @since 1.0.0
+   */
+  mtu: number;
+}
+
+/**
+ * Code of an error rejected by the plugin.
+ * - 'TIMEOUT': The operation or connection did not complete in time
+ * - 'CANCELLED': The operation or connection was cancelled before it completed
+ *
+ * @since 8.3.0
+ */
+export type BleErrorCode = 'TIMEOUT' | 'CANCELLED';
+
+/**
+ * Options for cancelling queued operations.
+ *
+ * @since 8.3.0
+ */
+export interface CancelOperationsOptions {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * Only cancel operations on this service UUID.
+   *
+   * @since 8.3.0
+   */
+  service?: string;
+
+  /**
+   * Only cancel operations on this characteristic UUID.
+   *
+   * @since 8.3.0
+   */
+  characteristic?: string;
+}
+
+/**
+ * Result of cancelling queued operations.
+ *
+ * @since 8.3.0
+ */
+export interface CancelOperationsResult {
+  /**
+   * The number of cancelled operations.
+   *
+   * @since 8.3.0
+   */
+  cancelled: number;
+}
+
+/**
+ * Options for requesting connection priority.
+ *
+ * @since 1.0.0
+ */
+export interface RequestConnectionPriorityOptions {
+  /**
+   * The device ID.
+   *
+   * @since 1.0.0
+   */
+  deviceId: string;
+
+  /**
+   * The requested connection priority.
+   *
+   * @since 1.0.0
+   */
+  priority: 'low' | 'balanced' | 'high';
+
+  /**
+   * Milliseconds to wait for the new connection parameters to be reported before resolving
+   * anyway (Android 8.0+). Many phones never report the update, so the wait is capped at the
+   * default, which also replaces values of 0 or less.
+   *
+   * @default 5000
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * An LE PHY.
+ * - '1m': LE 1M, supported by every device
+ * - '2m': LE 2M, twice the symbol rate of 1M
+ * - 'coded': LE Coded, for long range
+ *
+ * @since 8.3.0
+ */
+export type BlePhy = '1m' | '2m' | 'coded';
+
+/**
+ * Options for optimizing a link.
+ *
+ * @since 8.3.0
+ */
+export interface OptimizeLinkOptions {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The link profile.
+   * - 'throughput': High priority, largest MTU and 2M PHY
+   * - 'balanced': Balanced priority, largest MTU and 2M PHY
+   * - 'lowPower': Low power priority and largest MTU, keeping the current PHY
+   *
+   * @default 'throughput'
+   * @since 8.3.0
+   */
+  profile?: 'throughput' | 'balanced' | 'lowPower';
+
+  /**
+   * Timeout in milliseconds of each step, 0 to wait indefinitely.
+   * Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+
+  /**
+   * Characteristic to measure the throughput with once the link is tuned.
+   * Without it nothing is written to the device and no throughput is reported.
+   *
+   * @since 8.3.0
+   */
+  probe?: ThroughputProbe;
+}
+
+/**
+ * A characteristic accepting writes without response whose value can be discarded,
+ * used to measure the throughput of a link.
+ *
+ * @since 8.3.0
+ */
+export interface ThroughputProbe {
+  /**
+   * The service UUID.
+   *
+   * @since 8.3.0
+   */
+  service: string;
+
+  /**
+   * The characteristic UUID. It must support writes without response.
+   *
+   * @since 8.3.0
+   */
+  characteristic: string;
+
+  /**
+   * Number of zero bytes written, in chunks of `mtu - 3` bytes.
+   *
+   * @default 4096
+   * @since 8.3.0
+   */
+  bytes?: number;
+}
+
+/**
+ * Effective link parameters after optimizeLink.
+ *
+ * @since 8.3.0
+ */
+export interface OptimizeLinkResult {
+  /**
+   * The negotiated MTU.
+   *
+   * @since 8.3.0
+   */
+  mtu: number;
+
+  /**
+   * The transmitter PHY.
+   *
+   * @since 8.3.0
+   */
+  txPhy: BlePhy;
+
+  /**
+   * The receiver PHY.
+   *
+   * @since 8.3.0
+   */
+  rxPhy: BlePhy;
+
+  /**
+   * Measured duration in milliseconds of the MTU exchange, a single ATT round trip,
+   * or 0 when the exchange failed.
+   *
+   * @since 8.3.0
+   */
+  roundTripTime: number;
+
+  /**
+   * Measured bytes per second of the `probe` writes without response, from the first chunk
+   * to the last one accepted by the Bluetooth stack. Only present when a probe was given and succeeded.
+   *
+   * @since 8.3.0
+   */
+  throughput?: number;
+
+  /**
+   * The connection parameters, when the phone reported them. See `getConnectionParameters`.
+   *
+   * @since 8.3.0
+   */
+  connectionParameters?: ConnectionParameters;
+}
+
+/**
+ * Options for getting connection parameters.
+ *
+ * @since 8.3.0
+ */
+export interface GetConnectionParametersOptions {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+}
+
+/**
+ * Connection parameters of a device.
+ *
+ * @since 8.3.0
+ */
+export interface ConnectionParameters {
+  /**
+   * The connection interval in milliseconds.
+   *
+   * @since 8.3.0
+   */
+  interval: number;
+
+  /**
+   * The peripheral latency, in connection events the device may skip.
+   *
+   * @since 8.3.0
+   */
+  latency: number;
+
+  /**
+   * The supervision timeout in milliseconds.
+   *
+   * @since 8.3.0
+   */
+  timeout: number;
+}
+
+/**
+ * Options for setting the preferred PHYs.
+ *
+ * @since 8.3.0
+ */
+export interface SetPreferredPhyOptions {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The preferred transmitter PHYs.
+   *
+   * @since 8.3.0
+   */
+  txPhy: BlePhy[];
+
+  /**
+   * The preferred receiver PHYs.
+   *
+   * @default txPhy
+   * @since 8.3.0
+   */
+  rxPhy?: BlePhy[];
+
+  /**
+   * The preferred coding when transmitting on LE Coded.
+   * - 'noPreferred': No preference
+   * - 's2': S=2, about twice the range of 1M
+   * - 's8': S=8, about four times the range of 1M
+   *
+   * @default 'noPreferred'
+   * @since 8.3.0
+   */
+  phyOptions?: 'noPreferred' | 's2' | 's8';
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely. Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * Options for reading the PHYs.
+ *
+ * @since 8.3.0
+ */
+export interface ReadPhyOptions {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * Timeout in milliseconds after which the operation is rejected with code `'TIMEOUT'`,
+   * 0 to wait indefinitely. Defaults to `operationTimeout` from `initialize`.
+   *
+   * @since 8.3.0
+   */
+  timeout?: number;
+}
+
+/**
+ * PHYs used by a connection.
+ *
+ * @since 8.3.0
+ */
+export interface PhyResult {
+  /**
+   * The transmitter PHY.
+   *
+   * @since 8.3.0
+   */
+  txPhy: BlePhy;
+
+  /**
+   * The receiver PHY.
+   *
+   * @since 8.3.0
+   */
+  rxPhy: BlePhy;
+}
+
+/**
+ * Options for starting advertising.
+ *
+ * @since 1.0.0
+ */
+export interface StartAdvertisingOptions {
+  /**
+   * The device name to advertise.
+   *
+   * On Android, advertising the local name is implemented by temporarily setting the Bluetooth adapter name
+   * while advertising, then restoring the previous adapter name when advertising is stopped.
+   *
+   * @since 1.0.0
+   */
+  name?: string;
+
+  /**
+   * Service UUIDs to advertise.
+   *
+   * @since 1.0.0
+   */
+  services?: string[];
+
+  /**
+   * Whether to include the device name in the advertisement.
+   *
+   * @default true
+   * @since 1.0.0
+   */
+  includeName?: boolean;
+
+  /**
+   * Whether to include TX power level in the advertisement.
+   *
+   * @default false
+   * @since 1.0.0
+   */
+  includeTxPowerLevel?: boolean;
+}
+
+/**
+ * Options for starting the foreground service.
+ *
+ * @since 1.0.0
+ */
+export interface StartForegroundServiceOptions {
+  /**
+   * The notification title.
+   *
+   * @since 1.0.0
+   */
+  title: string;
+
+  /**
+   * The notification body.
+   *
+   * @since 1.0.0
+   */
+  body: string;
+
+  /**
+   * The notification small icon resource name.
+   *
+   * @since 1.0.0
+   */
+  smallIcon?: string;
+}
+
+/**
+ * Result of getPluginVersion.
+ *
+ * @since 1.0.0
+ */
+export interface GetPluginVersionResult {
+  /**
+   * The plugin version.
+   *
+   * @since 1.0.0
+   */
+  version: string;
+}
+
+/**
+ * A cached scan result.
+ *
+ * @since 8.3.0
+ */
+export interface ScanResultEntry {
+  /**
+   * The device, as of its latest advertisement.
+   *
+   * @since 8.3.0
+   */
+  device: BleDevice;
+
+  /**
+   * Time the device was last seen, in milliseconds since epoch.
+   *
+   * @since 8.3.0
+   */
+  lastSeen: number;
+}
+
+/**
+ * Result of getScanResults.
+ *
+ * @since 8.3.0
+ */
+export interface GetScanResultsResult {
+  /**
+   * Latest scan result per device.
+   *
+   * @since 8.3.0
+   */
+  devices: ScanResultEntry[];
+}
+
+/**
+ * Event emitted when a device is scanned.
+ *
+ * @since 1.0.0
+ */
+export interface DeviceScannedEvent {
+  /**
+   * The scanned device.
+   *
+   * @since 1.0.0
+   */
+  device: BleDevice;
+}
+
+/**
+ * Event emitted when a device is connected.
+ *
+ * @since 1.0.0
+ */
+export interface DeviceConnectedEvent {
+  /**
+   * The device ID.
+   *
+   * @since 1.0.0
+   */
+  deviceId: string;
+}
+
+/**
+ * Event emitted when a device is disconnected.
+ *
+ * @since 1.0.0
+ */
+export interface DeviceDisconnectedEvent {
+  /**
+   * The device ID.
+   *
+   * @since 1.0.0
+   */
+  deviceId: string;
+
+  /**
+   * Why the device disconnected (Android only).
+   *
+   * @since 8.3.0
+   */
+  reason?: DisconnectReason;
+
+  /**
+   * The raw status reported by the Bluetooth stack, absent for `'requested'` (Android only).
+   *
+   * @since 8.3.0
+   */
+  status?: number;
+}
+
+/**
+ * Event emitted when a connection could not be established.
+ *
+ * @since 8.3.0
+ */
+export interface ConnectFailedEvent {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * Why the connection failed.
+   *
+   * @since 8.3.0
+   */
+  reason: DisconnectReason;
+
+  /**
+   * The raw status reported by the Bluetooth stack.
+   *
+   * @since 8.3.0
+   */
+  status: number;
+}
+
+/**
+ * Reason of a disconnection, classified from the status reported by the Bluetooth stack.
+ * - 'requested': `disconnect` was called
+ * - 'none': The stack reported no error
+ * - 'connectionTimeout': The link supervision timed out, usually because the device went out of range (8)
+ * - 'remoteTerminated': The device closed the connection (19)
+ * - 'localTerminated': The phone closed the connection (22)
+ * - 'lmpTimeout': The link layer procedure timed out (34)
+ * - 'failedToEstablish': The connection could not be established (62)
+ * - 'gattError': The generic GATT_ERROR, often caused by a stale connection or cache (133)
+ * - 'insufficientSecurity': Authentication or encryption was insufficient (5, 15)
+ * - 'unknown': Any other status
+ *
+ * @since 8.3.0
+ */
+export type DisconnectReason =
+  | 'requested'
+  | 'none'
+  | 'connectionTimeout'
+  | 'remoteTerminated'
+  | 'localTerminated'
+  | 'lmpTimeout'
+  | 'failedToEstablish'
+  | 'gattError'
+  | 'insufficientSecurity'
+  | 'unknown';
+
+/**
+ * Event emitted while a writeLarge is in progress, and once when it completes.
+ *
+ * @since 8.3.0
+ */
+export interface WriteProgressEvent {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The service UUID.
+   *
+   * @since 8.3.0
+   */
+  service: string;
+
+  /**
+   * The characteristic UUID.
+   *
+   * @since 8.3.0
+   */
+  characteristic: string;
+
+  /**
+   * Number of bytes written so far.
+   *
+   * @since 8.3.0
+   */
+  bytesWritten: number;
+
+  /**
+   * Total number of bytes to write.
+   *
+   * @since 8.3.0
+   */
+  totalBytes: number;
+
+  /**
+   * Average throughput since the transfer started, in bytes per second.
+   *
+   * @since 8.3.0
+   */
+  bytesPerSecond: number;
+}
+
+/**
+ * Event emitted when a scan failed.
+ *
+ * @since 8.3.0
+ */
+export interface ScanFailedEvent {
+  /**
+   * The Android `ScanCallback` error code, e.g. 6 when scanning too frequently.
+   *
+   * @since 8.3.0
+   */
+  errorCode: number;
+
+  /**
+   * A description of the error.
+   *
+   * @since 8.3.0
+   */
+  message: string;
+}
+
+/**
+ * Event emitted when a discovered device is evicted from the device cache.
+ *
+ * @since 8.3.0
+ */
+export interface DeviceEvictedEvent {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+}
+
+/**
+ * Event emitted when the services of a connected device changed.
+ *
+ * @since 8.3.0
+ */
+export interface ServicesChangedEvent {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+}
+
+/**
+ * Event emitted when the PHYs of a connection changed.
+ *
+ * @since 8.3.0
+ */
+export interface PhyUpdatedEvent {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The transmitter PHY.
+   *
+   * @since 8.3.0
+   */
+  txPhy: BlePhy;
+
+  /**
+   * The receiver PHY.
+   *
+   * @since 8.3.0
+   */
+  rxPhy: BlePhy;
+}
+
+/**
+ * Event emitted when the connection parameters of a device changed.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface StartForegroundServiceOptions {
+export interface ConnectionUpdatedEvent {
   /**
-   * The notification title.
+   * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  title: string;
+  deviceId: string;
 
   /**
-   * The notification body.
+   * The connection interval in milliseconds.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  body: string;
+  interval: number;
 
   /**
-   * The notification small icon resource name.
+   * The peripheral latency, in connection events the device may skip.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  smallIcon?: string;
-}
+  latency: number;
 
-/**
- * Result of getPluginVersion.
- *
- * @since 1.0.0
- */
-export interface GetPluginVersionResult {
   /**
-   * The plugin version.
+   * The supervision timeout in milliseconds.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  version: string;
+  timeout: number;
 }
 
 /**
- * Event emitted when a device is scanned.
+ * Event emitted before a reconnection attempt.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface DeviceScannedEvent {
+export interface ReconnectingEvent {
   /**
-   * The scanned device.
+   * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
-  device: BleDevice;
+  deviceId: string;
+
+  /**
+   * The attempt number, starting at 1.
+   *
+   * @since 8.3.0
+   */
+  attempt: number;
 }
 
 /**
- * Event emitted when a device is connected.
+ * Event emitted when a dropped device was connected again.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface DeviceConnectedEvent {
+export interface ReconnectedEvent {
   /**
    * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   deviceId: string;
+
+  /**
+   * The number of attempts it took.
+   *
+   * @since 8.3.0
+   */
+  attempts: number;
 }
 
 /**
- * Event emitted when a device is disconnected.
+ * Event emitted when reconnection was abandoned.
  *
- * @since 1.0.0
+ * @since 8.3.0
  */
-export interface DeviceDisconnectedEvent {
+export interface ReconnectFailedEvent {
   /**
    * The device ID.
    *
-   * @since 1.0.0
+   * @since 8.3.0
    */
   deviceId: string;
+
+  /**
+   * The number of attempts made.
+   *
+   * @since 8.3.0
+   */
+  attempts: number;
 }
 
 /**
@@ -1524,11 +3582,69 @@ export interface CharacteristicChangedEvent {
   characteristic: string;
 
   /**
-   * The new value as an array of bytes.
+   * Instance ID of the characteristic, telling apart characteristics with the same UUID
+   * in a service (Android only).
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * The new value, encoded as requested when notifications were started.
    *
    * @since 1.0.0
    */
-  value: number[];
+  value: BleValue;
+}
+
+/**
+ * Event emitted with a batch of buffered characteristic notifications.
+ *
+ * @since 8.3.0
+ */
+export interface CharacteristicChangedBatchEvent {
+  /**
+   * The device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The service UUID.
+   *
+   * @since 8.3.0
+   */
+  service: string;
+
+  /**
+   * The characteristic UUID.
+   *
+   * @since 8.3.0
+   */
+  characteristic: string;
+
+  /**
+   * Instance ID of the characteristic, telling apart characteristics with the same UUID
+   * in a service (Android only).
+   *
+   * @since 8.3.0
+   */
+  instanceId?: number;
+
+  /**
+   * The buffered values in arrival order, encoded as requested when notifications were started.
+   *
+   * @since 8.3.0
+   */
+  values: BleValue[];
+
+  /**
+   * Arrival time of each value in milliseconds since the Unix epoch.
+   *
+   * @since 8.3.0
+   */
+  timestamps: number[];
 }
 
 /**
@@ -1558,11 +3674,11 @@ export interface GattCharacteristicDefinition {
   properties: CharacteristicProperties;
 
   /**
-   * Initial value as an array of bytes.
+   * Initial value, either as an array of bytes or as a string encoded with `encoding`.
    *
    * @since 8.2.0
    */
-  value?: number[];
+  value?: BleValue;
 
   /**
    * Optional descriptors for this characteristic.
@@ -1570,6 +3686,42 @@ export interface GattCharacteristicDefinition {
    * @since 8.2.0
    */
   descriptors?: GattDescriptorDefinition[];
+
+  /**
+   * Encoding of `value` when it is passed as a string, and of the values delivered in
+   * `gattCharacteristicWriteRequest` events for this characteristic.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+
+  /**
+   * Hold read requests until JS answers them with `respondToReadRequest` (Android only).
+   * The `gattCharacteristicReadRequest` event then carries a `requestId`.
+   *
+   * @default false
+   * @since 8.3.0
+   */
+  dynamicValue?: boolean;
+
+  /**
+   * Milliseconds to wait for `respondToReadRequest` before the current value is sent instead,
+   * when `dynamicValue` is set (Android only).
+   *
+   * @default 2000
+   * @since 8.3.0
+   */
+  readTimeout?: number;
+
+  /**
+   * Milliseconds during which an answered value is served to further reads without asking JS
+   * again, when `dynamicValue` is set (Android only). 0 asks JS on every read.
+   *
+   * @default 0
+   * @since 8.3.0
+   */
+  cacheTtl?: number;
 }
 
 /**
@@ -1586,11 +3738,19 @@ export interface GattDescriptorDefinition {
   uuid: string;
 
   /**
-   * Initial value as an array of bytes.
+   * Initial value, either as an array of bytes or as a string encoded with `encoding`.
    *
    * @since 8.2.0
    */
-  value?: number[];
+  value?: BleValue;
+
+  /**
+   * Encoding of `value` when it is passed as a string.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
 }
 
 /**
@@ -1649,11 +3809,125 @@ export interface SetGattCharacteristicValueOptions {
   characteristic: string;
 
   /**
-   * The value as an array of bytes.
+   * The value, either as an array of bytes or as a string encoded with `encoding`.
    *
    * @since 8.2.0
    */
-  value: number[];
+  value: BleValue;
+
+  /**
+   * Encoding of `value` when it is passed as a string.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
+}
+
+/**
+ * Result of getNotificationStats.
+ *
+ * @since 8.3.0
+ */
+export interface GetNotificationStatsResult {
+  /**
+   * One entry per central that was notified since it connected.
+   *
+   * @since 8.3.0
+   */
+  centrals: CentralNotificationStats[];
+}
+
+/**
+ * Notification delivery counters for one central.
+ *
+ * @since 8.3.0
+ */
+export interface CentralNotificationStats {
+  /**
+   * The central device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * Notifications and indications confirmed sent by the stack.
+   *
+   * @since 8.3.0
+   */
+  sent: number;
+
+  /**
+   * Values replaced by a newer value for the same characteristic before being sent.
+   *
+   * @since 8.3.0
+   */
+  coalesced: number;
+
+  /**
+   * Notifications the stack refused or did not confirm.
+   *
+   * @since 8.3.0
+   */
+  dropped: number;
+
+  /**
+   * Notifications waiting or in flight.
+   *
+   * @since 8.3.0
+   */
+  queued: number;
+
+  /**
+   * Average milliseconds from queueing a value to its confirmation.
+   *
+   * @since 8.3.0
+   */
+  averageLatency: number;
+
+  /**
+   * Longest milliseconds from queueing a value to its confirmation.
+   *
+   * @since 8.3.0
+   */
+  maxLatency: number;
+}
+
+/**
+ * Options for answering a held read request.
+ *
+ * @since 8.3.0
+ */
+export interface RespondToReadRequestOptions {
+  /**
+   * The central device ID from the read request event.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The request ID from the read request event.
+   *
+   * @since 8.3.0
+   */
+  requestId: number;
+
+  /**
+   * The value, either as an array of bytes or as a string encoded with `encoding`.
+   *
+   * @since 8.3.0
+   */
+  value: BleValue;
+
+  /**
+   * Encoding of `value` when it is passed as a string.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
 }
 
 /**
@@ -1677,11 +3951,19 @@ export interface NotifyGattCharacteristicChangedOptions {
   characteristic: string;
 
   /**
-   * The value as an array of bytes.
+   * The value, either as an array of bytes or as a string encoded with `encoding`.
    *
    * @since 8.2.0
    */
-  value: number[];
+  value: BleValue;
+
+  /**
+   * Encoding of `value` when it is passed as a string.
+   *
+   * @default 'array'
+   * @since 8.3.0
+   */
+  encoding?: ValueEncoding;
 
   /**
    * Optional central device ID. When omitted, all subscribed centrals are notified.
@@ -1720,7 +4002,72 @@ export interface CentralDisconnectedEvent {
 }
 
 /**
- * Event emitted when a central reads a local GATT characteristic.
+ * Event emitted when a central subscribes to a local GATT characteristic.
+ *
+ * @since 8.3.0
+ */
+export interface CentralSubscribedEvent {
+  /**
+   * The central device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The service UUID.
+   *
+   * @since 8.3.0
+   */
+  service: string;
+
+  /**
+   * The characteristic UUID.
+   *
+   * @since 8.3.0
+   */
+  characteristic: string;
+
+  /**
+   * Whether the central receives indications rather than notifications (Android only).
+   * iOS does not report which one the central enabled, so it is omitted there.
+   *
+   * @since 8.3.0
+   */
+  indicate?: boolean;
+}
+
+/**
+ * Event emitted when a central unsubscribes from a local GATT characteristic.
+ *
+ * @since 8.3.0
+ */
+export interface CentralUnsubscribedEvent {
+  /**
+   * The central device ID.
+   *
+   * @since 8.3.0
+   */
+  deviceId: string;
+
+  /**
+   * The service UUID.
+   *
+   * @since 8.3.0
+   */
+  service: string;
+
+  /**
+   * The characteristic UUID.
+   *
+   * @since 8.3.0
+   */
+  characteristic: string;
+}
+
+/**
+ * Event emitted when a central reads a local GATT characteristic. A long read spanning several
+ * requests emits a single event.
  *
  * @since 8.2.0
  */
@@ -1745,10 +4092,19 @@ export interface GattCharacteristicReadRequestEvent {
    * @since 8.2.0
    */
   characteristic: string;
+
+  /**
+   * Identifies the read to answer with `respondToReadRequest`. Only set for characteristics
+   * defined with `dynamicValue: true` (Android only).
+   *
+   * @since 8.3.0
+   */
+  requestId?: number;
 }
 
 /**
- * Event emitted when a central writes to a local GATT characteristic.
+ * Event emitted when a central writes to a local GATT characteristic. On Android, a long
+ * (prepared) write emits a single event with the assembled value once the central executes it.
  *
  * @since 8.2.0
  */
@@ -1775,11 +4131,11 @@ export interface GattCharacteristicWriteRequestEvent {
   characteristic: string;
 
   /**
-   * The written value as an array of bytes.
+   * The written value, encoded as configured on the characteristic definition.
    *
    * @since 8.2.0
    */
-  value: number[];
+  value: BleValue;
 }
 
 export class BluetoothLowEnergyUtils {
@@ -1850,4 +4206,45 @@ export class BluetoothLowEnergyUtils {
   static convertBytesToString(bytes: number[]): string {
     return new TextDecoder().decode(new Uint8Array(bytes));
   }
+
+  /**
+   * Convert a byte array to a base64 string.
+   *
+   * @param bytes - The byte array to convert
+   * @returns The base64 string
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const base64 = BluetoothLowEnergyUtils.convertBytesToBase64([72, 101, 108, 108, 111]);
+   * console.log(base64); // "SGVsbG8="
+   * ```
+   */
+  static convertBytesToBase64(bytes: number[] | Uint8Array): string {
+    let binary = '';
+    for (const byte of bytes) {
+      binary += String.fromCharCode(byte);
+    }
+    return btoa(binary);
+  }
+
+  /**
+   * Convert a base64 string to a byte array.
+   *
+   * @param base64 - The base64 string to convert
+   * @returns The byte array
+   * @since 8.3.0
+   * @example
+   * ```typescript
+   * const bytes = BluetoothLowEnergyUtils.convertBase64ToBytes("SGVsbG8=");
+   * console.log(bytes); // [72, 101, 108, 108, 111]
+   * ```
+   */
+  static convertBase64ToBytes(base64: string): number[] {
+    const binary = atob(base64);
+    const bytes: number[] = new Array(binary.length);
+    for (let i = 0; i < binary.length; i++) {
+      bytes[i] = binary.charCodeAt(i);
+    }
+    return bytes;
+  }
 }
@@ -421,7 +421,8 @@ class NativeWebBluetoothShim {
       service: normalizeUuid(serviceUuid),
     });
 
-    return toDataView(value);
+    // No encoding is requested, so the plugin returns an array of bytes.
+    return toDataView(value as number[]);
   }
 
   async writeCharacteristic(
@@ -478,7 +479,8 @@ class NativeWebBluetoothShim {
       service: normalizeUuid(serviceUuid),
     });
 
-    return toDataView(value);
+    // No encoding is requested, so the plugin returns an array of bytes.
+    return toDataView(value as number[]);
   }
 
   async writeDescriptor(
@@ -550,7 +552,7 @@ class NativeWebBluetoothShim {
     const key = createCharacteristicKey(event.deviceId, event.service, event.characteristic);
     const characteristic = this.characteristicCache.get(key);
 
-    characteristic?.handleValueChange(event.value);
+    characteristic?.handleValueChange(event.value as number[]);
   }
 
   private async ensureScanPrerequisites(): Promise<void> {
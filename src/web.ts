@@ -8,7 +8,12 @@ import type {
   IsLocationEnabledResult,
   PermissionStatus,
   StartScanOptions,
+  ScanFilterOptions,
+  GetScanResultsResult,
+  ScanResultEntry,
   ConnectOptions,
+  ConnectDevicesOptions,
+  ConnectDevicesResult,
   DisconnectOptions,
   CreateBondOptions,
   IsBondedOptions,
@@ -20,8 +25,14 @@ import type {
   ReadCharacteristicOptions,
   ReadCharacteristicResult,
   WriteCharacteristicOptions,
+  WriteLargeOptions,
+  WriteLargeResult,
   StartCharacteristicNotificationsOptions,
   StopCharacteristicNotificationsOptions,
+  DrainNotificationsOptions,
+  DrainNotificationsResult,
+  StartPollingOptions,
+  StopPollingOptions,
   ReadDescriptorOptions,
   ReadDescriptorResult,
   WriteDescriptorOptions,
@@ -29,17 +40,31 @@ import type {
   ReadRssiResult,
   RequestMtuOptions,
   RequestMtuResult,
+  CancelOperationsOptions,
+  CancelOperationsResult,
   RequestConnectionPriorityOptions,
+  OptimizeLinkOptions,
+  OptimizeLinkResult,
+  GetConnectionParametersOptions,
+  ConnectionParameters,
+  SetPreferredPhyOptions,
+  ReadPhyOptions,
+  PhyResult,
   StartAdvertisingOptions,
   AddGattServiceOptions,
   RemoveGattServiceOptions,
   SetGattCharacteristicValueOptions,
+  RespondToReadRequestOptions,
   NotifyGattCharacteristicChangedOptions,
+  GetNotificationStatsResult,
   StartForegroundServiceOptions,
   GetPluginVersionResult,
   BleDevice,
   BleService,
+  BleValue,
+  ValueEncoding,
 } from './definitions';
+import { BluetoothLowEnergyUtils } from './definitions';
 
 interface BluetoothDevice {
   id: string;
@@ -107,8 +132,21 @@ interface Bluetooth {
   removeEventListener(type: string, listener: (event: Event) => void): void;
 }
 
+interface BluetoothDataFilter {
+  dataPrefix?: Uint8Array;
+  mask?: Uint8Array;
+}
+
+interface BluetoothLEScanFilter {
+  services?: string[];
+  name?: string;
+  namePrefix?: string;
+  manufacturerData?: (BluetoothDataFilter & { companyIdentifier: number })[];
+  serviceData?: (BluetoothDataFilter & { service: string })[];
+}
+
 interface RequestDeviceOptions {
-  filters?: { services?: string[]; name?: string; namePrefix?: string }[];
+  filters?: BluetoothLEScanFilter[];
   optionalServices?: string[];
   acceptAllDevices?: boolean;
 }
@@ -122,6 +160,8 @@ declare global {
 export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEnergyPlugin {
   private devices: Map<string, BluetoothDevice> = new Map();
   private services: Map<string, BleService[]> = new Map();
+  private scanResults: Map<string, ScanResultEntry> = new Map();
+  private pollers: Map<string, ReturnType<typeof setTimeout>> = new Map();
   private characteristicListeners: Map<string, (event: Event & { target: BluetoothRemoteGATTCharacteristic }) => void> =
     new Map();
 
@@ -191,16 +231,30 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
       throw new Error('Web Bluetooth API is not available');
     }
 
+    this.scanResults.clear();
+
     const requestOptions: RequestDeviceOptions = {};
 
+    const filters: BluetoothLEScanFilter[] = [];
     if (options?.services && options.services.length > 0) {
-      requestOptions.filters = [{ services: options.services }];
+      filters.push({ services: options.services });
+    }
+    for (const filter of options?.filters ?? []) {
+      filters.push(toWebScanFilter(filter));
+    }
+
+    if (filters.length > 0) {
+      requestOptions.filters = filters;
     } else {
       requestOptions.acceptAllDevices = true;
     }
 
-    if (options?.services) {
-      requestOptions.optionalServices = options.services;
+    const optionalServices = [
+      ...(options?.services ?? []),
+      ...(options?.filters ?? []).filter((filter) => filter.service).map((filter) => filter.service as string),
+    ];
+    if (optionalServices.length > 0) {
+      requestOptions.optionalServices = optionalServices;
     }
 
     try {
@@ -212,6 +266,7 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
       };
 
       this.devices.set(device.id, device);
+      this.scanResults.set(device.id, { device: bleDevice, lastSeen: Date.now() });
 
       this.notifyListeners('deviceScanned', { device: bleDevice });
     } catch (error) {
@@ -228,6 +283,10 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     // Nothing to do here
   }
 
+  async getScanResults(): Promise<GetScanResultsResult> {
+    return { devices: Array.from(this.scanResults.values()) };
+  }
+
   async connect(options: ConnectOptions): Promise<void> {
     const device = this.devices.get(options.deviceId);
     if (!device) {
@@ -243,6 +302,20 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     this.notifyListeners('deviceConnected', { deviceId: options.deviceId });
   }
 
+  async connectDevices(options: ConnectDevicesOptions): Promise<ConnectDevicesResult> {
+    const results = await Promise.all(
+      options.deviceIds.map(async (deviceId) => {
+        try {
+          await this.connect({ deviceId });
+          return { deviceId, connected: true };
+        } catch (error) {
+          return { deviceId, connected: false, error: (error as Error).message };
+        }
+      }),
+    );
+    return { results };
+  }
+
   async disconnect(options: DisconnectOptions): Promise<void> {
     const device = this.devices.get(options.deviceId);
     if (!device) {
@@ -337,12 +410,7 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     const characteristic = await service.getCharacteristic(options.characteristic);
     const dataView = await characteristic.readValue();
 
-    const value: number[] = [];
-    for (let i = 0; i < dataView.byteLength; i++) {
-      value.push(dataView.getUint8(i));
-    }
-
-    return { value };
+    return { value: encodeValue(dataView, options.encoding) };
   }
 
   async writeCharacteristic(options: WriteCharacteristicOptions): Promise<void> {
@@ -353,7 +421,7 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
 
     const service = await device.gatt.getPrimaryService(options.service);
     const characteristic = await service.getCharacteristic(options.characteristic);
-    const data = new Uint8Array(options.value);
+    const data = decodeValue(options.value, options.encoding);
 
     if (options.type === 'withoutResponse') {
       await characteristic.writeValueWithoutResponse(data);
@@ -362,6 +430,61 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     }
   }
 
+  async writeLarge(options: WriteLargeOptions): Promise<WriteLargeResult> {
+    if (options.reliable) {
+      throw new Error('Reliable writes are not supported on web');
+    }
+
+    const device = this.devices.get(options.deviceId);
+    if (!device?.gatt?.connected) {
+      throw new Error(`Device ${options.deviceId} is not connected`);
+    }
+
+    const service = await device.gatt.getPrimaryService(options.service);
+    const characteristic = await service.getCharacteristic(options.characteristic);
+    const data = decodeValue(options.value, options.encoding);
+    // Web Bluetooth performs long writes itself, so chunks only need to fit an attribute.
+    const chunkSize = Math.min(options.chunkSize ?? 512, 512);
+    if (chunkSize <= 0) {
+      throw new Error('chunkSize must be greater than 0');
+    }
+    const progressInterval = options.progressInterval ?? 100;
+
+    const startedAt = Date.now();
+    let bytesWritten = 0;
+    let lastProgressAt = 0;
+    const bytesPerSecond = () => Math.floor((bytesWritten * 1000) / Math.max(Date.now() - startedAt, 1));
+    const notifyProgress = () => {
+      this.notifyListeners('writeProgress', {
+        deviceId: options.deviceId,
+        service: options.service,
+        characteristic: options.characteristic,
+        bytesWritten,
+        totalBytes: data.length,
+        bytesPerSecond: bytesPerSecond(),
+      });
+    };
+
+    do {
+      const chunk = data.subarray(bytesWritten, bytesWritten + chunkSize);
+      if (options.type === 'withoutResponse') {
+        await characteristic.writeValueWithoutResponse(chunk);
+      } else {
+        await characteristic.writeValueWithResponse(chunk);
+      }
+      bytesWritten += chunk.length;
+
+      const now = Date.now();
+      if (bytesWritten < data.length && now - lastProgressAt >= progressInterval) {
+        lastProgressAt = now;
+        notifyProgress();
+      }
+    } while (bytesWritten < data.length);
+
+    notifyProgress();
+    return { bytesWritten, bytesPerSecond: bytesPerSecond() };
+  }
+
   async startCharacteristicNotifications(options: StartCharacteristicNotificationsOptions): Promise<void> {
     const device = this.devices.get(options.deviceId);
     if (!device?.gatt?.connected) {
@@ -377,16 +500,11 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
       const dataView = event.target.value;
       if (!dataView) return;
 
-      const value: number[] = [];
-      for (let i = 0; i < dataView.byteLength; i++) {
-        value.push(dataView.getUint8(i));
-      }
-
       this.notifyListeners('characteristicChanged', {
         deviceId: options.deviceId,
         service: options.service,
         characteristic: options.characteristic,
-        value,
+        value: encodeValue(dataView, options.encoding),
       });
     };
 
@@ -415,6 +533,65 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     await characteristic.stopNotifications();
   }
 
+  // eslint-disable-next-line @typescript-eslint/no-unused-vars
+  async drainNotifications(_options: DrainNotificationsOptions): Promise<DrainNotificationsResult> {
+    throw new Error('drainNotifications is not supported on web');
+  }
+
+  async startPolling(options: StartPollingOptions): Promise<void> {
+    const device = this.devices.get(options.deviceId);
+    if (!device?.gatt?.connected) {
+      throw new Error(`Device ${options.deviceId} is not connected`);
+    }
+    if (!(options.interval > 0)) {
+      throw new Error('interval must be positive');
+    }
+
+    const service = await device.gatt.getPrimaryService(options.service);
+    const characteristic = await service.getCharacteristic(options.characteristic);
+
+    const key = `${options.deviceId}-${options.service}-${options.characteristic}`;
+    await this.stopPolling(options);
+
+    let previous: string | undefined;
+    const poll = async () => {
+      const startedAt = Date.now();
+      try {
+        const dataView = await characteristic.readValue();
+        const hex = encodeValue(dataView, 'hex') as string;
+        if (!options.changesOnly || hex !== previous) {
+          previous = hex;
+          this.notifyListeners('characteristicChanged', {
+            deviceId: options.deviceId,
+            service: options.service,
+            characteristic: options.characteristic,
+            value: encodeValue(dataView, options.encoding),
+          });
+        }
+      } catch {
+        // A failed read is retried on the next tick.
+      }
+      if (!this.pollers.has(key)) {
+        return;
+      }
+      if (!device.gatt?.connected) {
+        this.pollers.delete(key);
+        return;
+      }
+      this.pollers.set(key, setTimeout(poll, Math.max(options.interval - (Date.now() - startedAt), 0)));
+    };
+    this.pollers.set(key, setTimeout(poll, 0));
+  }
+
+  async stopPolling(options: StopPollingOptions): Promise<void> {
+    const key = `${options.deviceId}-${options.service}-${options.characteristic}`;
+    const timer = this.pollers.get(key);
+    if (timer !== undefined) {
+      clearTimeout(timer);
+      this.pollers.delete(key);
+    }
+  }
+
   async readDescriptor(options: ReadDescriptorOptions): Promise<ReadDescriptorResult> {
     const device = this.devices.get(options.deviceId);
     if (!device?.gatt?.connected) {
@@ -432,12 +609,7 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
 
     const dataView = await descriptor.readValue();
 
-    const value: number[] = [];
-    for (let i = 0; i < dataView.byteLength; i++) {
-      value.push(dataView.getUint8(i));
-    }
-
-    return { value };
+    return { value: encodeValue(dataView, options.encoding) };
   }
 
   async writeDescriptor(options: WriteDescriptorOptions): Promise<void> {
@@ -455,7 +627,7 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
       throw new Error(`Descriptor ${options.descriptor} not found`);
     }
 
-    const data = new Uint8Array(options.value);
+    const data = decodeValue(options.value, options.encoding);
     await descriptor.writeValue(data);
   }
 
@@ -469,11 +641,36 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     throw new Error('requestMtu is not supported on web');
   }
 
+  // eslint-disable-next-line @typescript-eslint/no-unused-vars
+  async cancelOperations(_options: CancelOperationsOptions): Promise<CancelOperationsResult> {
+    throw new Error('cancelOperations is not supported on web');
+  }
+
   // eslint-disable-next-line @typescript-eslint/no-unused-vars
   async requestConnectionPriority(_options: RequestConnectionPriorityOptions): Promise<void> {
     throw new Error('requestConnectionPriority is not supported on web');
   }
 
+  // eslint-disable-next-line @typescript-eslint/no-unused-vars
+  async optimizeLink(_options: OptimizeLinkOptions): Promise<OptimizeLinkResult> {
+    throw new Error('optimizeLink is not supported on web');
+  }
+
+  // eslint-disable-next-line @typescript-eslint/no-unused-vars
+  async getConnectionParameters(_options: GetConnectionParametersOptions): Promise<ConnectionParameters> {
+    throw new Error('getConnectionParameters is not supported on web');
+  }
+
+  // eslint-disable-next-line @typescript-eslint/no-unused-vars
+  async setPreferredPhy(_options: SetPreferredPhyOptions): Promise<PhyResult> {
+    throw new Error('setPreferredPhy is not supported on web');
+  }
+
+  // eslint-disable-next-line @typescript-eslint/no-unused-vars
+  async readPhy(_options: ReadPhyOptions): Promise<PhyResult> {
+    throw new Error('readPhy is not supported on web');
+  }
+
   // eslint-disable-next-line @typescript-eslint/no-unused-vars
   async startAdvertising(_options: StartAdvertisingOptions): Promise<void> {
     throw new Error('startAdvertising is not supported on web');
@@ -491,10 +688,19 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     throw new Error('setGattCharacteristicValue is not supported on web');
   }
 
+  // eslint-disable-next-line @typescript-eslint/no-unused-vars
+  async respondToReadRequest(_options: RespondToReadRequestOptions): Promise<void> {
+    throw new Error('respondToReadRequest is not supported on web');
+  }
+
   async notifyGattCharacteristicChanged(_options: NotifyGattCharacteristicChangedOptions): Promise<void> {
     throw new Error('notifyGattCharacteristicChanged is not supported on web');
   }
 
+  async getNotificationStats(): Promise<GetNotificationStatsResult> {
+    throw new Error('getNotificationStats is not supported on web');
+  }
+
   async stopAdvertising(): Promise<void> {
     throw new Error('stopAdvertising is not supported on web');
   }
@@ -512,3 +718,78 @@ export class BluetoothLowEnergyWeb extends WebPlugin implements BluetoothLowEner
     return { version: 'web' };
   }
 }
+
+function encodeValue(dataView: DataView, encoding: ValueEncoding = 'array'): BleValue {
+  const bytes = new Uint8Array(dataView.buffer, dataView.byteOffset, dataView.byteLength);
+  if (encoding === 'base64') {
+    return BluetoothLowEnergyUtils.convertBytesToBase64(bytes);
+  }
+  if (encoding === 'hex') {
+    return BluetoothLowEnergyUtils.convertBytesToHex(Array.from(bytes));
+  }
+  return Array.from(bytes);
+}
+
+// Rejects the same inputs as the native decoders, so a payload is never silently altered.
+function decodeValue(value: BleValue, encoding: ValueEncoding = 'array'): Uint8Array {
+  if (typeof value !== 'string') {
+    if (!value.every((byte) => Number.isInteger(byte) && byte >= 0 && byte <= 255)) {
+      throw new Error('Byte values must be integers from 0 to 255');
+    }
+    return new Uint8Array(value);
+  }
+  if (encoding === 'hex') {
+    if (!/^(?:[0-9a-fA-F]{2})*$/.test(value)) {
+      throw new Error('Invalid hex string');
+    }
+    return new Uint8Array(BluetoothLowEnergyUtils.convertHexToBytes(value));
+  }
+  if (encoding === 'base64') {
+    return new Uint8Array(BluetoothLowEnergyUtils.convertBase64ToBytes(value));
+  }
+  throw new Error('String values require the base64 or hex encoding');
+}
+
+function toDataFilter(data?: string, mask?: string): BluetoothDataFilter {
+  const filter: BluetoothDataFilter = {};
+  if (data) {
+    filter.dataPrefix = new Uint8Array(BluetoothLowEnergyUtils.convertHexToBytes(data));
+  }
+  if (mask) {
+    filter.mask = new Uint8Array(BluetoothLowEnergyUtils.convertHexToBytes(mask));
+  }
+  return filter;
+}
+
+// Device address filters have no Web Bluetooth equivalent, so a filter with a deviceId is rejected
+// rather than silently matching more devices than requested.
+function toWebScanFilter(filter: ScanFilterOptions): BluetoothLEScanFilter {
+  if (filter.deviceId !== undefined) {
+    throw new Error('deviceId filters are not supported on web');
+  }
+  const webFilter: BluetoothLEScanFilter = {};
+  if (filter.name) {
+    webFilter.name = filter.name;
+  }
+  if (filter.service) {
+    webFilter.services = [filter.service];
+  }
+  if (filter.manufacturerId !== undefined) {
+    webFilter.manufacturerData = [
+      {
+        companyIdentifier: filter.manufacturerId,
+        ...toDataFilter(filter.manufacturerData, filter.manufacturerDataMask),
+      },
+    ];
+  }
+  if (filter.serviceDataUuid) {
+    webFilter.serviceData = [
+      { service: filter.serviceDataUuid, ...toDataFilter(filter.serviceData, filter.serviceDataMask) },
+    ];
+  }
+  // Web Bluetooth rejects a filter left without any criterion.
+  if (Object.keys(webFilter).length === 0) {
+    throw new Error('Scan filters need at least one criterion');
+  }
+  return webFilter;
+}